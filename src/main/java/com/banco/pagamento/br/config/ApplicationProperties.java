@@ -1,6 +1,8 @@
 package com.banco.pagamento.br.config;
 
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to Service Pagamento.
@@ -13,12 +15,30 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final Pessoa pessoa = new Pessoa();
+
+    private final SecondLevelCache secondLevelCache = new SecondLevelCache();
+
+    private final VirtualThreads virtualThreads = new VirtualThreads();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public Pessoa getPessoa() {
+        return pessoa;
+    }
+
+    public SecondLevelCache getSecondLevelCache() {
+        return secondLevelCache;
+    }
+
+    public VirtualThreads getVirtualThreads() {
+        return virtualThreads;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +53,739 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class Pessoa {
+
+        private final BulkImport bulkImport = new BulkImport();
+
+        private final Export export = new Export();
+
+        private final Query query = new Query();
+
+        private final Foto foto = new Foto();
+
+        private final Cache cache = new Cache();
+
+        private final CpfBackfill cpfBackfill = new CpfBackfill();
+
+        private final NomeBuscaBackfill nomeBuscaBackfill = new NomeBuscaBackfill();
+
+        private final Batch batch = new Batch();
+
+        private final CpfFilter cpfFilter = new CpfFilter();
+
+        private final FullTextSearch fullTextSearch = new FullTextSearch();
+
+        private final ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit();
+
+        public BulkImport getBulkImport() {
+            return bulkImport;
+        }
+
+        public Export getExport() {
+            return export;
+        }
+
+        public Query getQuery() {
+            return query;
+        }
+
+        public Foto getFoto() {
+            return foto;
+        }
+
+        public Cache getCache() {
+            return cache;
+        }
+
+        public CpfBackfill getCpfBackfill() {
+            return cpfBackfill;
+        }
+
+        public NomeBuscaBackfill getNomeBuscaBackfill() {
+            return nomeBuscaBackfill;
+        }
+
+        public Batch getBatch() {
+            return batch;
+        }
+
+        public CpfFilter getCpfFilter() {
+            return cpfFilter;
+        }
+
+        public FullTextSearch getFullTextSearch() {
+            return fullTextSearch;
+        }
+
+        public ConcurrencyLimit getConcurrencyLimit() {
+            return concurrencyLimit;
+        }
+
+        public static class BulkImport {
+
+            /**
+             * Number of rows written per transaction (and per JDBC batch flush).
+             */
+            private int chunkSize = 500;
+
+            /**
+             * Maximum number of row errors listed in the import report; further errors are only counted.
+             */
+            private int maxReportedErrors = 1000;
+
+            public int getChunkSize() {
+                return chunkSize;
+            }
+
+            public void setChunkSize(int chunkSize) {
+                this.chunkSize = chunkSize;
+            }
+
+            public int getMaxReportedErrors() {
+                return maxReportedErrors;
+            }
+
+            public void setMaxReportedErrors(int maxReportedErrors) {
+                this.maxReportedErrors = maxReportedErrors;
+            }
+        }
+
+        public static class Export {
+
+            /**
+             * Number of rows fetched from the database cursor per round trip.
+             */
+            private int fetchSize = 500;
+
+            public int getFetchSize() {
+                return fetchSize;
+            }
+
+            public void setFetchSize(int fetchSize) {
+                this.fetchSize = fetchSize;
+            }
+        }
+
+        public static class Query {
+
+            /**
+             * Run the count of a criteria listing concurrently with its page query, on another connection.
+             */
+            private boolean parallelCount = false;
+
+            /**
+             * Maximum time of a criteria listing, page and parallel count included; past it, the page is returned without its total.
+             */
+            private Duration timeout = Duration.ofSeconds(10);
+
+            /**
+             * Idle connections the pool must still have for the count to run in parallel; otherwise it runs after the page.
+             */
+            private int minIdleConnections = 2;
+
+            private final Cache cache = new Cache();
+
+            public boolean isParallelCount() {
+                return parallelCount;
+            }
+
+            public void setParallelCount(boolean parallelCount) {
+                this.parallelCount = parallelCount;
+            }
+
+            public Duration getTimeout() {
+                return timeout;
+            }
+
+            public void setTimeout(Duration timeout) {
+                this.timeout = timeout;
+            }
+
+            public int getMinIdleConnections() {
+                return minIdleConnections;
+            }
+
+            public void setMinIdleConnections(int minIdleConnections) {
+                this.minIdleConnections = minIdleConnections;
+            }
+
+            public Cache getCache() {
+                return cache;
+            }
+
+            public static class Cache {
+
+                /**
+                 * Cache the results of the criteria queries, until the next write or their time to live.
+                 */
+                private boolean enabled = false;
+
+                /**
+                 * Maximum number of pessoas held by the cached results.
+                 */
+                private long maximumRows = 10_000;
+
+                /**
+                 * Time to live of a cached result.
+                 */
+                private Duration timeToLive = Duration.ofSeconds(30);
+
+                /**
+                 * Maximum number of criteria shapes with their own hit and miss counters.
+                 */
+                private int maxShapes = 100;
+
+                public boolean isEnabled() {
+                    return enabled;
+                }
+
+                public void setEnabled(boolean enabled) {
+                    this.enabled = enabled;
+                }
+
+                public long getMaximumRows() {
+                    return maximumRows;
+                }
+
+                public void setMaximumRows(long maximumRows) {
+                    this.maximumRows = maximumRows;
+                }
+
+                public Duration getTimeToLive() {
+                    return timeToLive;
+                }
+
+                public void setTimeToLive(Duration timeToLive) {
+                    this.timeToLive = timeToLive;
+                }
+
+                public int getMaxShapes() {
+                    return maxShapes;
+                }
+
+                public void setMaxShapes(int maxShapes) {
+                    this.maxShapes = maxShapes;
+                }
+            }
+        }
+
+        public static class Foto {
+
+            /**
+             * Directory of the content-addressed photo store.
+             */
+            private String storeDirectory = "data/fotos";
+
+            private final Migration migration = new Migration();
+
+            private final Thumbnail thumbnail = new Thumbnail();
+
+            public String getStoreDirectory() {
+                return storeDirectory;
+            }
+
+            public void setStoreDirectory(String storeDirectory) {
+                this.storeDirectory = storeDirectory;
+            }
+
+            public Migration getMigration() {
+                return migration;
+            }
+
+            public Thumbnail getThumbnail() {
+                return thumbnail;
+            }
+
+            public static class Migration {
+
+                /**
+                 * Move the photos still stored in the {@code pessoa.foto} column to the photo store at startup.
+                 */
+                private boolean enabled = false;
+
+                /**
+                 * Number of photos moved per transaction.
+                 */
+                private int batchSize = 50;
+
+                public boolean isEnabled() {
+                    return enabled;
+                }
+
+                public void setEnabled(boolean enabled) {
+                    this.enabled = enabled;
+                }
+
+                public int getBatchSize() {
+                    return batchSize;
+                }
+
+                public void setBatchSize(int batchSize) {
+                    this.batchSize = batchSize;
+                }
+            }
+
+            public static class Thumbnail {
+
+                /**
+                 * Width and height of the thumbnails, in pixels.
+                 */
+                private int size = 96;
+
+                /**
+                 * Number of threads generating thumbnails.
+                 */
+                private int poolSize = 2;
+
+                /**
+                 * Number of thumbnails waiting to be generated; when full, the thread saving the photo generates it.
+                 */
+                private int queueCapacity = 100;
+
+                /**
+                 * Time a request waits for a thumbnail being generated, after which it is answered with
+                 * {@code 503 (Service Unavailable)} and a {@code Retry-After} header of this delay.
+                 */
+                private Duration waitTimeout = Duration.ofSeconds(2);
+
+                public int getSize() {
+                    return size;
+                }
+
+                public void setSize(int size) {
+                    this.size = size;
+                }
+
+                public int getPoolSize() {
+                    return poolSize;
+                }
+
+                public void setPoolSize(int poolSize) {
+                    this.poolSize = poolSize;
+                }
+
+                public int getQueueCapacity() {
+                    return queueCapacity;
+                }
+
+                public void setQueueCapacity(int queueCapacity) {
+                    this.queueCapacity = queueCapacity;
+                }
+
+                public Duration getWaitTimeout() {
+                    return waitTimeout;
+                }
+
+                public void setWaitTimeout(Duration waitTimeout) {
+                    this.waitTimeout = waitTimeout;
+                }
+            }
+        }
+
+        public static class Cache {
+
+            /**
+             * Approximate heap used by the pessoas cached by id, above which the least used ones are evicted.
+             */
+            private DataSize maximumSize = DataSize.ofMegabytes(32);
+
+            /**
+             * Time a pessoa stays cached by id.
+             */
+            private Duration timeToLive = Duration.ofMinutes(10);
+
+            /**
+             * Time an id with no pessoa stays cached.
+             */
+            private Duration negativeTimeToLive = Duration.ofSeconds(30);
+
+            public DataSize getMaximumSize() {
+                return maximumSize;
+            }
+
+            public void setMaximumSize(DataSize maximumSize) {
+                this.maximumSize = maximumSize;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public Duration getNegativeTimeToLive() {
+                return negativeTimeToLive;
+            }
+
+            public void setNegativeTimeToLive(Duration negativeTimeToLive) {
+                this.negativeTimeToLive = negativeTimeToLive;
+            }
+        }
+
+        public static class CpfBackfill {
+
+            /**
+             * Fill the normalized CPF of the existing pessoas at startup.
+             */
+            private boolean enabled = true;
+
+            /**
+             * Number of pessoas updated per transaction.
+             */
+            private int batchSize = 1000;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+        }
+
+        public static class NomeBuscaBackfill {
+
+            /**
+             * Fill the normalized nome of the existing pessoas at startup.
+             */
+            private boolean enabled = true;
+
+            /**
+             * Number of pessoas updated per transaction.
+             */
+            private int batchSize = 1000;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+        }
+
+        public static class Batch {
+
+            /**
+             * Maximum number of items of a batch request.
+             */
+            private int maxSize = 1000;
+
+            /**
+             * Number of items written per transaction (and per JDBC batch flush).
+             */
+            private int chunkSize = 100;
+
+            public int getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(int maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            public int getChunkSize() {
+                return chunkSize;
+            }
+
+            public void setChunkSize(int chunkSize) {
+                this.chunkSize = chunkSize;
+            }
+        }
+
+        public static class CpfFilter {
+
+            /**
+             * Minimum number of CPFs the Bloom filter is sized for; it is sized for twice the pessoas when that is more.
+             */
+            private long expectedInsertions = 1_000_000;
+
+            /**
+             * False positive probability of the Bloom filter once it holds the expected insertions.
+             */
+            private double falsePositiveProbability = 0.01;
+
+            /**
+             * How often to check whether the Bloom filter has to be rebuilt.
+             */
+            private Duration checkInterval = Duration.ofMinutes(1);
+
+            public long getExpectedInsertions() {
+                return expectedInsertions;
+            }
+
+            public void setExpectedInsertions(long expectedInsertions) {
+                this.expectedInsertions = expectedInsertions;
+            }
+
+            public double getFalsePositiveProbability() {
+                return falsePositiveProbability;
+            }
+
+            public void setFalsePositiveProbability(double falsePositiveProbability) {
+                this.falsePositiveProbability = falsePositiveProbability;
+            }
+
+            public Duration getCheckInterval() {
+                return checkInterval;
+            }
+
+            public void setCheckInterval(Duration checkInterval) {
+                this.checkInterval = checkInterval;
+            }
+        }
+
+        public static class FullTextSearch {
+
+            /**
+             * Search the nome and email {@code contains} filters through the MySQL n-gram full-text indexes.
+             */
+            private boolean enabled = false;
+
+            /**
+             * Shortest term searched through the full-text indexes; at least the {@code ngram_token_size} of the server.
+             */
+            private int minTermLength = 3;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getMinTermLength() {
+                return minTermLength;
+            }
+
+            public void setMinTermLength(int minTermLength) {
+                this.minTermLength = minTermLength;
+            }
+        }
+
+        /**
+         * Adaptive limits of the requests to {@code PessoaResource} running at once, one for the reads and one for the
+         * writes.
+         */
+        public static class ConcurrencyLimit {
+
+            private boolean enabled = true;
+
+            /**
+             * Factor applied to a limit when a request is slower than its latency threshold, or fails with a server
+             * error.
+             */
+            private double backoffRatio = 0.9;
+
+            /**
+             * Delay sent in the {@code Retry-After} header of the rejected requests.
+             */
+            private Duration retryAfter = Duration.ofSeconds(1);
+
+            private final Limit reads = new Limit(50, 5, 400, Duration.ofMillis(500));
+
+            private final Limit writes = new Limit(20, 2, 100, Duration.ofSeconds(1));
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public double getBackoffRatio() {
+                return backoffRatio;
+            }
+
+            public void setBackoffRatio(double backoffRatio) {
+                this.backoffRatio = backoffRatio;
+            }
+
+            public Duration getRetryAfter() {
+                return retryAfter;
+            }
+
+            public void setRetryAfter(Duration retryAfter) {
+                this.retryAfter = retryAfter;
+            }
+
+            public Limit getReads() {
+                return reads;
+            }
+
+            public Limit getWrites() {
+                return writes;
+            }
+
+            public static class Limit {
+
+                /**
+                 * Requests let through at once on startup.
+                 */
+                private int initialLimit;
+
+                private int minLimit;
+
+                private int maxLimit;
+
+                /**
+                 * Latency above which a request backs the limit off.
+                 */
+                private Duration latencyThreshold;
+
+                public Limit(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold) {
+                    this.initialLimit = initialLimit;
+                    this.minLimit = minLimit;
+                    this.maxLimit = maxLimit;
+                    this.latencyThreshold = latencyThreshold;
+                }
+
+                public int getInitialLimit() {
+                    return initialLimit;
+                }
+
+                public void setInitialLimit(int initialLimit) {
+                    this.initialLimit = initialLimit;
+                }
+
+                public int getMinLimit() {
+                    return minLimit;
+                }
+
+                public void setMinLimit(int minLimit) {
+                    this.minLimit = minLimit;
+                }
+
+                public int getMaxLimit() {
+                    return maxLimit;
+                }
+
+                public void setMaxLimit(int maxLimit) {
+                    this.maxLimit = maxLimit;
+                }
+
+                public Duration getLatencyThreshold() {
+                    return latencyThreshold;
+                }
+
+                public void setLatencyThreshold(Duration latencyThreshold) {
+                    this.latencyThreshold = latencyThreshold;
+                }
+            }
+        }
+    }
+
+    /**
+     * Hibernate second-level cache regions. Regions that are not listed here use {@code jhipster.cache.caffeine}.
+     */
+    public static class SecondLevelCache {
+
+        private final Region pessoa = new Region(10_000, Duration.ofMinutes(10));
+
+        private final Region user = new Region(1_000, Duration.ofHours(1));
+
+        private final Region authority = new Region(100, Duration.ofHours(24));
+
+        private final Region userAuthorities = new Region(1_000, Duration.ofHours(1));
+
+        /**
+         * Query cache of {@code AuthorityRepository.findAll}.
+         */
+        private final Region authorities = new Region(10, Duration.ofHours(24));
+
+        public Region getPessoa() {
+            return pessoa;
+        }
+
+        public Region getUser() {
+            return user;
+        }
+
+        public Region getAuthority() {
+            return authority;
+        }
+
+        public Region getUserAuthorities() {
+            return userAuthorities;
+        }
+
+        public Region getAuthorities() {
+            return authorities;
+        }
+
+        public static class Region {
+
+            /**
+             * Maximum number of entries, above which the least used ones are evicted.
+             */
+            private long maxEntries;
+
+            /**
+             * Time an entry stays cached after it is written.
+             */
+            private Duration timeToLive;
+
+            public Region(long maxEntries, Duration timeToLive) {
+                this.maxEntries = maxEntries;
+                this.timeToLive = timeToLive;
+            }
+
+            public long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+        }
+    }
+
+    /**
+     * Virtual-thread execution mode, enabled by {@code spring.threads.virtual.enabled}.
+     */
+    public static class VirtualThreads {
+
+        /**
+         * Duration above which a virtual thread pinned to its carrier thread is reported.
+         */
+        private Duration pinnedThreshold = Duration.ofMillis(20);
+
+        public Duration getPinnedThreshold() {
+            return pinnedThreshold;
+        }
+
+        public void setPinnedThreshold(Duration pinnedThreshold) {
+            this.pinnedThreshold = pinnedThreshold;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
@@ -0,0 +1,172 @@
+package com.banco.pagamento.br.config;
+
+import com.banco.pagamento.br.domain.Authority;
+import com.banco.pagamento.br.domain.EntityAuditEvent;
+import com.banco.pagamento.br.domain.Pessoa;
+import com.banco.pagamento.br.domain.User;
+import com.banco.pagamento.br.repository.AuthorityRepository;
+import com.banco.pagamento.br.service.PessoaService;
+import com.banco.pagamento.br.service.dto.PessoaDTO;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import javax.cache.Caching;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Local Caffeine caches.
+ * <p>
+ * The Spring cache manager is transaction aware: evictions done by a transaction are applied once it commits, so a
+ * concurrent read cannot cache the state it is replacing. Spring Boot exports the statistics of the caches to
+ * Micrometer ({@code cache.gets}, {@code cache.evictions}, {@code cache.load.duration}...).
+ * <p>
+ * The Hibernate second-level cache uses its own JCache manager, backed by Caffeine, whose regions are all created
+ * here. Its statistics are exported by Hibernate ({@code hibernate.second.level.cache.*}).
+ */
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    /**
+     * Estimated heap of a cache entry and its {@link Long} key, which is all a missing id costs.
+     */
+    private static final int ENTRY_WEIGHT = 64;
+
+    /**
+     * Estimated heap of a cached {@link PessoaDTO} without its strings: object header, references, boxed id and dates.
+     */
+    private static final int PESSOA_DTO_WEIGHT = 160;
+
+    /**
+     * Estimated heap of a {@link String} without its characters.
+     */
+    private static final int STRING_WEIGHT = 40;
+
+    @Bean
+    public CacheManager cacheManager(ApplicationProperties applicationProperties) {
+        ApplicationProperties.Pessoa.Cache cache = applicationProperties.getPessoa().getCache();
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(
+            Caffeine.newBuilder()
+                .maximumWeight(cache.getMaximumSize().toBytes())
+                .weigher(CacheConfiguration::weigh)
+                .expireAfter(expiry(cache.getTimeToLive(), cache.getNegativeTimeToLive()))
+                .recordStats()
+        );
+        // missing ids are cached too, as Spring's null value
+        cacheManager.setAllowNullValues(true);
+        cacheManager.setCacheNames(List.of(PessoaService.PESSOA_BY_ID_CACHE));
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    @Bean
+    public javax.cache.CacheManager hibernateCacheManager(
+        ApplicationProperties applicationProperties,
+        JHipsterProperties jHipsterProperties
+    ) {
+        javax.cache.CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        ApplicationProperties.SecondLevelCache secondLevelCache = applicationProperties.getSecondLevelCache();
+        JHipsterProperties.Cache.Caffeine defaults = jHipsterProperties.getCache().getCaffeine();
+        ApplicationProperties.SecondLevelCache.Region defaultRegion = new ApplicationProperties.SecondLevelCache.Region(
+            defaults.getMaxEntries(),
+            Duration.ofSeconds(defaults.getTimeToLiveSeconds())
+        );
+        createCache(cacheManager, Pessoa.class.getName(), secondLevelCache.getPessoa());
+        createCache(cacheManager, User.class.getName(), secondLevelCache.getUser());
+        createCache(cacheManager, User.class.getName() + ".authorities", secondLevelCache.getUserAuthorities());
+        createCache(cacheManager, Authority.class.getName(), secondLevelCache.getAuthority());
+        createCache(cacheManager, AuthorityRepository.AUTHORITIES_CACHE, secondLevelCache.getAuthorities());
+        createCache(cacheManager, EntityAuditEvent.class.getName(), defaultRegion);
+        createCache(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, defaultRegion);
+        // must outlive every cached query result, so it is neither bounded nor expired
+        createCache(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, null);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(javax.cache.CacheManager hibernateCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static void createCache(
+        javax.cache.CacheManager cacheManager,
+        String name,
+        ApplicationProperties.SecondLevelCache.Region region
+    ) {
+        javax.cache.Cache<Object, Object> cache = cacheManager.getCache(name);
+        if (cache != null) {
+            // the caching provider is shared by the application contexts of the JVM
+            cache.clear();
+            return;
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (region != null) {
+            configuration.setMaximumSize(OptionalLong.of(region.getMaxEntries()));
+            configuration.setExpireAfterWrite(OptionalLong.of(region.getTimeToLive().toNanos()));
+        }
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(name, configuration);
+    }
+
+    /**
+     * Approximate heap used by a cached value, in bytes, photo included.
+     */
+    private static int weigh(Object key, Object value) {
+        if (!(value instanceof PessoaDTO pessoaDTO)) {
+            return ENTRY_WEIGHT;
+        }
+        long weight = ENTRY_WEIGHT + PESSOA_DTO_WEIGHT;
+        for (String string : new String[] {
+            pessoaDTO.getNome(),
+            pessoaDTO.getCpf(),
+            pessoaDTO.getEmail(),
+            pessoaDTO.getFotoContentType(),
+            pessoaDTO.getFotoHash(),
+            pessoaDTO.getCreatedBy(),
+            pessoaDTO.getLastModifiedBy(),
+        }) {
+            if (string != null) {
+                weight += STRING_WEIGHT + string.length();
+            }
+        }
+        if (pessoaDTO.getFoto() != null) {
+            weight += pessoaDTO.getFoto().length;
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Expire values after the time to live, and missing values after the negative time to live.
+     */
+    private static Expiry<Object, Object> expiry(Duration timeToLive, Duration negativeTimeToLive) {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(Object key, Object value, long currentTime) {
+                return (value instanceof PessoaDTO ? timeToLive : negativeTimeToLive).toNanos();
+            }
+
+            @Override
+            public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, value, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package com.banco.pagamento.br.config;
+
+import com.banco.pagamento.br.web.interceptor.PessoaConcurrencyLimitInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configure the adaptive concurrency limit of the pessoa endpoints, unless
+ * {@code application.pessoa.concurrency-limit.enabled} is off.
+ */
+@Configuration
+public class ConcurrencyLimitConfiguration implements WebMvcConfigurer {
+
+    private final ApplicationProperties applicationProperties;
+
+    private final PessoaConcurrencyLimitInterceptor pessoaConcurrencyLimitInterceptor;
+
+    public ConcurrencyLimitConfiguration(
+        ApplicationProperties applicationProperties,
+        PessoaConcurrencyLimitInterceptor pessoaConcurrencyLimitInterceptor
+    ) {
+        this.applicationProperties = applicationProperties;
+        this.pessoaConcurrencyLimitInterceptor = pessoaConcurrencyLimitInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (applicationProperties.getPessoa().getConcurrencyLimit().isEnabled()) {
+            registry.addInterceptor(pessoaConcurrencyLimitInterceptor).addPathPatterns("/api/pessoas", "/api/pessoas/**");
+        }
+    }
+}
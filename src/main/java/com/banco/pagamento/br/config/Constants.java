@@ -8,6 +8,9 @@ public final class Constants {
     // Regex for acceptable logins
     public static final String LOGIN_REGEX = "^(?>[a-zA-Z0-9!$&*+=?^_`{|}~.-]+@[a-zA-Z0-9-]+(?:\\.[a-zA-Z0-9-]+)*)|(?>[_.@A-Za-z0-9-]+)$";
 
+    // Regex for acceptable CPFs, with or without punctuation
+    public static final String CPF_REGEX = "([0-9]{3}\\.?[0-9]{3}\\.?[0-9]{3}\\-?([0-9]){2})";
+
     public static final String SYSTEM = "system";
     public static final String DEFAULT_LANGUAGE = "pt-br";
 
@@ -0,0 +1,124 @@
+package com.banco.pagamento.br.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reports the virtual threads pinned to their carrier thread, as recorded by the JFR {@code jdk.VirtualThreadPinned}
+ * event: a virtual thread blocking inside a {@code synchronized} block, or a native frame, holds its carrier, and
+ * enough of them starve every other virtual thread.
+ * <p>
+ * Every pinning lasting longer than the threshold is recorded by the {@code jvm.threads.virtual.pinned} timer, tagged
+ * by the {@code source} holding the monitor: the first frame of the stack that is not part of the JDK is {@code mysql}
+ * for the MySQL driver, {@code hibernate}, {@code hikari}, {@code undertow}, {@code application}, or {@code other}.
+ */
+public class VirtualThreadPinningMetrics implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadPinningMetrics.class);
+
+    static final String EVENT = "jdk.VirtualThreadPinned";
+
+    static final String METRIC = "jvm.threads.virtual.pinned";
+
+    private static final List<String> JDK_PACKAGES = List.of("java.", "javax.", "jdk.", "sun.", "com.sun.");
+
+    private static final List<Source> SOURCES = List.of(
+        new Source("com.mysql.", "mysql"),
+        new Source("org.hibernate.", "hibernate"),
+        new Source("com.zaxxer.hikari.", "hikari"),
+        new Source("io.undertow.", "undertow"),
+        new Source("org.xnio.", "undertow"),
+        new Source("com.banco.pagamento.br.", "application")
+    );
+
+    private record Source(String packagePrefix, String name) {}
+
+    private final MeterRegistry meterRegistry;
+
+    private final RecordingStream recordingStream;
+
+    public VirtualThreadPinningMetrics(MeterRegistry meterRegistry, Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.recordingStream = new RecordingStream();
+        recordingStream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(EVENT, this::record);
+    }
+
+    /**
+     * Start recording the pinned virtual threads, in the background.
+     */
+    public void start() {
+        recordingStream.startAsync();
+        LOG.debug("Recording the pinned virtual threads");
+    }
+
+    @Override
+    public void close() {
+        recordingStream.close();
+    }
+
+    private void record(RecordedEvent event) {
+        RecordedFrame frame = firstNonJdkFrame(event.getStackTrace());
+        String source = source(frame == null ? null : frame.getMethod().getType().getName());
+        Timer.builder(METRIC)
+            .description("Virtual threads pinned to their carrier thread, by the code holding it")
+            .tag("source", source)
+            .register(meterRegistry)
+            .record(event.getDuration());
+        if (LOG.isDebugEnabled() && frame != null) {
+            LOG.debug(
+                "Virtual thread pinned for {} in {}.{}:{}",
+                event.getDuration(),
+                frame.getMethod().getType().getName(),
+                frame.getMethod().getName(),
+                frame.getLineNumber()
+            );
+        }
+    }
+
+    private static RecordedFrame firstNonJdkFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return null;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.isJavaFrame() && !startsWithAny(frame.getMethod().getType().getName(), JDK_PACKAGES)) {
+                return frame;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The source a class belongs to.
+     *
+     * @param className the class of the first frame that is not part of the JDK, or {@code null} if there is none.
+     * @return the source tag.
+     */
+    static String source(String className) {
+        if (className != null) {
+            for (Source source : SOURCES) {
+                if (className.startsWith(source.packagePrefix())) {
+                    return source.name();
+                }
+            }
+        }
+        return "other";
+    }
+
+    private static boolean startsWithAny(String className, List<String> prefixes) {
+        for (String prefix : prefixes) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
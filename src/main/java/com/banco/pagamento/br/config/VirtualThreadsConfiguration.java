@@ -0,0 +1,47 @@
+package com.banco.pagamento.br.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Virtual-thread execution mode, enabled by {@code spring.threads.virtual.enabled}.
+ * <p>
+ * Spring Boot then runs the scheduled jobs on virtual threads, and {@link AsyncConfiguration} the {@code @Async}
+ * tasks; this configuration dispatches the servlet requests of Undertow on virtual threads too, instead of the
+ * worker pool, and reports the virtual threads pinned to their carrier thread.
+ * <p>
+ * The requests are no longer bounded by the worker pool: the Hikari pool is what bounds the database work.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadsConfiguration.class);
+
+    @Bean
+    public WebServerFactoryCustomizer<UndertowServletWebServerFactory> undertowVirtualThreadsCustomizer() {
+        return factory ->
+            factory.addDeploymentInfoCustomizers(deploymentInfo -> {
+                LOG.info("Dispatching the servlet requests on virtual threads");
+                deploymentInfo.setExecutor(new VirtualThreadTaskExecutor("undertow-"));
+            });
+    }
+
+    @Bean
+    public VirtualThreadPinningMetrics virtualThreadPinningMetrics(MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        VirtualThreadPinningMetrics metrics = new VirtualThreadPinningMetrics(
+            meterRegistry,
+            applicationProperties.getVirtualThreads().getPinnedThreshold()
+        );
+        metrics.start();
+        return metrics;
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.servlet.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.web.server.*;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.boot.web.servlet.ServletContextInitializer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,6 +13,7 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
 import tech.jhipster.config.JHipsterProperties;
 
 /**
@@ -53,4 +55,15 @@ public class WebConfigurer implements ServletContextInitializer {
         }
         return new CorsFilter(source);
     }
+
+    /**
+     * ETags of the collections: a hash of the response body, so an unchanged page is answered {@code 304 (Not
+     * Modified)}. The page is still read and serialized, but not sent again.
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> collectionEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/api/pessoas", "/api/users");
+        return registration;
+    }
 }
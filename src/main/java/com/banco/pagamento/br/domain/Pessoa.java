@@ -1,55 +1,107 @@
 package com.banco.pagamento.br.domain;
 
+import com.banco.pagamento.br.config.Constants;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
+import java.text.Normalizer;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.Locale;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.domain.Persistable;
 
 /**
  * A Pessoa.
  */
 @Entity
-@Table(name = "pessoa")
+@Table(
+    name = "pessoa",
+    // named as in the Liquibase changelogs, so a violation is recognized whichever created the schema
+    uniqueConstraints = {
+        @UniqueConstraint(name = "ux_pessoa__cpf", columnNames = "cpf"),
+        @UniqueConstraint(name = "ux_pessoa__cpf_numero", columnNames = "cpf_numero"),
+    }
+)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @JsonIgnoreProperties(value = { "new" })
 @SuppressWarnings("common-java:DuplicatedBlocks")
 public class Pessoa extends AbstractAuditingEntity<Long> implements Serializable, Persistable<Long> {
 
     private static final long serialVersionUID = 1L;
 
+    private static final java.util.regex.Pattern ACCENTS = java.util.regex.Pattern.compile("\\p{M}+");
+
+    private static final java.util.regex.Pattern WHITESPACE = java.util.regex.Pattern.compile("\\s+");
+
+    /**
+     * Ids are allocated by blocks of {@code allocationSize} from {@code pessoa_id_seq}, a table on MySQL, so inserts
+     * can be sent as JDBC batches; the pooled optimizer keeps the blocks of several instances apart.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pessoaIdGenerator")
+    @SequenceGenerator(name = "pessoaIdGenerator", sequenceName = "pessoa_id_seq", initialValue = 1500, allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
-    @Lob
-    @Column(name = "foto")
-    private byte[] foto;
-
     @Column(name = "foto_content_type")
     private String fotoContentType;
 
+    /**
+     * SHA-256 of the photo, which is kept in the photo store.
+     */
+    @Size(max = 64)
+    @Column(name = "foto_hash", length = 64)
+    private String fotoHash;
+
     @NotNull
     @Size(min = 3, max = 510)
     @Column(name = "nome", length = 510, nullable = false)
     private String nome;
 
+    /**
+     * Nome lower-cased, without accents and with single spaces, kept in sync by {@link #setNome(String)}.
+     */
+    @Size(max = 510)
+    @Column(name = "nome_busca", length = 510)
+    private String nomeBusca;
+
     @NotNull
     @Column(name = "dt_nascimento", nullable = false)
     private LocalDate dtNascimento;
 
+    /**
+     * Month and day of the birth, as {@code month * 100 + day}, kept in sync by {@link #setDtNascimento(LocalDate)}.
+     */
+    @Column(name = "mes_dia_nascimento")
+    private Integer mesDiaNascimento;
+
     @NotNull
     @Pattern(regexp = "([0-9]{3}\\.?[0-9]{3}\\.?[0-9]{3}\\-?([0-9]){2})")
-    @Column(name = "cpf", nullable = false, unique = true)
+    @Column(name = "cpf", nullable = false)
     private String cpf;
 
+    /**
+     * Digits of the CPF, whatever its format, kept in sync by {@link #setCpf(String)}.
+     */
+    @Column(name = "cpf_numero")
+    private Long cpfNumero;
+
     @NotNull
     @Pattern(regexp = "(^[\\w-\\.]+@([\\w-]+\\.)+[\\w-]{2,4}$)")
     @Column(name = "email", nullable = false)
     private String email;
 
+    /**
+     * Incremented by every update, which only applies if the row still has the version the pessoa was read with.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Inherited createdBy definition
     // Inherited createdDate definition
     // Inherited lastModifiedBy definition
@@ -73,30 +125,30 @@ public class Pessoa extends AbstractAuditingEntity<Long> implements Serializable
         this.id = id;
     }
 
-    public byte[] getFoto() {
-        return this.foto;
+    public String getFotoContentType() {
+        return this.fotoContentType;
     }
 
-    public Pessoa foto(byte[] foto) {
-        this.setFoto(foto);
+    public Pessoa fotoContentType(String fotoContentType) {
+        this.fotoContentType = fotoContentType;
         return this;
     }
 
-    public void setFoto(byte[] foto) {
-        this.foto = foto;
+    public void setFotoContentType(String fotoContentType) {
+        this.fotoContentType = fotoContentType;
     }
 
-    public String getFotoContentType() {
-        return this.fotoContentType;
+    public String getFotoHash() {
+        return this.fotoHash;
     }
 
-    public Pessoa fotoContentType(String fotoContentType) {
-        this.fotoContentType = fotoContentType;
+    public Pessoa fotoHash(String fotoHash) {
+        this.setFotoHash(fotoHash);
         return this;
     }
 
-    public void setFotoContentType(String fotoContentType) {
-        this.fotoContentType = fotoContentType;
+    public void setFotoHash(String fotoHash) {
+        this.fotoHash = fotoHash;
     }
 
     public String getNome() {
@@ -110,6 +162,23 @@ public class Pessoa extends AbstractAuditingEntity<Long> implements Serializable
 
     public void setNome(String nome) {
         this.nome = nome;
+        this.nomeBusca = normalizeNome(nome);
+    }
+
+    public String getNomeBusca() {
+        return this.nomeBusca;
+    }
+
+    /**
+     * @param nome a nome, or a search term.
+     * @return the nome lower-cased, without accents and with single spaces between words, or {@code null} if there is no nome.
+     */
+    public static String normalizeNome(String nome) {
+        if (nome == null) {
+            return null;
+        }
+        String withoutAccents = ACCENTS.matcher(Normalizer.normalize(nome, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(withoutAccents.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
     }
 
     public LocalDate getDtNascimento() {
@@ -123,6 +192,19 @@ public class Pessoa extends AbstractAuditingEntity<Long> implements Serializable
 
     public void setDtNascimento(LocalDate dtNascimento) {
         this.dtNascimento = dtNascimento;
+        this.mesDiaNascimento = dtNascimento == null ? null : mesDia(MonthDay.from(dtNascimento));
+    }
+
+    public Integer getMesDiaNascimento() {
+        return this.mesDiaNascimento;
+    }
+
+    /**
+     * @param monthDay a day of the year.
+     * @return its {@code month * 100 + day}, e.g. {@code 1231} for December 31.
+     */
+    public static int mesDia(MonthDay monthDay) {
+        return monthDay.getMonthValue() * 100 + monthDay.getDayOfMonth();
     }
 
     public String getCpf() {
@@ -136,6 +218,30 @@ public class Pessoa extends AbstractAuditingEntity<Long> implements Serializable
 
     public void setCpf(String cpf) {
         this.cpf = cpf;
+        this.cpfNumero = normalizeCpf(cpf);
+    }
+
+    public Long getCpfNumero() {
+        return this.cpfNumero;
+    }
+
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    /**
+     * @param cpf a CPF, with or without punctuation.
+     * @return the number made of its digits, or {@code null} if it is not a CPF.
+     */
+    public static Long normalizeCpf(String cpf) {
+        if (cpf == null || !cpf.matches(Constants.CPF_REGEX)) {
+            return null;
+        }
+        return Long.valueOf(cpf.replace(".", "").replace("-", ""));
     }
 
     public String getEmail() {
@@ -217,12 +323,16 @@ public class Pessoa extends AbstractAuditingEntity<Long> implements Serializable
     public String toString() {
         return "Pessoa{" +
             "id=" + getId() +
-            ", foto='" + getFoto() + "'" +
             ", fotoContentType='" + getFotoContentType() + "'" +
+            ", fotoHash='" + getFotoHash() + "'" +
             ", nome='" + getNome() + "'" +
+            ", nomeBusca='" + getNomeBusca() + "'" +
             ", dtNascimento='" + getDtNascimento() + "'" +
+            ", mesDiaNascimento=" + getMesDiaNascimento() +
             ", cpf='" + getCpf() + "'" +
+            ", cpfNumero=" + getCpfNumero() +
             ", email='" + getEmail() + "'" +
+            ", version=" + getVersion() +
             ", createdBy='" + getCreatedBy() + "'" +
             ", createdDate='" + getCreatedDate() + "'" +
             ", lastModifiedBy='" + getLastModifiedBy() + "'" +
@@ -0,0 +1,79 @@
+package com.banco.pagamento.br.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+
+/**
+ * The legacy photo column of a {@link Pessoa}.
+ * <p>
+ * Photos are now kept in the photo store and referenced by {@link Pessoa#getFotoHash()}. This entity maps the
+ * {@code foto} column of the {@code pessoa} table, next to {@link Pessoa} which does not map it, so the photos
+ * still stored there can be moved out. Rows are created with their {@link Pessoa}, they are only ever updated here.
+ */
+@Entity
+@Table(name = "pessoa")
+public class PessoaFoto implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Lob
+    @Column(name = "foto")
+    private byte[] foto;
+
+    @Column(name = "foto_hash", length = 64)
+    private String fotoHash;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public byte[] getFoto() {
+        return this.foto;
+    }
+
+    public void setFoto(byte[] foto) {
+        this.foto = foto;
+    }
+
+    public String getFotoHash() {
+        return this.fotoHash;
+    }
+
+    public void setFotoHash(String fotoHash) {
+        this.fotoHash = fotoHash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PessoaFoto)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((PessoaFoto) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PessoaFoto{" +
+            "id=" + getId() +
+            ", fotoHash='" + getFotoHash() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,31 @@
+package com.banco.pagamento.br.repository;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the {@code match_against(column, query)} function on MySQL, for queries to use its full-text indexes:
+ * it is rendered as {@code match(column) against(query in boolean mode)}, which is positive for the matching rows.
+ * <p>
+ * Registered through {@code META-INF/services}, as Hibernate loads function contributors with the service loader.
+ */
+public class MatchAgainstFunctionContributor implements FunctionContributor {
+
+    public static final String MATCH_AGAINST = "match_against";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        if (!(functionContributions.getDialect() instanceof MySQLDialect)) {
+            return;
+        }
+        functionContributions
+            .getFunctionRegistry()
+            .registerPattern(
+                MATCH_AGAINST,
+                "match(?1) against(?2 in boolean mode)",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE)
+            );
+    }
+}
@@ -0,0 +1,28 @@
+package com.banco.pagamento.br.repository;
+
+import com.banco.pagamento.br.domain.PessoaFoto;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the PessoaFoto entity.
+ * <p>
+ * Only reads and updates are exposed: the rows belong to {@link com.banco.pagamento.br.domain.Pessoa}.
+ */
+@Repository
+public interface PessoaFotoRepository extends org.springframework.data.repository.Repository<PessoaFoto, Long> {
+    @Query("select pessoaFoto from PessoaFoto pessoaFoto where pessoaFoto.foto is not null order by pessoaFoto.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    List<PessoaFoto> findAllWithFoto(Limit limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update PessoaFoto pessoaFoto set pessoaFoto.foto = null, pessoaFoto.fotoHash = :fotoHash where pessoaFoto.id = :id")
+    int moveFoto(@Param("id") Long id, @Param("fotoHash") String fotoHash);
+}
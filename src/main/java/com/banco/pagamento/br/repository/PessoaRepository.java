@@ -1,7 +1,17 @@
 package com.banco.pagamento.br.repository;
 
 import com.banco.pagamento.br.domain.Pessoa;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +19,74 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface PessoaRepository extends JpaRepository<Pessoa, Long>, JpaSpecificationExecutor<Pessoa> {}
+public interface PessoaRepository
+    extends PessoaRepositoryWithStreaming, JpaRepository<Pessoa, Long>, JpaSpecificationExecutor<Pessoa> {
+    Optional<Pessoa> findOneByCpfNumero(Long cpfNumero);
+
+    boolean existsByCpfNumero(Long cpfNumero);
+
+    /**
+     * Find which of some normalized CPFs are already used.
+     */
+    @Query("select pessoa.cpfNumero from Pessoa pessoa where pessoa.cpfNumero in :cpfNumeros")
+    Set<Long> findCpfNumerosIn(@Param("cpfNumeros") Collection<Long> cpfNumeros);
+
+    /**
+     * The version of a pessoa, and when it was last modified.
+     */
+    interface VersionProjection {
+        Long getVersion();
+
+        Instant getLastModifiedDate();
+    }
+
+    /**
+     * Read the version of a pessoa, without loading it.
+     */
+    @Query("select pessoa.version as version, pessoa.lastModifiedDate as lastModifiedDate from Pessoa pessoa where pessoa.id = :id")
+    Optional<VersionProjection> findVersionById(@Param("id") Long id);
+
+    /**
+     * Stream the CPF of every pessoa, as entered. Must be consumed inside a transaction and closed.
+     */
+    @Query("select pessoa.cpf from Pessoa pessoa")
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    Stream<String> streamAllCpfs();
+
+    /**
+     * Stream the id and the nome of every pessoa. Must be consumed inside a transaction and closed.
+     */
+    @Query("select pessoa.id, pessoa.nome from Pessoa pessoa")
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    Stream<Object[]> streamAllNomes();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    List<Pessoa> findByCpfNumeroIsNullAndIdGreaterThanOrderById(Long id, Limit limit);
+
+    /**
+     * Find the pessoas born between two days of the year, included, in order of that day and of the id, starting
+     * after a position in that order.
+     *
+     * @param from the first day, as {@code month * 100 + day}.
+     * @param to the last day, as {@code month * 100 + day}, not before {@code from}.
+     * @param lastMesDia the day of the last pessoa already read, or {@code 0} to start from the first day.
+     * @param lastId the id of the last pessoa already read, or {@code 0}.
+     * @param limit the maximum number of pessoas.
+     */
+    @Query(
+        "select pessoa from Pessoa pessoa" +
+        " where pessoa.mesDiaNascimento between :from and :to" +
+        " and (pessoa.mesDiaNascimento > :lastMesDia or (pessoa.mesDiaNascimento = :lastMesDia and pessoa.id > :lastId))" +
+        " order by pessoa.mesDiaNascimento, pessoa.id"
+    )
+    List<Pessoa> findAniversariantes(
+        @Param("from") int from,
+        @Param("to") int to,
+        @Param("lastMesDia") int lastMesDia,
+        @Param("lastId") long lastId,
+        Limit limit
+    );
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    List<Pessoa> findByNomeBuscaIsNullAndIdGreaterThanOrderById(Long id, Limit limit);
+}
@@ -0,0 +1,107 @@
+package com.banco.pagamento.br.repository;
+
+import com.banco.pagamento.br.domain.Pessoa;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Forward-only reads of {@link Pessoa} entities for the {@link PessoaRepository}, which Spring Data cannot derive.
+ */
+public interface PessoaRepositoryWithStreaming {
+    /**
+     * Stream every pessoa matching the specification, reading rows from the database cursor {@code fetchSize} at a time.
+     * Entities are read-only and detached as soon as they are emitted, so the persistence context does not grow, and
+     * they bypass the second-level cache, so they do not evict the cached pessoas.
+     * The stream must be consumed, and closed, inside a transaction.
+     *
+     * @param specification the specification to match.
+     * @param sort the order of the results.
+     * @param fetchSize the JDBC fetch size.
+     * @return the stream of matching entities.
+     */
+    Stream<Pessoa> streamAll(Specification<Pessoa> specification, Sort sort, int fetchSize);
+
+    /**
+     * Stream some attributes of every pessoa matching the specification, as {@link #streamAll} streams the entities.
+     * Only the attributes are read, no entity is managed.
+     *
+     * @param specification the specification to match.
+     * @param attributes the attributes to select.
+     * @param sort the order of the results.
+     * @param fetchSize the JDBC fetch size.
+     * @return the stream of the values of the attributes, in order, of the matching entities.
+     */
+    Stream<Object[]> streamAttributes(Specification<Pessoa> specification, List<String> attributes, Sort sort, int fetchSize);
+
+    /**
+     * Read a page of the pessoas matching the specification without counting them: one more row than the page size
+     * is fetched to tell whether there is a next page.
+     *
+     * @param specification the specification to match.
+     * @param pageable the page to read, and its order.
+     * @return the slice of matching entities.
+     */
+    Slice<Pessoa> findSlice(Specification<Pessoa> specification, Pageable pageable);
+
+    /**
+     * Read a page of the pessoas selected by a JPQL query without counting them, as
+     * {@link #findSlice(Specification, Pageable)} does. The order is the one of the query.
+     *
+     * @param query the JPQL query, with positional parameters.
+     * @param parameters the values of the parameters, from {@code ?1}.
+     * @param pageable the page to read.
+     * @return the slice of selected entities.
+     */
+    Slice<Pessoa> findSlice(String query, List<?> parameters, Pageable pageable);
+
+    /**
+     * Read a page of some attributes of the pessoas matching the specification, as
+     * {@link #findSlice(Specification, Pageable)} reads the entities. Only the attributes are read, no entity is managed.
+     *
+     * @param specification the specification to match.
+     * @param attributes the attributes to select.
+     * @param pageable the page to read, and its order.
+     * @return the slice of the values of the attributes, in order, of the matching entities.
+     */
+    Slice<Object[]> findAttributes(Specification<Pessoa> specification, List<String> attributes, Pageable pageable);
+
+    /**
+     * Read a page of the rows selected by a JPQL query selecting attributes, as
+     * {@link #findSlice(String, List, Pageable)} reads the entities.
+     *
+     * @param query the JPQL query, with positional parameters.
+     * @param parameters the values of the parameters, from {@code ?1}.
+     * @param pageable the page to read.
+     * @return the slice of the selected values.
+     */
+    Slice<Object[]> findAttributes(String query, List<?> parameters, Pageable pageable);
+
+    /**
+     * Run a JPQL count query.
+     *
+     * @param query the JPQL query, with positional parameters.
+     * @param parameters the values of the parameters, from {@code ?1}.
+     * @return the count.
+     */
+    long count(String query, List<?> parameters);
+
+    /**
+     * Estimate the number of pessoas from the table statistics of the database, without reading the table.
+     *
+     * @return the estimated number of rows, or empty if the database does not keep such statistics.
+     */
+    OptionalLong estimateCount();
+
+    /**
+     * Get a handle cancelling the statement that the session of the current transaction is running. The handle is
+     * meant to be run from another thread, while the statement runs; it does nothing when none does.
+     *
+     * @return the canceller of the running statement.
+     */
+    Runnable queryCanceller();
+}
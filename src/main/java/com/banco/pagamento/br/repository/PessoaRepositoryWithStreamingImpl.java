@@ -0,0 +1,168 @@
+package com.banco.pagamento.br.repository;
+
+import com.banco.pagamento.br.domain.Pessoa;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.util.List;
+import java.util.Locale;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+/**
+ * Implementation of {@link PessoaRepositoryWithStreaming}.
+ */
+public class PessoaRepositoryWithStreamingImpl implements PessoaRepositoryWithStreaming {
+
+    /**
+     * Row estimate kept by InnoDB, refreshed by {@code ANALYZE TABLE} and as the table changes.
+     */
+    private static final String MYSQL_ESTIMATE =
+        "select table_rows from information_schema.tables where table_schema = database() and table_name = 'pessoa'";
+
+    private static final String H2_ESTIMATE =
+        "select row_count_estimate from information_schema.tables where table_schema = schema() and table_name = 'PESSOA'";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<Pessoa> streamAll(Specification<Pessoa> specification, Sort sort, int fetchSize) {
+        // a scan of the table would evict the pessoas the second-level cache holds for the requests; the cache mode
+        // hint of a query is not applied to the rows it scrolls, only the one of the session is
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode cacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.IGNORE);
+        return entityManager
+            .createQuery(createQuery(specification, sort))
+            .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultStream()
+            .map(pessoa -> {
+                entityManager.detach(pessoa);
+                return pessoa;
+            })
+            .onClose(() -> session.setCacheMode(cacheMode));
+    }
+
+    @Override
+    public Stream<Object[]> streamAttributes(Specification<Pessoa> specification, List<String> attributes, Sort sort, int fetchSize) {
+        return entityManager
+            .createQuery(createQuery(specification, attributes, sort))
+            .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+            .getResultStream();
+    }
+
+    @Override
+    public Slice<Pessoa> findSlice(Specification<Pessoa> specification, Pageable pageable) {
+        return slice(entityManager.createQuery(createQuery(specification, pageable.getSort())), pageable);
+    }
+
+    @Override
+    public Slice<Pessoa> findSlice(String query, List<?> parameters, Pageable pageable) {
+        return slice(bind(entityManager.createQuery(query, Pessoa.class), parameters), pageable);
+    }
+
+    @Override
+    public Slice<Object[]> findAttributes(Specification<Pessoa> specification, List<String> attributes, Pageable pageable) {
+        return slice(entityManager.createQuery(createQuery(specification, attributes, pageable.getSort())), pageable);
+    }
+
+    @Override
+    public Slice<Object[]> findAttributes(String query, List<?> parameters, Pageable pageable) {
+        return slice(bind(entityManager.createQuery(query, Object[].class), parameters), pageable);
+    }
+
+    @Override
+    public long count(String query, List<?> parameters) {
+        return bind(entityManager.createQuery(query, Long.class), parameters).getSingleResult();
+    }
+
+    @Override
+    public OptionalLong estimateCount() {
+        String product = entityManager
+            .unwrap(Session.class)
+            .doReturningWork(connection -> connection.getMetaData().getDatabaseProductName())
+            .toLowerCase(Locale.ROOT);
+        String sql;
+        if (product.contains("mysql") || product.contains("mariadb")) {
+            sql = MYSQL_ESTIMATE;
+        } else if (product.contains("h2")) {
+            sql = H2_ESTIMATE;
+        } else {
+            return OptionalLong.empty();
+        }
+        List<?> rows = entityManager.createNativeQuery(sql).getResultList();
+        if (rows.isEmpty() || rows.get(0) == null) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(((Number) rows.get(0)).longValue());
+    }
+
+    @Override
+    public Runnable queryCanceller() {
+        // the session itself: the Session unwrapped from the shared entity manager is the one of the calling thread
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        // the only method of a session which may be called from another thread
+        return session::cancelQuery;
+    }
+
+    private static <T> Slice<T> slice(TypedQuery<T> query, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(query.getResultList());
+        }
+        List<T> results = query
+            .setFirstResult(Math.toIntExact(pageable.getOffset()))
+            .setMaxResults(pageable.getPageSize() + 1)
+            .getResultList();
+        boolean hasNext = results.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? results.subList(0, pageable.getPageSize()) : results, pageable, hasNext);
+    }
+
+    private static <T> TypedQuery<T> bind(TypedQuery<T> query, List<?> parameters) {
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter(i + 1, parameters.get(i));
+        }
+        return query;
+    }
+
+    private CriteriaQuery<Pessoa> createQuery(Specification<Pessoa> specification, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Pessoa> query = cb.createQuery(Pessoa.class);
+        Root<Pessoa> root = query.from(Pessoa.class);
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return query;
+    }
+
+    private CriteriaQuery<Object[]> createQuery(Specification<Pessoa> specification, List<String> attributes, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Pessoa> root = query.from(Pessoa.class);
+        query.multiselect(attributes.stream().<Selection<?>>map(root::get).toList());
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return query;
+    }
+}
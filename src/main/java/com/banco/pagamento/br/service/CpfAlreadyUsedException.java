@@ -0,0 +1,17 @@
+package com.banco.pagamento.br.service;
+
+/**
+ * Thrown when a pessoa is written with the CPF of another pessoa.
+ */
+public class CpfAlreadyUsedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CpfAlreadyUsedException() {
+        super("CPF already used by another pessoa!");
+    }
+
+    public CpfAlreadyUsedException(Throwable cause) {
+        super("CPF already used by another pessoa!", cause);
+    }
+}
@@ -0,0 +1,97 @@
+package com.banco.pagamento.br.service;
+
+import com.banco.pagamento.br.domain.Pessoa;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Fills a column of the pessoas saved before it existed, for {@link PessoaCpfBackfillService} and
+ * {@link PessoaNomeBuscaBackfillService}.
+ * <p>
+ * Pessoas are read in id order and updated in batches, one transaction per batch: the values of a batch are written
+ * with one JDBC batch, and only the updated pessoas are then evicted from the second-level cache, where a bulk JPQL
+ * update would evict all of them. The audit columns and the version are left as they are. The backfill can be
+ * interrupted and started again at any time.
+ */
+@Component
+public class PessoaBackfill {
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Cache secondLevelCache;
+
+    public PessoaBackfill(TransactionTemplate transactionTemplate, JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.secondLevelCache = entityManagerFactory.getCache();
+    }
+
+    /**
+     * Fill a column of all the pessoas that have none.
+     *
+     * @param column the column.
+     * @param batchSize the number of pessoas read per batch.
+     * @param finder the finder of the pessoas with no value, after an id and in id order.
+     * @param values the values of the pessoas of a batch, by id; the pessoas left out are not updated.
+     * @return the number of updated pessoas.
+     */
+    public long backfill(
+        String column,
+        int batchSize,
+        BiFunction<Long, Limit, List<Pessoa>> finder,
+        Function<List<Pessoa>, Map<Long, ?>> values
+    ) {
+        String update = "update pessoa set " + column + " = ? where id = ?";
+        long total = 0;
+        Long lastId = 0L;
+        Batch batch;
+        do {
+            Long afterId = lastId;
+            batch = transactionTemplate.execute(status -> backfillBatch(update, afterId, batchSize, finder, values));
+            // once committed, so that a concurrent read cannot cache the rows as they were again
+            batch.updatedIds().forEach(id -> secondLevelCache.evict(Pessoa.class, id));
+            total += batch.updatedIds().size();
+            lastId = batch.lastId();
+        } while (batch.size() == batchSize);
+        return total;
+    }
+
+    private Batch backfillBatch(
+        String update,
+        Long afterId,
+        int batchSize,
+        BiFunction<Long, Limit, List<Pessoa>> finder,
+        Function<List<Pessoa>, Map<Long, ?>> values
+    ) {
+        List<Pessoa> pessoas = finder.apply(afterId, Limit.of(batchSize));
+        List<Object[]> updates = values
+            .apply(pessoas)
+            .entrySet()
+            .stream()
+            .map(value -> new Object[] { value.getValue(), value.getKey() })
+            .toList();
+        int[] counts = updates.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(update, updates);
+        List<Long> updatedIds = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                updatedIds.add((Long) updates.get(i)[1]);
+            }
+        }
+        Long lastId = pessoas.isEmpty() ? afterId : pessoas.get(pessoas.size() - 1).getId();
+        return new Batch(pessoas.size(), updatedIds, lastId);
+    }
+
+    private record Batch(int size, List<Long> updatedIds, Long lastId) {}
+}
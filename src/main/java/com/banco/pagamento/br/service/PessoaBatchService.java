@@ -0,0 +1,248 @@
+package com.banco.pagamento.br.service;
+
+import com.banco.pagamento.br.config.ApplicationProperties;
+import com.banco.pagamento.br.service.dto.PessoaBatchResultDTO;
+import com.banco.pagamento.br.service.dto.PessoaBatchResultDTO.ItemResult;
+import com.banco.pagamento.br.service.dto.PessoaDTO;
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.LongHashSet;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service for batches of {@link com.banco.pagamento.br.domain.Pessoa} operations sent in a single request.
+ * <p>
+ * Items are validated one by one, and the valid ones are written in chunks of
+ * {@code application.pessoa.batch.chunk-size}: each chunk is written in its own transaction, where Hibernate sends
+ * its statements as JDBC batches. If a chunk is rejected, its items are retried one by one so the failing items can
+ * be reported while the others are still written. Every item gets the status a single request would have had.
+ */
+@Service
+public class PessoaBatchService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PessoaBatchService.class);
+
+    private final PessoaService pessoaService;
+
+    private final Validator validator;
+
+    private final ApplicationProperties applicationProperties;
+
+    public PessoaBatchService(PessoaService pessoaService, Validator validator, ApplicationProperties applicationProperties) {
+        this.pessoaService = pessoaService;
+        this.validator = validator;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Create a batch of pessoas.
+     *
+     * @param pessoaDTOs the pessoas to create, without id.
+     * @return the status of every pessoa, {@code 201} when it was created.
+     * @throws IllegalArgumentException if the batch is too large.
+     */
+    public PessoaBatchResultDTO createAll(List<PessoaDTO> pessoaDTOs) {
+        LOG.debug("Request to create a batch of {} Pessoas", pessoaDTOs.size());
+        checkSize(pessoaDTOs.size());
+        return new Writer(pessoaDTOs.size(), true).write(pessoaDTOs);
+    }
+
+    /**
+     * Update a batch of pessoas.
+     *
+     * @param pessoaDTOs the pessoas to update, with their id.
+     * @return the status of every pessoa, {@code 200} when it was updated.
+     * @throws IllegalArgumentException if the batch is too large.
+     */
+    public PessoaBatchResultDTO updateAll(List<PessoaDTO> pessoaDTOs) {
+        LOG.debug("Request to update a batch of {} Pessoas", pessoaDTOs.size());
+        checkSize(pessoaDTOs.size());
+        return new Writer(pessoaDTOs.size(), false).write(pessoaDTOs);
+    }
+
+    /**
+     * Delete a batch of pessoas.
+     *
+     * @param ids the ids of the pessoas to delete.
+     * @return the status of every id, {@code 204} when its pessoa was deleted, {@code 404} when there was none.
+     * @throws IllegalArgumentException if the batch is too large.
+     */
+    public PessoaBatchResultDTO deleteAll(LongArrayList ids) {
+        LOG.debug("Request to delete a batch of {} Pessoas", ids.size());
+        checkSize(ids.size());
+        PessoaBatchResultDTO result = new PessoaBatchResultDTO();
+        int chunkSize = chunkSize();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            int to = Math.min(ids.size(), from + chunkSize);
+            LongArrayList chunk = new LongArrayList(to - from);
+            chunk.add(ids.buffer, from, to - from);
+            LongHashSet deleted = pessoaService.deleteAll(chunk);
+            for (int i = from; i < to; i++) {
+                long id = ids.get(i);
+                if (deleted.contains(id)) {
+                    succeed(result, new ItemResult(i, id, HttpStatus.NO_CONTENT.value(), null));
+                } else {
+                    fail(result, new ItemResult(i, id, HttpStatus.NOT_FOUND.value(), "Entity not found"));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get a batch of pessoas in a single query.
+     *
+     * @param ids the ids of the pessoas.
+     * @return the pessoas, in the order of the ids, with {@code null} for the ids with no pessoa.
+     * @throws IllegalArgumentException if the batch is too large.
+     */
+    public List<PessoaDTO> findAll(LongArrayList ids) {
+        LOG.debug("Request to get a batch of {} Pessoas", ids.size());
+        checkSize(ids.size());
+        return pessoaService.findAll(ids);
+    }
+
+    private void checkSize(int size) {
+        int maxSize = applicationProperties.getPessoa().getBatch().getMaxSize();
+        if (size > maxSize) {
+            throw new IllegalArgumentException("A batch cannot have more than " + maxSize + " items");
+        }
+    }
+
+    private int chunkSize() {
+        return Math.max(1, applicationProperties.getPessoa().getBatch().getChunkSize());
+    }
+
+    private static void succeed(PessoaBatchResultDTO result, ItemResult item) {
+        result.setSucceeded(result.getSucceeded() + 1);
+        result.getItems().add(item);
+    }
+
+    private static void fail(PessoaBatchResultDTO result, ItemResult item) {
+        result.setFailed(result.getFailed() + 1);
+        result.getItems().add(item);
+    }
+
+    /**
+     * Writes the valid items of a batch in chunks, and collects their statuses in the order of the batch.
+     */
+    private final class Writer {
+
+        private final boolean create;
+
+        private final int chunkSize = chunkSize();
+
+        private final ItemResult[] items;
+
+        private final List<PessoaDTO> chunk = new ArrayList<>(chunkSize);
+
+        private final List<Integer> chunkIndexes = new ArrayList<>(chunkSize);
+
+        Writer(int size, boolean create) {
+            this.create = create;
+            this.items = new ItemResult[size];
+        }
+
+        PessoaBatchResultDTO write(List<PessoaDTO> pessoaDTOs) {
+            for (int i = 0; i < pessoaDTOs.size(); i++) {
+                PessoaDTO pessoaDTO = pessoaDTOs.get(i);
+                String error = validate(pessoaDTO);
+                if (error != null) {
+                    items[i] = new ItemResult(i, pessoaDTO == null ? null : pessoaDTO.getId(), HttpStatus.BAD_REQUEST.value(), error);
+                    continue;
+                }
+                chunk.add(pessoaDTO);
+                chunkIndexes.add(i);
+                if (chunk.size() >= chunkSize) {
+                    flush();
+                }
+            }
+            flush();
+            PessoaBatchResultDTO result = new PessoaBatchResultDTO();
+            for (ItemResult item : items) {
+                if (HttpStatus.valueOf(item.getStatus()).is2xxSuccessful()) {
+                    succeed(result, item);
+                } else {
+                    fail(result, item);
+                }
+            }
+            LOG.debug("Wrote {} of {} Pessoas", result.getSucceeded(), items.length);
+            return result;
+        }
+
+        private String validate(PessoaDTO pessoaDTO) {
+            if (pessoaDTO == null) {
+                return "Empty item";
+            }
+            if (create && pessoaDTO.getId() != null) {
+                return "A new pessoa cannot already have an ID";
+            }
+            if (!create && pessoaDTO.getId() == null) {
+                return "Invalid id";
+            }
+            Set<ConstraintViolation<PessoaDTO>> violations = validator.validate(pessoaDTO);
+            if (violations.isEmpty()) {
+                return null;
+            }
+            return violations
+                .stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                List<PessoaDTO> written = create ? pessoaService.saveAll(chunk) : pessoaService.updateAll(chunk);
+                for (int i = 0; i < written.size(); i++) {
+                    items[chunkIndexes.get(i)] = new ItemResult(chunkIndexes.get(i), written.get(i).getId(), successStatus(), null);
+                }
+            } catch (
+                DataIntegrityViolationException
+                | CpfAlreadyUsedException
+                | NoSuchElementException
+                | OptimisticLockingFailureException e
+            ) {
+                LOG.debug("Chunk rejected, retrying its {} items one by one", chunk.size());
+                for (int i = 0; i < chunk.size(); i++) {
+                    writeSingle(chunkIndexes.get(i), chunk.get(i));
+                }
+            }
+            chunk.clear();
+            chunkIndexes.clear();
+        }
+
+        private void writeSingle(int index, PessoaDTO pessoaDTO) {
+            try {
+                PessoaDTO written = create ? pessoaService.save(pessoaDTO) : pessoaService.update(pessoaDTO);
+                items[index] = new ItemResult(index, written.getId(), successStatus(), null);
+            } catch (NoSuchElementException e) {
+                items[index] = new ItemResult(index, pessoaDTO.getId(), HttpStatus.NOT_FOUND.value(), "Entity not found");
+            } catch (CpfAlreadyUsedException e) {
+                items[index] = new ItemResult(index, pessoaDTO.getId(), HttpStatus.CONFLICT.value(), "CPF already used by another pessoa");
+            } catch (OptimisticLockingFailureException e) {
+                items[index] = new ItemResult(index, pessoaDTO.getId(), HttpStatus.PRECONDITION_FAILED.value(), "Pessoa modified concurrently");
+            } catch (DataIntegrityViolationException e) {
+                items[index] = new ItemResult(index, pessoaDTO.getId(), HttpStatus.CONFLICT.value(), "Item violates a database constraint");
+            }
+        }
+
+        private int successStatus() {
+            return create ? HttpStatus.CREATED.value() : HttpStatus.OK.value();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.banco.pagamento.br.service;
+
+import com.banco.pagamento.br.config.ApplicationProperties;
+import com.banco.pagamento.br.domain.Pessoa;
+import com.banco.pagamento.br.repository.PessoaRepository;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service filling {@link Pessoa#getCpfNumero()} for the pessoas saved before it existed, with {@link PessoaBackfill}.
+ * <p>
+ * The CPFs of a batch are looked up with one query. A CPF whose number is already used, by another pessoa saved with
+ * the other format, is left empty and logged, as it must be fixed by hand.
+ */
+@Service
+public class PessoaCpfBackfillService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PessoaCpfBackfillService.class);
+
+    private final PessoaRepository pessoaRepository;
+
+    private final PessoaBackfill pessoaBackfill;
+
+    private final ApplicationProperties applicationProperties;
+
+    public PessoaCpfBackfillService(
+        PessoaRepository pessoaRepository,
+        PessoaBackfill pessoaBackfill,
+        ApplicationProperties applicationProperties
+    ) {
+        this.pessoaRepository = pessoaRepository;
+        this.pessoaBackfill = pessoaBackfill;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Run the backfill in the background once the application is started, when it is enabled.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (applicationProperties.getPessoa().getCpfBackfill().isEnabled()) {
+            backfillAll();
+        }
+    }
+
+    /**
+     * Fill the normalized CPF of all the pessoas that have none.
+     *
+     * @return the number of updated pessoas.
+     */
+    public long backfillAll() {
+        long total = pessoaBackfill.backfill(
+            "cpf_numero",
+            applicationProperties.getPessoa().getCpfBackfill().getBatchSize(),
+            pessoaRepository::findByCpfNumeroIsNullAndIdGreaterThanOrderById,
+            this::cpfNumeros
+        );
+        if (total > 0) {
+            LOG.info("Filled the normalized CPF of {} Pessoas", total);
+        }
+        return total;
+    }
+
+    private Map<Long, Long> cpfNumeros(List<Pessoa> pessoas) {
+        List<Long> batchCpfNumeros = pessoas.stream().map(pessoa -> Pessoa.normalizeCpf(pessoa.getCpf())).filter(Objects::nonNull).toList();
+        Set<Long> cpfNumeros = new HashSet<>(batchCpfNumeros.isEmpty() ? Set.of() : pessoaRepository.findCpfNumerosIn(batchCpfNumeros));
+        Map<Long, Long> cpfNumeroById = new LinkedHashMap<>();
+        for (Pessoa pessoa : pessoas) {
+            Long cpfNumero = Pessoa.normalizeCpf(pessoa.getCpf());
+            if (cpfNumero == null) {
+                LOG.warn("Pessoa {} has an invalid CPF", pessoa.getId());
+            } else if (!cpfNumeros.add(cpfNumero)) {
+                LOG.warn("The CPF of Pessoa {} is already used by another Pessoa", pessoa.getId());
+            } else {
+                cpfNumeroById.put(pessoa.getId(), cpfNumero);
+            }
+        }
+        return cpfNumeroById;
+    }
+}
@@ -0,0 +1,296 @@
+package com.banco.pagamento.br.service;
+
+import com.banco.pagamento.br.config.ApplicationProperties;
+import com.banco.pagamento.br.domain.Pessoa;
+import com.banco.pagamento.br.repository.PessoaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * In-memory Bloom filter over the normalized CPFs of the {@link Pessoa} table.
+ * <p>
+ * A {@code false} from {@link #mightContain} means no pessoa has the CPF, so the uniqueness query can be skipped;
+ * a {@code true} has to be confirmed by the database. The filter is built from the table at startup and every CPF
+ * written is added to it. Bloom filters cannot forget, so deletions only make it less selective: it is rebuilt
+ * once too many pessoas were deleted, or once it holds more CPFs than it was sized for.
+ * <p>
+ * Until the first build completes, every CPF might be present. The filter only knows the CPFs written through
+ * this instance since it was built: a CPF written elsewhere is still rejected by the unique index on
+ * {@code cpf_numero}, just not with a clean conflict, until the filter is rebuilt.
+ */
+@Service
+public class PessoaCpfFilter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PessoaCpfFilter.class);
+
+    /**
+     * Share of the entries that may be deleted before the filter is rebuilt.
+     */
+    private static final double MAX_DELETED_RATIO = 0.1;
+
+    private final PessoaRepository pessoaRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final Counter absent;
+
+    private final Counter mightBePresent;
+
+    private final Counter notBuilt;
+
+    private final Counter falsePositives;
+
+    private final Timer rebuildTimer;
+
+    private volatile BloomFilter current;
+
+    private volatile BloomFilter building;
+
+    private final AtomicLong deleted = new AtomicLong();
+
+    public PessoaCpfFilter(
+        PessoaRepository pessoaRepository,
+        TransactionTemplate transactionTemplate,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.pessoaRepository = pessoaRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.applicationProperties = applicationProperties;
+        this.absent = Counter.builder("pessoa.cpf.filter.checks")
+            .description("CPF uniqueness checks answered by the Bloom filter")
+            .tag("result", "absent")
+            .register(meterRegistry);
+        this.mightBePresent = Counter.builder("pessoa.cpf.filter.checks")
+            .description("CPF uniqueness checks answered by the Bloom filter")
+            .tag("result", "might_be_present")
+            .register(meterRegistry);
+        this.notBuilt = Counter.builder("pessoa.cpf.filter.checks")
+            .description("CPF uniqueness checks answered by the Bloom filter")
+            .tag("result", "not_built")
+            .register(meterRegistry);
+        this.falsePositives = Counter.builder("pessoa.cpf.filter.false.positives")
+            .description("CPFs the Bloom filter reported as present that the database did not find")
+            .register(meterRegistry);
+        this.rebuildTimer = Timer.builder("pessoa.cpf.filter.rebuild").description("Time to build the CPF Bloom filter").register(meterRegistry);
+        Gauge.builder("pessoa.cpf.filter.expected.false.positive.probability", this, filter ->
+            filter.current == null ? Double.NaN : filter.current.expectedFalsePositiveProbability()
+        )
+            .description("False positive probability of the CPF Bloom filter, given the bits it has set")
+            .register(meterRegistry);
+        Gauge.builder("pessoa.cpf.filter.entries", this, filter -> filter.current == null ? Double.NaN : filter.current.entries())
+            .description("CPFs added to the CPF Bloom filter")
+            .register(meterRegistry);
+    }
+
+    /**
+     * @param cpfNumero a normalized CPF.
+     * @return {@code false} if no pessoa has this CPF, {@code true} if one might have it.
+     */
+    public boolean mightContain(long cpfNumero) {
+        BloomFilter filter = current;
+        if (filter == null) {
+            notBuilt.increment();
+            return true;
+        }
+        if (!filter.mightContain(cpfNumero)) {
+            absent.increment();
+            return false;
+        }
+        mightBePresent.increment();
+        return true;
+    }
+
+    /**
+     * Record that the database did not find a CPF that {@link #mightContain} reported.
+     */
+    public void recordFalsePositive() {
+        if (current != null) {
+            falsePositives.increment();
+        }
+    }
+
+    /**
+     * Add a CPF about to be written. It is added before the transaction commits: if it rolls back, the CPF only
+     * stays as a false positive.
+     *
+     * @param cpfNumero a normalized CPF.
+     */
+    public void add(long cpfNumero) {
+        // building is read first: a rebuild sets current to the filter it built before it clears building, so the
+        // CPF reaches the new filter either way
+        BloomFilter filter = building;
+        if (filter != null) {
+            filter.put(cpfNumero);
+        }
+        filter = current;
+        if (filter != null) {
+            filter.put(cpfNumero);
+        }
+    }
+
+    /**
+     * Record the deletion of a pessoa.
+     */
+    public void recordDeletion() {
+        deleted.incrementAndGet();
+    }
+
+    /**
+     * Build the filter in the background once the application is started.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild the filter when it has become too imprecise.
+     */
+    @Scheduled(fixedDelayString = "${application.pessoa.cpf-filter.check-interval:PT1M}")
+    public void rebuildIfStale() {
+        BloomFilter filter = current;
+        if (filter != null && (deleted.get() > filter.entries() * MAX_DELETED_RATIO || filter.entries() > filter.expectedInsertions())) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Build a new filter from the table, sized for twice its rows, and replace the current one.
+     */
+    public synchronized void rebuild() {
+        ApplicationProperties.Pessoa.CpfFilter properties = applicationProperties.getPessoa().getCpfFilter();
+        long expectedInsertions = Math.max(properties.getExpectedInsertions(), 2 * pessoaRepository.count());
+        BloomFilter filter = new BloomFilter(expectedInsertions, properties.getFalsePositiveProbability());
+        long deletedBefore = deleted.get();
+        // CPFs written while the table is read go to both filters
+        building = filter;
+        try {
+            rebuildTimer.record(() ->
+                transactionTemplate.execute(status -> {
+                    try (Stream<String> cpfs = pessoaRepository.streamAllCpfs()) {
+                        // the CPF column is read, not cpf_numero, so pessoas not backfilled yet are included
+                        cpfs.map(Pessoa::normalizeCpf).filter(Objects::nonNull).forEach(filter::put);
+                    }
+                    return null;
+                })
+            );
+            current = filter;
+            deleted.addAndGet(-deletedBefore);
+            LOG.info(
+                "Built the CPF Bloom filter: {} CPFs, {} KiB, expected false positive probability {}",
+                filter.entries(),
+                filter.sizeInBytes() / 1024,
+                filter.expectedFalsePositiveProbability()
+            );
+        } catch (RuntimeException e) {
+            LOG.warn("Could not build the CPF Bloom filter", e);
+        } finally {
+            building = null;
+        }
+    }
+
+    /**
+     * A thread-safe Bloom filter of longs, with {@code k} bits per value derived by double hashing.
+     */
+    static final class BloomFilter {
+
+        private final AtomicLongArray words;
+
+        private final long bitCount;
+
+        private final int hashCount;
+
+        private final long expectedInsertions;
+
+        private final AtomicLong bitsSet = new AtomicLong();
+
+        private final AtomicLong entries = new AtomicLong();
+
+        BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+            double ln2 = Math.log(2);
+            long optimalBits = (long) Math.ceil((-expectedInsertions * Math.log(falsePositiveProbability)) / (ln2 * ln2));
+            this.words = new AtomicLongArray(Math.toIntExact(Math.max(1, (optimalBits + 63) / 64)));
+            this.bitCount = words.length() * 64L;
+            this.hashCount = Math.max(1, (int) Math.round(((double) bitCount / expectedInsertions) * ln2));
+            this.expectedInsertions = expectedInsertions;
+        }
+
+        void put(long value) {
+            long hash1 = mix(value);
+            long hash2 = mix(hash1) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                set(Math.floorMod(hash1 + i * hash2, bitCount));
+            }
+            entries.incrementAndGet();
+        }
+
+        boolean mightContain(long value) {
+            long hash1 = mix(value);
+            long hash2 = mix(hash1) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long index = Math.floorMod(hash1 + i * hash2, bitCount);
+                if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void set(long index) {
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long bits;
+            do {
+                bits = words.get(word);
+                if ((bits & mask) != 0) {
+                    return;
+                }
+            } while (!words.compareAndSet(word, bits, bits | mask));
+            bitsSet.incrementAndGet();
+        }
+
+        double expectedFalsePositiveProbability() {
+            return Math.pow((double) bitsSet.get() / bitCount, hashCount);
+        }
+
+        long entries() {
+            return entries.get();
+        }
+
+        long expectedInsertions() {
+            return expectedInsertions;
+        }
+
+        long sizeInBytes() {
+            return bitCount / 8;
+        }
+
+        /**
+         * SplitMix64 finalizer: CPFs are dense integers, so they have to be scrambled before picking bits.
+         */
+        private static long mix(long value) {
+            long z = value + 0x9E3779B97F4A7C15L;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
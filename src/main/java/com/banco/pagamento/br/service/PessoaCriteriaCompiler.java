@@ -0,0 +1,262 @@
+package com.banco.pagamento.br.service;
+
+import static com.banco.pagamento.br.repository.MatchAgainstFunctionContributor.MATCH_AGAINST;
+
+import com.banco.pagamento.br.config.ApplicationProperties;
+import com.banco.pagamento.br.domain.Pessoa;
+import com.banco.pagamento.br.domain.Pessoa_;
+import com.banco.pagamento.br.service.criteria.PessoaCriteria;
+import com.banco.pagamento.br.service.criteria.PessoaCriteriaKey;
+import com.banco.pagamento.br.service.criteria.PessoaCriteriaKey.Condition;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+/**
+ * Compiles {@link PessoaCriteria} into parameterized JPQL queries.
+ * <p>
+ * The query only depends on the shape of the criteria, that is which filters and operators are set, and on the
+ * sort: it is built once per shape and cached, and later criteria of the same shape only bind their values.
+ * Hibernate caches the plan of a JPQL query by its text, so the criteria tree of a {@link
+ * org.springframework.data.jpa.domain.Specification} is not rebuilt, nor translated to SQL again, for every request.
+ * <p>
+ * The criteria are applied as {@link tech.jhipster.service.QueryService} applies them. Sorts on unknown properties,
+ * or with a null handling, are not compiled, and are left to the specification.
+ * <p>
+ * When {@code application.pessoa.full-text-search.enabled} is set, a {@code contains} filter on the nome or the email
+ * whose term is long enough, and only made of letters and digits, is also matched against the n-gram full-text index
+ * of the field, which MySQL can use instead of scanning the table; the {@code like} still applies, so the result does
+ * not change. Other terms, shorter than an n-gram or that the n-gram parser would split, are left to the {@code like}.
+ * <p>
+ * The number of distinct shapes compiled is published as {@code pessoa.criteria.shapes}.
+ */
+@Service
+public class PessoaCriteriaCompiler {
+
+    /**
+     * Maximum number of cached templates; beyond it, queries are still compiled, but not cached.
+     */
+    static final int MAX_TEMPLATES = 1000;
+
+    /**
+     * Escape character of the {@code like} patterns built from values; a backslash would need escaping itself in MySQL.
+     */
+    public static final char LIKE_ESCAPE = '!';
+
+    private static final String ALIAS = "pessoa";
+
+    private static final Set<String> FULL_TEXT_FIELDS = Set.of(Pessoa_.NOME, Pessoa_.EMAIL);
+
+    private static final Set<String> SORTABLE = Set.of(
+        Pessoa_.ID,
+        Pessoa_.NOME,
+        Pessoa_.DT_NASCIMENTO,
+        Pessoa_.CPF,
+        Pessoa_.EMAIL,
+        Pessoa_.CREATED_BY,
+        Pessoa_.CREATED_DATE,
+        Pessoa_.LAST_MODIFIED_BY,
+        Pessoa_.LAST_MODIFIED_DATE
+    );
+
+    private final Map<String, Template> templates = new ConcurrentHashMap<>();
+
+    private final ApplicationProperties.Pessoa.FullTextSearch fullTextSearch;
+
+    public PessoaCriteriaCompiler(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.fullTextSearch = applicationProperties.getPessoa().getFullTextSearch();
+        Gauge.builder("pessoa.criteria.shapes", templates, Map::size)
+            .description("Distinct pessoa criteria shapes, with their sort, compiled to a query template")
+            .register(meterRegistry);
+    }
+
+    /**
+     * A compiled query.
+     *
+     * @param select the JPQL selecting the matching pessoas, in order.
+     * @param count the JPQL counting the matching pessoas.
+     * @param parameters the values of the positional parameters of both queries, from {@code ?1}.
+     */
+    public record CompiledQuery(String select, String count, List<Object> parameters) {
+        /**
+         * The select query, selecting some attributes of the pessoas instead of the entities.
+         *
+         * @param attributes the attributes to select.
+         * @return the JPQL selecting the values of the attributes, in order.
+         * @throws IllegalStateException if the criteria are distinct, as distinct would apply to the attributes.
+         */
+        public String select(List<String> attributes) {
+            String selectEntity = "select " + ALIAS;
+            if (!select.startsWith(selectEntity + " ")) {
+                throw new IllegalStateException("Cannot select the attributes of: " + select);
+            }
+            StringJoiner selection = new StringJoiner(", ", "select ", "");
+            for (String attribute : attributes) {
+                selection.add(ALIAS + "." + attribute);
+            }
+            return selection + select.substring(selectEntity.length());
+        }
+    }
+
+    private record Template(String select, String count) {}
+
+    /**
+     * Compile the criteria and the sort.
+     *
+     * @param criteria the criteria.
+     * @param sort the order of the pessoas.
+     * @return the compiled query, or empty if the criteria or the sort cannot be compiled.
+     */
+    public Optional<CompiledQuery> compile(PessoaCriteria criteria, Sort sort) {
+        if (!isCompilable(sort)) {
+            return Optional.empty();
+        }
+        List<Condition> conditions = PessoaCriteriaKey.conditions(criteria);
+        StringJoiner shape = new StringJoiner("&", "", "|" + sort);
+        List<Object> parameters = new ArrayList<>();
+        Set<String> fullTextFields = new HashSet<>();
+        for (Condition condition : conditions) {
+            switch (condition.operator()) {
+                // the value is part of the query
+                case "", "specified" -> shape.add(condition.name() + "=" + condition.value());
+                case "in", "notIn" -> {
+                    if (((List<?>) condition.value()).isEmpty()) {
+                        return Optional.empty();
+                    }
+                    shape.add(condition.name());
+                    parameters.add(condition.value());
+                }
+                case "contains" -> {
+                    String fullTextQuery = fullTextQuery(condition.field(), (String) condition.value());
+                    if (fullTextQuery != null) {
+                        shape.add(condition.name() + "~fullText");
+                        fullTextFields.add(condition.field());
+                        parameters.add(fullTextQuery);
+                    } else {
+                        shape.add(condition.name());
+                    }
+                    parameters.add("%" + condition.value() + "%");
+                }
+                case "doesNotContain" -> {
+                    shape.add(condition.name());
+                    parameters.add("%" + condition.value() + "%");
+                }
+                case "startsWith" -> {
+                    shape.add(condition.name());
+                    parameters.add(startsWithPattern((String) condition.value()));
+                }
+                default -> {
+                    shape.add(condition.name());
+                    parameters.add(condition.value());
+                }
+            }
+        }
+        String key = shape.toString();
+        Template template = templates.get(key);
+        if (template == null) {
+            template = compile(conditions, sort, fullTextFields);
+            if (templates.size() < MAX_TEMPLATES) {
+                templates.putIfAbsent(key, template);
+            }
+        }
+        return Optional.of(new CompiledQuery(template.select(), template.count(), List.copyOf(parameters)));
+    }
+
+    /**
+     * The full-text query matching the term of a {@code contains} filter, if it can be searched through the
+     * full-text index of the field.
+     *
+     * @param field the filtered attribute.
+     * @param contains the term of the filter.
+     * @return the boolean mode query of the term, or {@code null} if the term has to be searched with {@code like}.
+     */
+    public String fullTextQuery(String field, String contains) {
+        if (
+            !fullTextSearch.isEnabled() ||
+            !FULL_TEXT_FIELDS.contains(field) ||
+            contains.length() < fullTextSearch.getMinTermLength() ||
+            !contains.codePoints().allMatch(Character::isLetterOrDigit)
+        ) {
+            return null;
+        }
+        // a phrase: the n-grams of the term, in a row
+        return "\"" + contains + "\"";
+    }
+
+    /**
+     * The {@code like} pattern, escaped with {@link #LIKE_ESCAPE}, of the values starting with a prefix.
+     *
+     * @param prefix the prefix, matched literally.
+     * @return the pattern.
+     */
+    public static String startsWithPattern(String prefix) {
+        StringBuilder pattern = new StringBuilder(prefix.length() + 1);
+        for (char c : prefix.toCharArray()) {
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+                pattern.append(LIKE_ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+
+    private static boolean isCompilable(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!SORTABLE.contains(order.getProperty()) || order.getNullHandling() != Sort.NullHandling.NATIVE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Template compile(List<Condition> conditions, Sort sort, Set<String> fullTextFields) {
+        boolean distinct = false;
+        StringJoiner where = new StringJoiner(" and ", " where ", "").setEmptyValue("");
+        int parameter = 0;
+        for (Condition condition : conditions) {
+            if (PessoaCriteriaKey.DISTINCT.equals(condition.field())) {
+                distinct = true;
+                continue;
+            }
+            String path = ALIAS + "." + condition.field();
+            where.add(
+                switch (condition.operator()) {
+                    case "specified" -> path + (Boolean.TRUE.equals(condition.value()) ? " is not null" : " is null");
+                    case "equals" -> path + " = ?" + ++parameter;
+                    case "in" -> path + " in ?" + ++parameter;
+                    case "notEquals" -> path + " <> ?" + ++parameter;
+                    case "notIn" -> path + " not in ?" + ++parameter;
+                    case "greaterThan" -> path + " > ?" + ++parameter;
+                    case "greaterThanOrEqual" -> path + " >= ?" + ++parameter;
+                    case "lessThan" -> path + " < ?" + ++parameter;
+                    case "lessThanOrEqual" -> path + " <= ?" + ++parameter;
+                    case "contains" -> fullTextFields.contains(condition.field())
+                        ? MATCH_AGAINST + "(" + path + ", ?" + ++parameter + ") > 0 and upper(" + path + ") like ?" + ++parameter
+                        : "upper(" + path + ") like ?" + ++parameter;
+                    case "doesNotContain" -> "upper(" + path + ") not like ?" + ++parameter;
+                    case "startsWith" -> path + " like ?" + ++parameter + " escape '" + LIKE_ESCAPE + "'";
+                    default -> throw new IllegalArgumentException("Unknown operator: " + condition.operator());
+                }
+            );
+        }
+        StringJoiner orderBy = new StringJoiner(", ", " order by ", "").setEmptyValue("");
+        for (Sort.Order order : sort) {
+            String path = ALIAS + "." + order.getProperty();
+            orderBy.add((order.isIgnoreCase() ? "upper(" + path + ")" : path) + (order.isAscending() ? " asc" : " desc"));
+        }
+        String from = " from " + Pessoa.class.getSimpleName() + " " + ALIAS + where;
+        return new Template(
+            "select " + (distinct ? "distinct " : "") + ALIAS + from + orderBy,
+            "select count(" + (distinct ? "distinct " : "") + ALIAS + ")" + from
+        );
+    }
+}
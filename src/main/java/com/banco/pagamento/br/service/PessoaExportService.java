@@ -0,0 +1,165 @@
+package com.banco.pagamento.br.service;
+
+import com.banco.pagamento.br.service.criteria.PessoaCriteria;
+import com.banco.pagamento.br.service.criteria.PessoaFields;
+import com.banco.pagamento.br.service.csv.CsvWriter;
+import com.banco.pagamento.br.service.csv.PessoaCsvMapper;
+import com.banco.pagamento.br.service.dto.PessoaDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service for exporting {@link com.banco.pagamento.br.domain.Pessoa} entities matching a {@link PessoaCriteria}
+ * as NDJSON or CSV.
+ * <p>
+ * Rows are written to the output as they are read from the database, see
+ * {@link PessoaQueryService#exportByCriteria(PessoaCriteria, java.util.function.Consumer)}.
+ */
+@Service
+public class PessoaExportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PessoaExportService.class);
+
+    private final PessoaQueryService pessoaQueryService;
+
+    private final ObjectWriter pessoaWriter;
+
+    private final ObjectWriter rowWriter;
+
+    public PessoaExportService(PessoaQueryService pessoaQueryService, ObjectMapper objectMapper) {
+        this.pessoaQueryService = pessoaQueryService;
+        this.pessoaWriter = objectMapper
+            .writerFor(PessoaDTO.class)
+            .without(SerializationFeature.INDENT_OUTPUT)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .withRootValueSeparator("\n");
+        this.rowWriter = objectMapper
+            .writerFor(Map.class)
+            .without(SerializationFeature.INDENT_OUTPUT)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .withRootValueSeparator("\n");
+    }
+
+    /**
+     * Write the matching pessoas as newline delimited JSON, one {@link PessoaDTO} per line.
+     *
+     * @param criteria the criteria which the exported entities should match.
+     * @param output the output, which is left open.
+     * @return the number of exported entities.
+     * @throws IOException if the output cannot be written.
+     */
+    public long exportNdjson(PessoaCriteria criteria, OutputStream output) throws IOException {
+        LOG.debug("Request to export Pessoas as NDJSON : {}", criteria);
+        SequenceWriter sequenceWriter = pessoaWriter.writeValues(output);
+        long count = export(
+            consumer -> pessoaQueryService.exportByCriteria(criteria, consumer),
+            (PessoaDTO pessoaDTO) -> sequenceWriter.write(pessoaDTO)
+        );
+        return endNdjson(sequenceWriter, output, count);
+    }
+
+    /**
+     * Write some fields of the matching pessoas as newline delimited JSON, one object with these fields per line.
+     *
+     * @param criteria the criteria which the exported entities should match.
+     * @param fields the fields to export.
+     * @param output the output, which is left open.
+     * @return the number of exported entities.
+     * @throws IOException if the output cannot be written.
+     */
+    public long exportNdjson(PessoaCriteria criteria, PessoaFields fields, OutputStream output) throws IOException {
+        LOG.debug("Request to export the {} of Pessoas as NDJSON : {}", fields, criteria);
+        SequenceWriter sequenceWriter = rowWriter.writeValues(output);
+        long count = export(
+            consumer -> pessoaQueryService.exportByCriteria(criteria, fields, consumer),
+            (Map<String, Object> row) -> sequenceWriter.write(row)
+        );
+        return endNdjson(sequenceWriter, output, count);
+    }
+
+    private static long endNdjson(SequenceWriter sequenceWriter, OutputStream output, long count) throws IOException {
+        // flushes the pending content, the output itself is not closed
+        sequenceWriter.close();
+        if (count > 0) {
+            output.write('\n');
+        }
+        return count;
+    }
+
+    /**
+     * Write the matching pessoas as CSV, with a header row.
+     *
+     * @param criteria the criteria which the exported entities should match.
+     * @param output the output, which is left open.
+     * @param separator the field separator.
+     * @return the number of exported entities.
+     * @throws IOException if the output cannot be written.
+     */
+    public long exportCsv(PessoaCriteria criteria, OutputStream output, char separator) throws IOException {
+        LOG.debug("Request to export Pessoas as CSV : {}", criteria);
+        CsvWriter csvWriter = new CsvWriter(new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8)), separator);
+        csvWriter.writeRecord(PessoaCsvMapper.HEADER);
+        long count = export(
+            consumer -> pessoaQueryService.exportByCriteria(criteria, consumer),
+            (PessoaDTO pessoaDTO) -> csvWriter.writeRecord(PessoaCsvMapper.toRecord(pessoaDTO))
+        );
+        csvWriter.flush();
+        return count;
+    }
+
+    /**
+     * Write some fields of the matching pessoas as CSV, with a header row naming them.
+     *
+     * @param criteria the criteria which the exported entities should match.
+     * @param fields the fields to export.
+     * @param output the output, which is left open.
+     * @param separator the field separator.
+     * @return the number of exported entities.
+     * @throws IOException if the output cannot be written.
+     */
+    public long exportCsv(PessoaCriteria criteria, PessoaFields fields, OutputStream output, char separator) throws IOException {
+        LOG.debug("Request to export the {} of Pessoas as CSV : {}", fields, criteria);
+        CsvWriter csvWriter = new CsvWriter(new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8)), separator);
+        csvWriter.writeRecord(PessoaCsvMapper.header(fields.getFields()));
+        long count = export(
+            consumer -> pessoaQueryService.exportByCriteria(criteria, fields, consumer),
+            (Map<String, Object> row) -> csvWriter.writeRecord(PessoaCsvMapper.toRecord(row))
+        );
+        csvWriter.flush();
+        return count;
+    }
+
+    private static <T> long export(ToLongFunction<Consumer<T>> exporter, RowWriter<T> rowWriter) throws IOException {
+        try {
+            return exporter.applyAsLong(row -> {
+                try {
+                    rowWriter.write(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(T row) throws IOException;
+    }
+}
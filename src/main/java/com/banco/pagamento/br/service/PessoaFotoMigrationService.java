@@ -0,0 +1,98 @@
+package com.banco.pagamento.br.service;
+
+import com.banco.pagamento.br.config.ApplicationProperties;
+import com.banco.pagamento.br.domain.PessoaFoto;
+import com.banco.pagamento.br.repository.PessoaFotoRepository;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service moving the photos still stored in the {@code pessoa.foto} column to the {@link PessoaFotoStore}.
+ * <p>
+ * Photos are moved in batches, one transaction per batch: each photo is stored, then its hash is recorded and
+ * the column emptied, and its thumbnail is generated once the batch commits. The migration can be interrupted and
+ * started again at any time.
+ */
+@Service
+public class PessoaFotoMigrationService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PessoaFotoMigrationService.class);
+
+    private final PessoaFotoRepository pessoaFotoRepository;
+
+    private final PessoaFotoStore pessoaFotoStore;
+
+    private final PessoaFotoThumbnailService pessoaFotoThumbnailService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final Cache pessoaByIdCache;
+
+    public PessoaFotoMigrationService(
+        PessoaFotoRepository pessoaFotoRepository,
+        PessoaFotoStore pessoaFotoStore,
+        PessoaFotoThumbnailService pessoaFotoThumbnailService,
+        TransactionTemplate transactionTemplate,
+        ApplicationProperties applicationProperties,
+        CacheManager cacheManager
+    ) {
+        this.pessoaFotoRepository = pessoaFotoRepository;
+        this.pessoaFotoStore = pessoaFotoStore;
+        this.pessoaFotoThumbnailService = pessoaFotoThumbnailService;
+        this.transactionTemplate = transactionTemplate;
+        this.applicationProperties = applicationProperties;
+        this.pessoaByIdCache = cacheManager.getCache(PessoaService.PESSOA_BY_ID_CACHE);
+    }
+
+    /**
+     * Run the migration in the background once the application is started, when it is enabled.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (applicationProperties.getPessoa().getFoto().getMigration().isEnabled()) {
+            migrateAll();
+        }
+    }
+
+    /**
+     * Move all the photos still stored in the database.
+     *
+     * @return the number of moved photos.
+     */
+    public long migrateAll() {
+        int batchSize = applicationProperties.getPessoa().getFoto().getMigration().getBatchSize();
+        LOG.info("Moving Pessoa fotos to the foto store, {} per batch", batchSize);
+        long total = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> migrateBatch(batchSize));
+            total += moved;
+            LOG.debug("Moved {} Pessoa fotos", total);
+        } while (moved == batchSize);
+        LOG.info("Moved {} Pessoa fotos to the foto store", total);
+        return total;
+    }
+
+    private int migrateBatch(int batchSize) {
+        List<PessoaFoto> pessoaFotos = pessoaFotoRepository.findAllWithFoto(Limit.of(batchSize));
+        for (PessoaFoto pessoaFoto : pessoaFotos) {
+            String fotoHash = pessoaFotoStore.store(pessoaFoto.getFoto());
+            pessoaFotoRepository.moveFoto(pessoaFoto.getId(), fotoHash);
+            pessoaByIdCache.evict(pessoaFoto.getId());
+            pessoaFotoThumbnailService.generateAfterCommit(fotoHash);
+        }
+        return pessoaFotos.size();
+    }
+}
@@ -0,0 +1,70 @@
+package com.banco.pagamento.br.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.util.OptionalLong;
+
+/**
+ * Content-addressed store for the photos of {@link com.banco.pagamento.br.domain.Pessoa}.
+ * <p>
+ * Photos are keyed by the lowercase hex SHA-256 of their content, so identical photos are only stored once and
+ * a stored photo never changes. Photos are never removed, as other pessoas may share them.
+ * <p>
+ * Content derived from a photo, such as a thumbnail, is stored next to it under a {@link #variantKey variant key}.
+ */
+public interface PessoaFotoStore {
+    /**
+     * @param hash the key of a photo.
+     * @param variant the name of the variant, lowercase letters and digits.
+     * @return the key of the variant of the photo.
+     */
+    static String variantKey(String hash, String variant) {
+        return hash + "-" + variant;
+    }
+
+    /**
+     * Store a photo, unless the same content is already stored.
+     *
+     * @param content the photo.
+     * @return the SHA-256 of the photo, its key in the store.
+     * @throws java.io.UncheckedIOException if the photo cannot be written.
+     */
+    String store(byte[] content);
+
+    /**
+     * Store a variant of a photo, replacing the one already stored.
+     *
+     * @param key the {@link #variantKey variant key}.
+     * @param content the variant.
+     * @throws IllegalArgumentException if the key is not a variant key.
+     * @throws java.io.UncheckedIOException if the variant cannot be written.
+     */
+    void store(String key, byte[] content);
+
+    /**
+     * @param key the key of the photo or variant.
+     * @return the size of the photo or variant in bytes, empty if it is not stored.
+     * @throws IllegalArgumentException if the key is not valid.
+     */
+    OptionalLong size(String key);
+
+    /**
+     * @param key the key of the photo or variant.
+     * @return a stream reading the photo or variant, to be closed by the caller.
+     * @throws java.nio.file.NoSuchFileException if it is not stored.
+     * @throws IOException if it cannot be read.
+     */
+    InputStream newInputStream(String key) throws IOException;
+
+    /**
+     * Copy a range of a stored photo to a channel, without going through the heap when the store allows it.
+     *
+     * @param key the key of the photo or variant.
+     * @param position the position of the first byte to copy.
+     * @param count the number of bytes to copy.
+     * @param target the channel to copy to, which is left open.
+     * @throws IOException if the photo cannot be read or the channel cannot be written.
+     */
+    void transferTo(String key, long position, long count, WritableByteChannel target) throws IOException;
+}
@@ -0,0 +1,232 @@
+package com.banco.pagamento.br.service;
+
+import com.banco.pagamento.br.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.NoSuchFileException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service generating the square thumbnails of the photos of {@link com.banco.pagamento.br.domain.Pessoa}.
+ * <p>
+ * Thumbnails are stored in the {@link PessoaFotoStore} as a variant of their photo, so they are generated once per
+ * photo content. They are generated in the background once the transaction storing the photo commits, on a bounded
+ * pool: when its queue is full, the saving thread generates the thumbnail itself, which slows down the writers
+ * instead of piling up work. Thumbnails that are not generated yet are generated on the same pool when first read, and
+ * a photo whose thumbnail is being generated is not decoded again by the other readers: they wait for the same
+ * generation.
+ */
+@Service
+public class PessoaFotoThumbnailService implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PessoaFotoThumbnailService.class);
+
+    private final PessoaFotoStore pessoaFotoStore;
+
+    private final int size;
+
+    private final ThreadPoolTaskExecutor executor;
+
+    /**
+     * The generations submitted and not finished yet, by photo hash.
+     */
+    private final ConcurrentMap<String, CompletableFuture<OptionalLong>> generations = new ConcurrentHashMap<>();
+
+    public PessoaFotoThumbnailService(
+        PessoaFotoStore pessoaFotoStore,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.pessoaFotoStore = pessoaFotoStore;
+        ApplicationProperties.Pessoa.Foto.Thumbnail thumbnail = applicationProperties.getPessoa().getFoto().getThumbnail();
+        this.size = thumbnail.getSize();
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(thumbnail.getPoolSize());
+        executor.setMaxPoolSize(thumbnail.getPoolSize());
+        executor.setQueueCapacity(thumbnail.getQueueCapacity());
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("pessoa-thumbnail-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), "pessoa.foto.thumbnail", List.of()).bindTo(meterRegistry);
+    }
+
+    /**
+     * @param fotoHash the hash of the photo.
+     * @return the key of its thumbnail in the {@link PessoaFotoStore}.
+     */
+    public String thumbnailKey(String fotoHash) {
+        return PessoaFotoStore.variantKey(fotoHash, "thumb" + size);
+    }
+
+    /**
+     * Generate the thumbnail of a photo in the background, once the current transaction commits.
+     *
+     * @param fotoHash the hash of the stored photo.
+     */
+    public void generateAfterCommit(String fotoHash) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        submit(fotoHash);
+                    }
+                }
+            );
+        } else {
+            submit(fotoHash);
+        }
+    }
+
+    private void submit(String fotoHash) {
+        findOrGenerate(fotoHash).exceptionally(e -> {
+            LOG.warn("Could not generate the thumbnail of foto {}", fotoHash, e);
+            return OptionalLong.empty();
+        });
+    }
+
+    /**
+     * Get the thumbnail of a photo, generating it on the thumbnail pool if needed. Concurrent calls for a photo whose
+     * thumbnail is being generated get the same generation.
+     *
+     * @param fotoHash the hash of the photo.
+     * @return the size of the thumbnail stored under {@link #thumbnailKey}, once stored; empty if the photo is not
+     * stored or is not an image.
+     */
+    public CompletableFuture<OptionalLong> findOrGenerate(String fotoHash) {
+        OptionalLong thumbnailSize = pessoaFotoStore.size(thumbnailKey(fotoHash));
+        if (thumbnailSize.isPresent()) {
+            return CompletableFuture.completedFuture(thumbnailSize);
+        }
+        CompletableFuture<OptionalLong> generation = new CompletableFuture<>();
+        CompletableFuture<OptionalLong> pending = generations.putIfAbsent(fotoHash, generation);
+        if (pending != null) {
+            return pending;
+        }
+        // outside of the map update: when the queue is full, the calling thread generates the thumbnail itself
+        executor.execute(() -> {
+            try {
+                generation.complete(generate(fotoHash));
+            } catch (Throwable e) {
+                generation.completeExceptionally(e);
+            } finally {
+                generations.remove(fotoHash, generation);
+            }
+        });
+        return generation;
+    }
+
+    private OptionalLong generate(String fotoHash) {
+        String key = thumbnailKey(fotoHash);
+        // it may have been stored by a generation that finished since it was looked up
+        OptionalLong thumbnailSize = pessoaFotoStore.size(key);
+        if (thumbnailSize.isPresent()) {
+            return thumbnailSize;
+        }
+        BufferedImage image;
+        try (InputStream input = pessoaFotoStore.newInputStream(fotoHash)) {
+            image = read(input);
+        } catch (NoSuchFileException e) {
+            return OptionalLong.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read foto " + fotoHash, e);
+        }
+        if (image == null) {
+            LOG.debug("Foto {} is not a readable image", fotoHash);
+            return OptionalLong.empty();
+        }
+        byte[] thumbnail = toJpeg(scale(image));
+        pessoaFotoStore.store(key, thumbnail);
+        LOG.debug("Generated thumbnail {} ({} bytes)", key, thumbnail.length);
+        return OptionalLong.of(thumbnail.length);
+    }
+
+    /**
+     * Decode the image, skipping rows and columns of large images: the thumbnail is scaled from at most twice its
+     * size, so decoding every pixel of a camera photo would only waste memory.
+     */
+    private BufferedImage read(InputStream input) throws IOException {
+        try (ImageInputStream imageInput = new MemoryCacheImageInputStream(input)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInput);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInput, true, true);
+                int subsampling = Math.max(1, Math.min(reader.getWidth(0), reader.getHeight(0)) / (2 * size));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } catch (IOException | RuntimeException e) {
+                LOG.debug("Could not decode image: {}", e.getMessage());
+                return null;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Crop the centered square of the image and scale it to the thumbnail size, on a white background.
+     */
+    private BufferedImage scale(BufferedImage image) {
+        int side = Math.min(image.getWidth(), image.getHeight());
+        int x = (image.getWidth() - side) / 2;
+        int y = (image.getHeight() - side) / 2;
+        BufferedImage thumbnail = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, size, size, x, y, x + side, y + side, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return thumbnail;
+    }
+
+    private static byte[] toJpeg(BufferedImage image) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "jpg", output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,212 @@
+package com.banco.pagamento.br.service;
+
+import com.banco.pagamento.br.config.ApplicationProperties;
+import com.banco.pagamento.br.service.csv.CsvReader;
+import com.banco.pagamento.br.service.csv.PessoaCsvMapper;
+import com.banco.pagamento.br.service.dto.PessoaDTO;
+import com.banco.pagamento.br.service.dto.PessoaImportResultDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service for bulk importing {@link com.banco.pagamento.br.domain.Pessoa} entities from NDJSON or CSV content.
+ * <p>
+ * The content is read as a stream, one row at a time, and valid rows are written in chunks: each chunk is saved
+ * in its own transaction through {@link PessoaService#saveAll(List)}. If a chunk is rejected by the database, its
+ * rows are retried one by one so the failing rows can be reported while the others are still imported.
+ */
+@Service
+public class PessoaImportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PessoaImportService.class);
+
+    private final PessoaService pessoaService;
+
+    private final Validator validator;
+
+    private final ObjectReader pessoaReader;
+
+    private final ApplicationProperties applicationProperties;
+
+    public PessoaImportService(
+        PessoaService pessoaService,
+        Validator validator,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties
+    ) {
+        this.pessoaService = pessoaService;
+        this.validator = validator;
+        this.pessoaReader = objectMapper.readerFor(PessoaDTO.class);
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Import pessoas from newline delimited JSON content, one {@link PessoaDTO} per line.
+     *
+     * @param content the NDJSON content.
+     * @return the import report.
+     * @throws IOException if the content cannot be read.
+     */
+    public PessoaImportResultDTO importNdjson(InputStream content) throws IOException {
+        LOG.debug("Request to import Pessoas from NDJSON");
+        Importer importer = new Importer();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(content, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    importer.add(lineNumber, pessoaReader.readValue(line));
+                } catch (JsonProcessingException e) {
+                    importer.reject(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+        }
+        return importer.finish();
+    }
+
+    /**
+     * Import pessoas from CSV content. The first record must be a header naming the columns.
+     *
+     * @param content the CSV content.
+     * @param separator the field separator.
+     * @return the import report.
+     * @throws IOException if the content cannot be read.
+     * @throws IllegalArgumentException if the header is missing or lacks a mandatory column.
+     */
+    public PessoaImportResultDTO importCsv(InputStream content, char separator) throws IOException {
+        LOG.debug("Request to import Pessoas from CSV");
+        Importer importer = new Importer();
+        try (CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(content, StandardCharsets.UTF_8)), separator)) {
+            List<String> header = reader.readRecord();
+            if (header == null) {
+                throw new IllegalArgumentException("Missing CSV header");
+            }
+            PessoaCsvMapper mapper = PessoaCsvMapper.fromHeader(header);
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                try {
+                    importer.add(reader.getRecordLine(), mapper.toDto(record));
+                } catch (IllegalArgumentException e) {
+                    importer.reject(reader.getRecordLine(), e.getMessage());
+                }
+            }
+        }
+        return importer.finish();
+    }
+
+    /**
+     * Accumulates valid rows into chunks and keeps track of the import report.
+     */
+    private final class Importer {
+
+        private final int chunkSize = Math.max(1, applicationProperties.getPessoa().getBulkImport().getChunkSize());
+
+        private final int maxReportedErrors = applicationProperties.getPessoa().getBulkImport().getMaxReportedErrors();
+
+        private final PessoaImportResultDTO result = new PessoaImportResultDTO();
+
+        private final List<PessoaDTO> chunk = new ArrayList<>(chunkSize);
+
+        private final List<Long> chunkLines = new ArrayList<>(chunkSize);
+
+        void add(long line, PessoaDTO pessoaDTO) {
+            result.setTotal(result.getTotal() + 1);
+            String error = validate(pessoaDTO);
+            if (error != null) {
+                fail(line, error);
+                return;
+            }
+            chunk.add(pessoaDTO);
+            chunkLines.add(line);
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(long line, String message) {
+            result.setTotal(result.getTotal() + 1);
+            fail(line, message);
+        }
+
+        PessoaImportResultDTO finish() {
+            flush();
+            LOG.debug("Imported {} of {} Pessoas", result.getImported(), result.getTotal());
+            return result;
+        }
+
+        private String validate(PessoaDTO pessoaDTO) {
+            if (pessoaDTO == null) {
+                return "Empty row";
+            }
+            if (pessoaDTO.getId() != null) {
+                return "A new pessoa cannot already have an ID";
+            }
+            Set<ConstraintViolation<PessoaDTO>> violations = validator.validate(pessoaDTO);
+            if (violations.isEmpty()) {
+                return null;
+            }
+            return violations
+                .stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                pessoaService.saveAll(chunk);
+                result.setImported(result.getImported() + chunk.size());
+            } catch (DataIntegrityViolationException | CpfAlreadyUsedException e) {
+                LOG.debug("Chunk rejected by the database, retrying its {} rows one by one", chunk.size());
+                for (int i = 0; i < chunk.size(); i++) {
+                    saveSingle(chunkLines.get(i), chunk.get(i));
+                }
+            }
+            chunk.clear();
+            chunkLines.clear();
+        }
+
+        private void saveSingle(long line, PessoaDTO pessoaDTO) {
+            try {
+                pessoaService.save(pessoaDTO);
+                result.setImported(result.getImported() + 1);
+            } catch (CpfAlreadyUsedException e) {
+                fail(line, "CPF already used by another pessoa");
+            } catch (DataIntegrityViolationException e) {
+                fail(line, "Row violates a database constraint (e.g. duplicate cpf)");
+            }
+        }
+
+        private void fail(long line, String message) {
+            result.setFailed(result.getFailed() + 1);
+            if (result.getErrors().size() < maxReportedErrors) {
+                result.getErrors().add(new PessoaImportResultDTO.RowError(line, message));
+            } else {
+                result.setErrorsTruncated(true);
+            }
+        }
+    }
+}
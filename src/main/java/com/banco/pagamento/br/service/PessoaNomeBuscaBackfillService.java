@@ -0,0 +1,79 @@
+package com.banco.pagamento.br.service;
+
+import com.banco.pagamento.br.config.ApplicationProperties;
+import com.banco.pagamento.br.domain.Pessoa;
+import com.banco.pagamento.br.repository.PessoaRepository;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service filling {@link Pessoa#getNomeBusca()} for the pessoas saved before it existed, with {@link PessoaBackfill}.
+ */
+@Service
+public class PessoaNomeBuscaBackfillService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PessoaNomeBuscaBackfillService.class);
+
+    private final PessoaRepository pessoaRepository;
+
+    private final PessoaBackfill pessoaBackfill;
+
+    private final ApplicationProperties applicationProperties;
+
+    public PessoaNomeBuscaBackfillService(
+        PessoaRepository pessoaRepository,
+        PessoaBackfill pessoaBackfill,
+        ApplicationProperties applicationProperties
+    ) {
+        this.pessoaRepository = pessoaRepository;
+        this.pessoaBackfill = pessoaBackfill;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Run the backfill in the background once the application is started, when it is enabled.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (applicationProperties.getPessoa().getNomeBuscaBackfill().isEnabled()) {
+            backfillAll();
+        }
+    }
+
+    /**
+     * Fill the normalized nome of all the pessoas that have none.
+     *
+     * @return the number of updated pessoas.
+     */
+    public long backfillAll() {
+        long total = pessoaBackfill.backfill(
+            "nome_busca",
+            applicationProperties.getPessoa().getNomeBuscaBackfill().getBatchSize(),
+            pessoaRepository::findByNomeBuscaIsNullAndIdGreaterThanOrderById,
+            PessoaNomeBuscaBackfillService::nomesBusca
+        );
+        if (total > 0) {
+            LOG.info("Filled the normalized nome of {} Pessoas", total);
+        }
+        return total;
+    }
+
+    private static Map<Long, String> nomesBusca(List<Pessoa> pessoas) {
+        Map<Long, String> nomeBuscaById = new LinkedHashMap<>();
+        for (Pessoa pessoa : pessoas) {
+            String nomeBusca = Pessoa.normalizeNome(pessoa.getNome());
+            if (nomeBusca != null) {
+                nomeBuscaById.put(pessoa.getId(), nomeBusca);
+            }
+        }
+        return nomeBuscaById;
+    }
+}
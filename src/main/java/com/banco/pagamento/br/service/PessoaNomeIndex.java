@@ -0,0 +1,296 @@
+package com.banco.pagamento.br.service;
+
+import com.banco.pagamento.br.domain.Pessoa;
+import com.banco.pagamento.br.repository.PessoaRepository;
+import com.banco.pagamento.br.service.dto.PessoaSuggestionDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * In-memory prefix index over the nomes of the {@link Pessoa} table, for type-ahead suggestions.
+ * <p>
+ * Nomes are normalized (accents and punctuation removed, lower-cased), and every word of a nome starts a key,
+ * so a prefix finds the pessoas having a word starting with it. The keys are held in a sorted concurrent map: a
+ * prefix is a range of keys, read without locking while the index is updated.
+ * <p>
+ * The index is loaded from the table once the application is started, and every pessoa written through Hibernate is
+ * put in, or removed from, the index once its transaction commits. Pessoas written by other instances, or by bulk
+ * or native queries, are only seen by the next startup.
+ */
+@Service
+public class PessoaNomeIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PessoaNomeIndex.class);
+
+    private static final Pattern NOT_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final PessoaRepository pessoaRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Timer loadTimer;
+
+    private final NomeIndex index = new NomeIndex();
+
+    public PessoaNomeIndex(
+        PessoaRepository pessoaRepository,
+        TransactionTemplate transactionTemplate,
+        EntityManagerFactory entityManagerFactory,
+        MeterRegistry meterRegistry
+    ) {
+        this.pessoaRepository = pessoaRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.loadTimer = Timer.builder("pessoa.nome.index.load").description("Time to load the pessoa nome index").register(meterRegistry);
+        Gauge.builder("pessoa.nome.index.entries", index, NomeIndex::size)
+            .description("Pessoas in the nome index of the suggestions")
+            .register(meterRegistry);
+        IndexListener listener = new IndexListener();
+        EventListenerRegistry registry = entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+    }
+
+    /**
+     * Suggest the pessoas having a word of their nome starting with the query, ordered by the nome from that word.
+     *
+     * @param query the beginning of a word of the nome, or of several words; case and accents are ignored.
+     * @param limit the maximum number of suggestions.
+     * @return the suggestions, empty if the query has no letter or digit.
+     */
+    public List<PessoaSuggestionDTO> suggest(String query, int limit) {
+        return index.suggest(query, limit);
+    }
+
+    /**
+     * Load the index in the background once the application is started.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        load();
+    }
+
+    /**
+     * Load every pessoa of the table in the index. Pessoas written meanwhile keep the state they were written with.
+     */
+    public synchronized void load() {
+        index.startLoading();
+        try {
+            loadTimer.record(() ->
+                transactionTemplate.execute(status -> {
+                    try (Stream<Object[]> nomes = pessoaRepository.streamAllNomes()) {
+                        nomes.forEach(row -> index.load((Long) row[0], (String) row[1]));
+                    }
+                    return null;
+                })
+            );
+            LOG.info("Loaded the pessoa nome index: {} pessoas", index.size());
+        } catch (RuntimeException e) {
+            LOG.warn("Could not load the pessoa nome index", e);
+        } finally {
+            index.stopLoading();
+        }
+    }
+
+    /**
+     * Normalize a nome, or a query, for the index: accents removed, lower-cased, with single spaces between words
+     * and no other punctuation.
+     */
+    static String normalize(String nome) {
+        return NOT_WORD.matcher(Pessoa.normalizeNome(nome)).replaceAll(" ").strip();
+    }
+
+    /**
+     * The nome index: a sorted map from each word of each normalized nome, followed by the rest of the nome and the
+     * id, to the pessoa.
+     */
+    static final class NomeIndex {
+
+        /**
+         * Separates the nome from the id in the keys; it sorts before any character of a nome.
+         */
+        private static final char SEPARATOR = '\u0000';
+
+        private final ConcurrentSkipListMap<String, Entry> keys = new ConcurrentSkipListMap<>();
+
+        private final ConcurrentHashMap<Long, Entry> pessoas = new ConcurrentHashMap<>();
+
+        /**
+         * Pessoas removed while the index is loaded, which the load must not put back.
+         */
+        private volatile Set<Long> removedWhileLoading;
+
+        void put(Long id, String nome) {
+            // compute locks the id, so concurrent writes of a pessoa do not mix their keys
+            pessoas.compute(id, (key, previous) -> {
+                if (previous != null) {
+                    removeKeys(previous);
+                }
+                Entry entry = new Entry(id, nome);
+                addKeys(entry);
+                return entry;
+            });
+        }
+
+        void remove(Long id) {
+            Set<Long> removed = removedWhileLoading;
+            if (removed != null) {
+                removed.add(id);
+            }
+            pessoas.computeIfPresent(id, (key, previous) -> {
+                removeKeys(previous);
+                return null;
+            });
+        }
+
+        /**
+         * Put a pessoa read from the table, unless it was written or removed since.
+         */
+        void load(Long id, String nome) {
+            Set<Long> removed = removedWhileLoading;
+            if (removed != null && removed.contains(id)) {
+                return;
+            }
+            pessoas.computeIfAbsent(id, key -> {
+                Entry entry = new Entry(id, nome);
+                addKeys(entry);
+                return entry;
+            });
+        }
+
+        void startLoading() {
+            removedWhileLoading = ConcurrentHashMap.newKeySet();
+        }
+
+        void stopLoading() {
+            removedWhileLoading = null;
+        }
+
+        List<PessoaSuggestionDTO> suggest(String query, int limit) {
+            String prefix = normalize(query);
+            if (prefix.isEmpty()) {
+                return List.of();
+            }
+            Map<Long, PessoaSuggestionDTO> suggestions = new LinkedHashMap<>();
+            for (Entry entry : keys.subMap(prefix, prefix + Character.MAX_VALUE).values()) {
+                // a pessoa has a key per word, several of which may start with the prefix
+                suggestions.computeIfAbsent(entry.id(), id -> new PessoaSuggestionDTO(id, entry.nome()));
+                if (suggestions.size() >= limit) {
+                    break;
+                }
+            }
+            return List.copyOf(suggestions.values());
+        }
+
+        int size() {
+            return pessoas.size();
+        }
+
+        private record Entry(Long id, String nome) {}
+
+        private void addKeys(Entry entry) {
+            for (String key : keys(entry)) {
+                keys.put(key, entry);
+            }
+        }
+
+        private void removeKeys(Entry entry) {
+            for (String key : keys(entry)) {
+                keys.remove(key);
+            }
+        }
+
+        private static List<String> keys(Entry entry) {
+            List<String> keys = new ArrayList<>();
+            String nome = entry.nome() == null ? "" : normalize(entry.nome());
+            if (nome.isEmpty()) {
+                return keys;
+            }
+            String suffix = SEPARATOR + entry.id().toString();
+            keys.add(nome + suffix);
+            for (int space = nome.indexOf(' '); space >= 0; space = nome.indexOf(' ', space + 1)) {
+                keys.add(nome.substring(space + 1) + suffix);
+            }
+            return keys;
+        }
+    }
+
+    /**
+     * Updates the index once a transaction writing a pessoa commits.
+     */
+    private final class IndexListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return persister.getMappedClass() == Pessoa.class;
+        }
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            if (event.getEntity() instanceof Pessoa pessoa) {
+                index.put(pessoa.getId(), pessoa.getNome());
+            }
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+            // nothing was written
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            if (event.getEntity() instanceof Pessoa pessoa) {
+                index.put(pessoa.getId(), pessoa.getNome());
+            }
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+            // nothing was written
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            if (event.getEntity() instanceof Pessoa pessoa) {
+                index.remove(pessoa.getId());
+            }
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+            // nothing was written
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.banco.pagamento.br.service;
+
+import com.banco.pagamento.br.config.ApplicationProperties;
+import com.banco.pagamento.br.domain.Pessoa;
+import com.banco.pagamento.br.service.criteria.PessoaCriteriaKey;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+/**
+ * Cache of the results of {@link PessoaQueryService}, keyed by the canonical form of the criteria and the page.
+ * <p>
+ * Every key holds the version of the pessoa table, which is incremented once each transaction writing a pessoa
+ * commits: a write makes all the cached results unreachable at once, and they are then evicted by size or age.
+ * The cache is bounded by the number of pessoas it holds, and its entries expire after a time to live in any case,
+ * since writes made by other instances, or that bypass Hibernate (bulk or native queries), do not change the version.
+ * <p>
+ * Besides the usual {@code cache.*} statistics of the whole cache, hits and misses are counted per criteria shape
+ * (the filtered fields and operators) in {@code pessoa.query.cache.requests}.
+ */
+@Service
+public class PessoaQueryCache {
+
+    public static final String CACHE_NAME = "pessoaQueries";
+
+    /**
+     * Shape of the requests counted once {@code application.pessoa.query.cache.max-shapes} shapes are tracked.
+     */
+    static final String OTHER_SHAPE = "other";
+
+    private final ApplicationProperties.Pessoa.Query.Cache properties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Cache<Key, Object> cache;
+
+    private final AtomicLong version = new AtomicLong();
+
+    private final Map<String, Counter[]> requestsByShape = new ConcurrentHashMap<>();
+
+    public PessoaQueryCache(ApplicationProperties applicationProperties, MeterRegistry meterRegistry, EntityManagerFactory entityManagerFactory) {
+        this.properties = applicationProperties.getPessoa().getQuery().getCache();
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(properties.getMaximumRows())
+            .weigher(PessoaQueryCache::weigh)
+            .expireAfterWrite(properties.getTimeToLive())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        VersionListener listener = new VersionListener();
+        EventListenerRegistry registry = entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+    }
+
+    /**
+     * @return whether the results are cached.
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Get a cached result, or load and cache it.
+     *
+     * @param kind the kind of result, e.g. {@code count}.
+     * @param criteria the canonical criteria.
+     * @param page the canonical page, empty if the result is not paged.
+     * @param loader the loader of the result.
+     * @return the result.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String kind, PessoaCriteriaKey criteria, String page, Supplier<T> loader) {
+        // read before loading: a write committed meanwhile makes the loaded result unreachable, not stale
+        Key key = new Key(version.get(), kind, criteria.canonical(), page);
+        Counter[] requests = requests(criteria.shape());
+        Object result = cache.getIfPresent(key);
+        if (result != null) {
+            requests[0].increment();
+            return (T) result;
+        }
+        requests[1].increment();
+        T loaded = loader.get();
+        cache.put(key, loaded);
+        return loaded;
+    }
+
+    /**
+     * @return the version of the pessoa table, incremented by every committed write.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Make all the cached results unreachable.
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    private Counter[] requests(String shape) {
+        Counter[] requests = requestsByShape.get(shape);
+        if (requests != null) {
+            return requests;
+        }
+        if (requestsByShape.size() >= properties.getMaxShapes()) {
+            shape = OTHER_SHAPE;
+        }
+        return requestsByShape.computeIfAbsent(shape, name ->
+            new Counter[] { requestCounter(name, "hit"), requestCounter(name, "miss") }
+        );
+    }
+
+    private Counter requestCounter(String shape, String result) {
+        return Counter.builder("pessoa.query.cache.requests")
+            .description("Criteria queries answered by the pessoa query cache, per criteria shape")
+            .tag("shape", shape)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private static int weigh(Key key, Object value) {
+        return value instanceof Slice<?> slice ? slice.getNumberOfElements() + 1 : 1;
+    }
+
+    private record Key(long version, String kind, String criteria, String page) {}
+
+    /**
+     * Increments the version once a transaction writing a pessoa commits.
+     */
+    private final class VersionListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return persister.getMappedClass() == Pessoa.class;
+        }
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            if (event.getEntity() instanceof Pessoa) {
+                invalidate();
+            }
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+            // nothing was written
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            if (event.getEntity() instanceof Pessoa) {
+                invalidate();
+            }
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+            // nothing was written
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            if (event.getEntity() instanceof Pessoa) {
+                invalidate();
+            }
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+            // nothing was written
+        }
+    }
+}
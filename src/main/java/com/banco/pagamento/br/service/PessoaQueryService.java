@@ -1,19 +1,67 @@
 package com.banco.pagamento.br.service;
 
+import static com.banco.pagamento.br.repository.MatchAgainstFunctionContributor.MATCH_AGAINST;
+
+import com.banco.pagamento.br.config.ApplicationProperties;
 import com.banco.pagamento.br.domain.*; // for static metamodels
 import com.banco.pagamento.br.domain.Pessoa;
 import com.banco.pagamento.br.repository.PessoaRepository;
+import com.banco.pagamento.br.service.criteria.NomeFilter;
 import com.banco.pagamento.br.service.criteria.PessoaCriteria;
+import com.banco.pagamento.br.service.criteria.PessoaCriteriaKey;
+import com.banco.pagamento.br.service.criteria.PessoaFields;
+import com.banco.pagamento.br.service.criteria.PessoaKeysetCursor;
 import com.banco.pagamento.br.service.dto.PessoaDTO;
 import com.banco.pagamento.br.service.mapper.PessoaMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.metamodel.SingularAttribute;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionTemplate;
 import tech.jhipster.service.QueryService;
+import tech.jhipster.service.filter.StringFilter;
 
 /**
  * Service for executing complex queries for {@link Pessoa} entities in the database.
@@ -23,21 +71,83 @@ import tech.jhipster.service.QueryService;
  */
 @Service
 @Transactional(readOnly = true)
-public class PessoaQueryService extends QueryService<Pessoa> {
+public class PessoaQueryService extends QueryService<Pessoa> implements DisposableBean {
 
     private static final Logger LOG = LoggerFactory.getLogger(PessoaQueryService.class);
 
+    /**
+     * The last day of the year, December 31, as {@code month * 100 + day}.
+     */
+    private static final int LAST_MES_DIA = 1231;
+
+    /**
+     * Canceller set in place of the one of a parallel count which is no longer needed, before the count starts.
+     */
+    private static final Runnable COUNT_CANCELLED = () -> {};
+
     private final PessoaRepository pessoaRepository;
 
     private final PessoaMapper pessoaMapper;
 
-    public PessoaQueryService(PessoaRepository pessoaRepository, PessoaMapper pessoaMapper) {
+    private final ApplicationProperties applicationProperties;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final DataSource dataSource;
+
+    private final PessoaQueryCache pessoaQueryCache;
+
+    private final PessoaCriteriaCompiler pessoaCriteriaCompiler;
+
+    private final ExecutorService countExecutor = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("pessoa-count-", 0).factory()
+    );
+
+    private final Counter parallelCounts;
+
+    private final Counter sequentialCounts;
+
+    public PessoaQueryService(
+        PessoaRepository pessoaRepository,
+        PessoaMapper pessoaMapper,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager,
+        DataSource dataSource,
+        PessoaQueryCache pessoaQueryCache,
+        PessoaCriteriaCompiler pessoaCriteriaCompiler,
+        MeterRegistry meterRegistry
+    ) {
         this.pessoaRepository = pessoaRepository;
         this.pessoaMapper = pessoaMapper;
+        this.applicationProperties = applicationProperties;
+        this.transactionManager = transactionManager;
+        this.dataSource = dataSource;
+        this.pessoaQueryCache = pessoaQueryCache;
+        this.pessoaCriteriaCompiler = pessoaCriteriaCompiler;
+        this.parallelCounts = Counter.builder("pessoa.criteria.counts")
+            .description("Criteria listings counted")
+            .tag("execution", "parallel")
+            .register(meterRegistry);
+        this.sequentialCounts = Counter.builder("pessoa.criteria.counts")
+            .description("Criteria listings counted")
+            .tag("execution", "sequential")
+            .register(meterRegistry);
     }
 
     /**
      * Return a {@link Page} of {@link PessoaDTO} which matches the criteria from the database.
+     * <p>
+     * When {@code application.pessoa.query.parallel-count} is set, the matching entities are counted on a virtual
+     * thread, in another read-only transaction, while the page is read. The count runs after the page as usual when
+     * the connection pool does not have enough idle connections for both, or when the listing is part of a larger
+     * transaction, whose writes another transaction would not see. A parallel count is cancelled once the page turns
+     * out to be the last one, which gives the total, or when it is not done within
+     * {@code application.pessoa.query.timeout}: the page is then returned without its total, as an
+     * {@link UncountedPage}.
+     * <p>
+     * The result is served from the {@link PessoaQueryCache} when it is enabled, and the query is compiled by the
+     * {@link PessoaCriteriaCompiler} when possible. Long enough {@code contains} terms on the nome and the email are
+     * searched through their full-text indexes when {@code application.pessoa.full-text-search.enabled} is set.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @param page The page, which should be returned.
      * @return the matching entities.
@@ -45,20 +155,413 @@ public class PessoaQueryService extends QueryService<Pessoa> {
     @Transactional(readOnly = true)
     public Page<PessoaDTO> findByCriteria(PessoaCriteria criteria, Pageable page) {
         LOG.debug("find by criteria : {}, page: {}", criteria, page);
+        if (isCacheable()) {
+            return pessoaQueryCache.get("page", PessoaCriteriaKey.of(criteria), PessoaCriteriaKey.page(page), () -> loadPage(criteria, page));
+        }
+        return loadPage(criteria, page);
+    }
+
+    /**
+     * Return a {@link Page} of the requested fields of the entities which match the criteria from the database,
+     * as {@link #findByCriteria(PessoaCriteria, Pageable)} returns the DTOs.
+     * Only the fields are selected, without reading managed entities. The criteria are never {@code distinct}:
+     * they only filter the columns of the pessoa table, so its rows are distinct anyway.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param fields The fields to read.
+     * @param page The page, which should be returned.
+     * @return the fields of the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> findByCriteria(PessoaCriteria criteria, PessoaFields fields, Pageable page) {
+        LOG.debug("find by criteria : {}, fields: {}, page: {}", criteria, fields, page);
+        PessoaCriteria rowCriteria = withoutDistinct(criteria);
+        Supplier<Page<Map<String, Object>>> loader = () -> {
+            final CriteriaQuery criteriaQuery = createQuery(rowCriteria, page.getSort());
+            return loadPage(criteriaQuery, page, pageable -> criteriaQuery.rows(fields, pageable));
+        };
+        if (isCacheable()) {
+            return pessoaQueryCache.get("page;" + fields, PessoaCriteriaKey.of(rowCriteria), PessoaCriteriaKey.page(page), loader);
+        }
+        return loader.get();
+    }
+
+    private Page<PessoaDTO> loadPage(PessoaCriteria criteria, Pageable page) {
+        final CriteriaQuery criteriaQuery = createQuery(criteria, page.getSort());
+        return loadPage(criteriaQuery, page, pageable -> criteriaQuery.slice(pageable).map(pessoaMapper::toDto));
+    }
+
+    private <T> Page<T> loadPage(CriteriaQuery criteriaQuery, Pageable page, Function<Pageable, Slice<T>> slices) {
+        ApplicationProperties.Pessoa.Query query = applicationProperties.getPessoa().getQuery();
+        if (
+            !query.isParallelCount() ||
+            page.isUnpaged() ||
+            !TransactionAspectSupport.currentTransactionStatus().isNewTransaction() ||
+            !hasIdleConnections(query.getMinIdleConnections())
+        ) {
+            sequentialCounts.increment();
+            Slice<T> slice = slices.apply(page);
+            if (page.isUnpaged()) {
+                return new PageImpl<>(slice.getContent());
+            }
+            if (isLastPage(slice, page)) {
+                return new PageImpl<>(slice.getContent(), page, page.getOffset() + slice.getNumberOfElements());
+            }
+            return new PageImpl<>(slice.getContent(), page, criteriaQuery.count().getAsLong());
+        }
+
+        parallelCounts.increment();
+        long deadline = System.nanoTime() + query.getTimeout().toNanos();
+        TransactionTemplate countTransaction = readOnlyTransaction(query.getTimeout());
+        AtomicReference<Runnable> countCanceller = new AtomicReference<>();
+        Future<Long> count = countExecutor.submit(() ->
+            countTransaction.execute(status -> {
+                if (!countCanceller.compareAndSet(null, pessoaRepository.queryCanceller())) {
+                    throw new CancellationException("The count of the pessoas is no longer needed");
+                }
+                return criteriaQuery.count().getAsLong();
+            })
+        );
+        try {
+            Slice<T> slice = slices.apply(page);
+            if (isLastPage(slice, page)) {
+                // the last page gives the total, there is no need to wait for the count
+                return new PageImpl<>(slice.getContent(), page, page.getOffset() + slice.getNumberOfElements());
+            }
+            OptionalLong total = awaitCount(count, deadline, query.getTimeout());
+            return total.isPresent() ? new PageImpl<>(slice.getContent(), page, total.getAsLong()) : new UncountedPage<>(slice);
+        } finally {
+            if (!count.isDone()) {
+                // a running count would hold its connection until its transaction times out: cancel its statement
+                count.cancel(false);
+                cancelCount(countCanceller.getAndSet(COUNT_CANCELLED));
+            }
+        }
+    }
+
+    /**
+     * Wait for a parallel count until the deadline.
+     *
+     * @return the count, or empty if it timed out.
+     */
+    private OptionalLong awaitCount(Future<Long> count, long deadline, Duration timeout) {
+        try {
+            return OptionalLong.of(count.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+        } catch (TimeoutException e) {
+            return countTimedOut(timeout);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof QueryTimeoutException || e.getCause() instanceof TransactionTimedOutException) {
+                return countTimedOut(timeout);
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Could not count the pessoas", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while counting the pessoas", e);
+        }
+    }
+
+    private static OptionalLong countTimedOut(Duration timeout) {
+        LOG.warn("Counting the pessoas took longer than {}, returning the page without its total", timeout);
+        return OptionalLong.empty();
+    }
+
+    private static void cancelCount(Runnable countCanceller) {
+        if (countCanceller == null) {
+            // the count has not started its query, and will not
+            return;
+        }
+        try {
+            countCanceller.run();
+        } catch (RuntimeException e) {
+            // the count ended meanwhile, and its session is closed
+            LOG.debug("Could not cancel the count of the pessoas", e);
+        }
+    }
+
+    /**
+     * Return a {@link Slice} of {@link PessoaDTO} which matches the criteria from the database.
+     * Unlike {@link #findByCriteria(PessoaCriteria, Pageable)}, the matching entities are not counted: one more row
+     * than the page size is read to tell whether there is a next page.
+     * The result is served from the {@link PessoaQueryCache} when it is enabled.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<PessoaDTO> findSliceByCriteria(PessoaCriteria criteria, Pageable page) {
+        LOG.debug("find slice by criteria : {}, page: {}", criteria, page);
+        Supplier<Slice<PessoaDTO>> loader = () -> createQuery(criteria, page.getSort()).slice(page).map(pessoaMapper::toDto);
+        if (isCacheable()) {
+            return pessoaQueryCache.get("slice", PessoaCriteriaKey.of(criteria), PessoaCriteriaKey.page(page), loader);
+        }
+        return loader.get();
+    }
+
+    /**
+     * Return an estimate of the number of entities in the database, from its table statistics.
+     * The estimate ignores any criteria and may be off by a large margin, but costs no table read.
+     * @return the estimated number of entities, or empty if the database keeps no such statistics.
+     */
+    @Transactional(readOnly = true)
+    public OptionalLong estimateCount() {
+        LOG.debug("estimate count");
+        return pessoaRepository.estimateCount();
+    }
+
+    /**
+     * Return a {@link Slice} of the requested fields of the entities which match the criteria from the database,
+     * as {@link #findSliceByCriteria(PessoaCriteria, Pageable)} returns the DTOs, and selecting them as
+     * {@link #findByCriteria(PessoaCriteria, PessoaFields, Pageable)} does.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param fields The fields to read.
+     * @param page The page, which should be returned.
+     * @return the fields of the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Map<String, Object>> findSliceByCriteria(PessoaCriteria criteria, PessoaFields fields, Pageable page) {
+        LOG.debug("find slice by criteria : {}, fields: {}, page: {}", criteria, fields, page);
+        PessoaCriteria rowCriteria = withoutDistinct(criteria);
+        Supplier<Slice<Map<String, Object>>> loader = () -> createQuery(rowCriteria, page.getSort()).rows(fields, page);
+        if (isCacheable()) {
+            return pessoaQueryCache.get("slice;" + fields, PessoaCriteriaKey.of(rowCriteria), PessoaCriteriaKey.page(page), loader);
+        }
+        return loader.get();
+    }
+
+    /**
+     * Return a {@link Window} of {@link PessoaDTO} which matches the criteria from the database,
+     * starting right after the position held by the cursor.
+     * The position is turned into a seek predicate on the sort key and the id, so the cost of a page
+     * does not depend on how deep it is.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param cursor The sort and the position to start after.
+     * @param size The maximum number of entities to return.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<PessoaDTO> findByCriteria(PessoaCriteria criteria, PessoaKeysetCursor cursor, int size) {
+        LOG.debug("find by criteria : {}, cursor: {}, size: {}", criteria, cursor, size);
         final Specification<Pessoa> specification = createSpecification(criteria);
-        return pessoaRepository.findAll(specification, page).map(pessoaMapper::toDto);
+        return pessoaRepository
+            .findBy(specification, query -> query.sortBy(cursor.toSort()).limit(size).scroll(cursor.toScrollPosition()))
+            .map(pessoaMapper::toDto);
+    }
+
+    /**
+     * Return a {@link Window} of the {@link PessoaDTO} born between two days of the year, whatever the year,
+     * starting right after the position held by the cursor.
+     * The pessoas are ordered by their birthday from {@code from} on, and by id: when {@code from} is after
+     * {@code to}, the range wraps around the end of the year, and the pessoas born from {@code from} to December 31
+     * come before those born from January 1 to {@code to}. Every page reads a range of the month-day index.
+     * @param from The first day, included.
+     * @param to The last day, included.
+     * @param cursor The position to start after, sorted by {@link PessoaKeysetCursor.Key#MES_DIA_NASCIMENTO}.
+     * @param size The maximum number of entities to return.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Window<PessoaDTO> findAniversariantes(MonthDay from, MonthDay to, PessoaKeysetCursor cursor, int size) {
+        LOG.debug("find aniversariantes from : {}, to: {}, cursor: {}, size: {}", from, to, cursor, size);
+        int first = Pessoa.mesDia(from);
+        int last = Pessoa.mesDia(to);
+        int lastMesDia = cursor.isFirst() ? 0 : (Integer) cursor.getLastValue();
+        long lastId = cursor.isFirst() ? 0 : cursor.getLastId();
+        // one more than the page, to know whether there is a next one
+        List<Pessoa> pessoas = new ArrayList<>(size + 1);
+        if (first <= last) {
+            pessoas.addAll(pessoaRepository.findAniversariantes(first, last, lastMesDia, lastId, Limit.of(size + 1)));
+        } else {
+            if (lastMesDia == 0 || lastMesDia >= first) {
+                pessoas.addAll(pessoaRepository.findAniversariantes(first, LAST_MES_DIA, lastMesDia, lastId, Limit.of(size + 1)));
+                lastMesDia = 0;
+                lastId = 0;
+            }
+            if (pessoas.size() <= size) {
+                pessoas.addAll(pessoaRepository.findAniversariantes(0, last, lastMesDia, lastId, Limit.of(size + 1 - pessoas.size())));
+            }
+        }
+        boolean hasNext = pessoas.size() > size;
+        List<Pessoa> page = hasNext ? pessoas.subList(0, size) : pessoas;
+        return Window.from(pessoaMapper.toDto(page), index -> aniversariantePosition(page.get(index)), hasNext);
+    }
+
+    private static ScrollPosition aniversariantePosition(Pessoa pessoa) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(Pessoa_.MES_DIA_NASCIMENTO, pessoa.getMesDiaNascimento());
+        keys.put(Pessoa_.ID, pessoa.getId());
+        return ScrollPosition.forward(keys);
     }
 
     /**
      * Return the number of matching entities in the database.
+     * The result is served from the {@link PessoaQueryCache} when it is enabled.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the number of matching entities.
      */
     @Transactional(readOnly = true)
     public long countByCriteria(PessoaCriteria criteria) {
         LOG.debug("count by criteria : {}", criteria);
+        Supplier<Long> loader = () -> createQuery(criteria, Sort.unsorted()).count().getAsLong();
+        if (isCacheable()) {
+            return pessoaQueryCache.get("count", PessoaCriteriaKey.of(criteria), "", loader);
+        }
+        return loader.get();
+    }
+
+    /**
+     * Pass every {@link PessoaDTO} which matches the criteria to the consumer, ordered by id.
+     * Rows are read from a forward-only database cursor and each entity is detached once converted,
+     * so memory use does not depend on the number of matching rows.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param consumer The consumer of the matching entities.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long exportByCriteria(PessoaCriteria criteria, Consumer<PessoaDTO> consumer) {
+        LOG.debug("export by criteria : {}", criteria);
         final Specification<Pessoa> specification = createSpecification(criteria);
-        return pessoaRepository.count(specification);
+        long count = 0;
+        try (
+            Stream<Pessoa> pessoas = pessoaRepository.streamAll(
+                specification,
+                Sort.by(Pessoa_.ID),
+                applicationProperties.getPessoa().getExport().getFetchSize()
+            )
+        ) {
+            for (Pessoa pessoa : (Iterable<Pessoa>) pessoas::iterator) {
+                consumer.accept(pessoaMapper.toDto(pessoa));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Pass the requested fields of every entity which matches the criteria to the consumer, ordered by id, as
+     * {@link #exportByCriteria(PessoaCriteria, Consumer)} passes the DTOs, and selecting them as
+     * {@link #findByCriteria(PessoaCriteria, PessoaFields, Pageable)} does.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param fields The fields to read.
+     * @param consumer The consumer of the fields of each matching entity.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long exportByCriteria(PessoaCriteria criteria, PessoaFields fields, Consumer<Map<String, Object>> consumer) {
+        LOG.debug("export by criteria : {}, fields: {}", criteria, fields);
+        final Specification<Pessoa> specification = createSpecification(withoutDistinct(criteria));
+        long count = 0;
+        try (
+            Stream<Object[]> rows = pessoaRepository.streamAttributes(
+                specification,
+                fields.getFields(),
+                Sort.by(Pessoa_.ID),
+                applicationProperties.getPessoa().getExport().getFetchSize()
+            )
+        ) {
+            for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                consumer.accept(fields.toRow(row));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static PessoaCriteria withoutDistinct(PessoaCriteria criteria) {
+        if (criteria == null || criteria.getDistinct() == null) {
+            return criteria;
+        }
+        PessoaCriteria copy = criteria.copy();
+        copy.setDistinct(null);
+        return copy;
+    }
+
+    /**
+     * Results can be cached unless the cache is disabled, or the query is part of a larger transaction, whose
+     * uncommitted writes the query sees.
+     */
+    private boolean isCacheable() {
+        return pessoaQueryCache.isEnabled() && TransactionAspectSupport.currentTransactionStatus().isNewTransaction();
+    }
+
+    /**
+     * The query of the criteria: compiled when possible, or else built from the {@link Specification}.
+     */
+    private CriteriaQuery createQuery(PessoaCriteria criteria, Sort sort) {
+        return pessoaCriteriaCompiler
+            .compile(criteria, sort)
+            .map(compiled ->
+                new CriteriaQuery(
+                    page -> pessoaRepository.findSlice(compiled.select(), compiled.parameters(), page),
+                    (attributes, page) -> pessoaRepository.findAttributes(compiled.select(attributes), compiled.parameters(), page),
+                    () -> pessoaRepository.count(compiled.count(), compiled.parameters())
+                )
+            )
+            .orElseGet(() -> {
+                Specification<Pessoa> specification = createSpecification(criteria);
+                return new CriteriaQuery(
+                    page -> pessoaRepository.findSlice(specification, page),
+                    (attributes, page) -> pessoaRepository.findAttributes(specification, attributes, page),
+                    () -> pessoaRepository.count(specification)
+                );
+            });
+    }
+
+    /**
+     * Whether the slice is the last page, which gives the total without counting.
+     */
+    private static boolean isLastPage(Slice<?> slice, Pageable page) {
+        return !slice.hasNext() && (page.getOffset() == 0 || slice.hasContent());
+    }
+
+    private record CriteriaQuery(
+        Function<Pageable, Slice<Pessoa>> slice,
+        BiFunction<List<String>, Pageable, Slice<Object[]>> attributes,
+        LongSupplier count
+    ) {
+        Slice<Pessoa> slice(Pageable page) {
+            return slice.apply(page);
+        }
+
+        Slice<Map<String, Object>> rows(PessoaFields fields, Pageable page) {
+            return attributes.apply(fields.getFields(), page).map(fields::toRow);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        countExecutor.shutdown();
+    }
+
+    private TransactionTemplate readOnlyTransaction(Duration timeout) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        // also applied to the queries, as their JDBC timeout
+        transactionTemplate.setTimeout((int) Math.max(1, timeout.toSeconds()));
+        return transactionTemplate;
+    }
+
+    /**
+     * Tell whether the connection pool can give another connection to the count without making anybody wait.
+     * Pools other than Hikari are assumed to be able to.
+     */
+    private boolean hasIdleConnections(int minIdleConnections) {
+        try {
+            if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+                return true;
+            }
+            HikariDataSource hikariDataSource = dataSource.unwrap(HikariDataSource.class);
+            HikariPoolMXBean pool = hikariDataSource.getHikariPoolMXBean();
+            if (pool == null) {
+                return true;
+            }
+            int available = pool.getIdleConnections() + hikariDataSource.getMaximumPoolSize() - pool.getTotalConnections();
+            return pool.getThreadsAwaitingConnection() == 0 && available >= minIdleConnections;
+        } catch (SQLException e) {
+            LOG.debug("Could not read the state of the connection pool", e);
+            return true;
+        }
     }
 
     /**
@@ -78,6 +581,8 @@ public class PessoaQueryService extends QueryService<Pessoa> {
             }
             if (criteria.getNome() != null) {
                 specification = specification.and(buildStringSpecification(criteria.getNome(), Pessoa_.nome));
+                specification = specification.and(buildFullTextSpecification(criteria.getNome(), Pessoa_.nome));
+                specification = specification.and(buildNomeBuscaSpecification(criteria.getNome()));
             }
             if (criteria.getDtNascimento() != null) {
                 specification = specification.and(buildRangeSpecification(criteria.getDtNascimento(), Pessoa_.dtNascimento));
@@ -87,6 +592,7 @@ public class PessoaQueryService extends QueryService<Pessoa> {
             }
             if (criteria.getEmail() != null) {
                 specification = specification.and(buildStringSpecification(criteria.getEmail(), Pessoa_.email));
+                specification = specification.and(buildFullTextSpecification(criteria.getEmail(), Pessoa_.email));
             }
             if (criteria.getCreatedBy() != null) {
                 specification = specification.and(buildStringSpecification(criteria.getCreatedBy(), Pessoa_.createdBy));
@@ -103,4 +609,43 @@ public class PessoaQueryService extends QueryService<Pessoa> {
         }
         return specification;
     }
+
+    /**
+     * Match the {@code contains} term of the filter against the full-text index of the field, when the
+     * {@link PessoaCriteriaCompiler} finds it can be, on top of its {@code like}.
+     * @param filter the filter of the field.
+     * @param field the filtered attribute.
+     * @return the matching {@link Specification}, or {@code null} if the term is only searched with {@code like}.
+     */
+    protected Specification<Pessoa> buildFullTextSpecification(StringFilter filter, SingularAttribute<Pessoa, String> field) {
+        // QueryService ignores contains when equals or in is set
+        if (filter.getEquals() != null || filter.getIn() != null || filter.getContains() == null) {
+            return null;
+        }
+        String fullTextQuery = pessoaCriteriaCompiler.fullTextQuery(field.getName(), filter.getContains());
+        if (fullTextQuery == null) {
+            return null;
+        }
+        return (root, query, builder) ->
+            builder.greaterThan(builder.function(MATCH_AGAINST, Double.class, root.get(field), builder.literal(fullTextQuery)), 0.0);
+    }
+
+    /**
+     * Apply the operators of the filter on the normalized nome, on top of its string operators.
+     * @param filter the filter of the nome.
+     * @return the matching {@link Specification}, or {@code null} if the filter has no normalized operator.
+     */
+    protected Specification<Pessoa> buildNomeBuscaSpecification(NomeFilter filter) {
+        Specification<Pessoa> specification = null;
+        if (filter.getNormalizedEquals() != null) {
+            specification = equalsSpecification(root -> root.get(Pessoa_.nomeBusca), Pessoa.normalizeNome(filter.getNormalizedEquals()));
+        }
+        if (filter.getNormalizedStartsWith() != null) {
+            String pattern = PessoaCriteriaCompiler.startsWithPattern(Pessoa.normalizeNome(filter.getNormalizedStartsWith()));
+            Specification<Pessoa> startsWith = (root, query, builder) ->
+                builder.like(root.get(Pessoa_.nomeBusca), pattern, PessoaCriteriaCompiler.LIKE_ESCAPE);
+            specification = specification == null ? startsWith : specification.and(startsWith);
+        }
+        return specification;
+    }
 }
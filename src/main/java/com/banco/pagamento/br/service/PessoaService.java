@@ -1,12 +1,22 @@
 package com.banco.pagamento.br.service;
 
 import com.banco.pagamento.br.service.dto.PessoaDTO;
+import com.banco.pagamento.br.service.dto.PessoaFotoDTO;
+import com.banco.pagamento.br.service.dto.PessoaVersionDTO;
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.LongHashSet;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Service Interface for managing {@link com.banco.pagamento.br.domain.Pessoa}.
  */
 public interface PessoaService {
+    /**
+     * Cache of {@link #findOne}, including the ids with no pessoa. Writes evict the pessoa they change.
+     */
+    String PESSOA_BY_ID_CACHE = "pessoaById";
+
     /**
      * Save a pessoa.
      *
@@ -15,19 +25,39 @@ public interface PessoaService {
      */
     PessoaDTO save(PessoaDTO pessoaDTO);
 
+    /**
+     * Save several pessoas in a single transaction, so the inserts can be sent as JDBC batches.
+     *
+     * @param pessoaDTOs the entities to save.
+     * @return the persisted entities, in the same order.
+     */
+    List<PessoaDTO> saveAll(List<PessoaDTO> pessoaDTOs);
+
+    /**
+     * Update several pessoas in a single transaction, so the updates can be sent as JDBC batches.
+     *
+     * @param pessoaDTOs the entities to update.
+     * @return the persisted entities, in the same order.
+     * @throws java.util.NoSuchElementException if one of the entities does not exist.
+     */
+    List<PessoaDTO> updateAll(List<PessoaDTO> pessoaDTOs);
+
     /**
      * Updates a pessoa.
      *
-     * @param pessoaDTO the entity to update.
-     * @return the persisted entity.
+     * @param pessoaDTO the entity to update; if it has a version, the pessoa must still have it.
+     * @return the persisted entity, with its new version.
+     * @throws java.util.NoSuchElementException if the entity does not exist.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the entity has another version.
      */
     PessoaDTO update(PessoaDTO pessoaDTO);
 
     /**
      * Partially updates a pessoa.
      *
-     * @param pessoaDTO the entity to update partially.
-     * @return the persisted entity.
+     * @param pessoaDTO the entity to update partially; if it has a version, the pessoa must still have it.
+     * @return the persisted entity, with its new version, or empty if the entity does not exist.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the entity has another version.
      */
     Optional<PessoaDTO> partialUpdate(PessoaDTO pessoaDTO);
 
@@ -39,10 +69,58 @@ public interface PessoaService {
      */
     Optional<PessoaDTO> findOne(Long id);
 
+    /**
+     * Get the version of the "id" pessoa, and when it was last modified, without loading the pessoa.
+     *
+     * @param id the id of the entity.
+     * @return the version, or empty if the entity does not exist.
+     */
+    Optional<PessoaVersionDTO> findVersion(Long id);
+
+    /**
+     * Get the pessoas with the given ids, in a single query.
+     *
+     * @param ids the ids of the entities.
+     * @return the entities, in the order of the ids, with {@code null} for the ids with no pessoa.
+     */
+    List<PessoaDTO> findAll(LongArrayList ids);
+
+    /**
+     * Get the pessoa with a CPF, whatever its format.
+     *
+     * @param cpf the CPF, with or without punctuation.
+     * @return the entity, empty if there is none or the CPF is not valid.
+     */
+    Optional<PessoaDTO> findOneByCpf(String cpf);
+
+    /**
+     * Get the photo of the "id" pessoa.
+     *
+     * @param id the id of the entity.
+     * @return the photo, empty if the entity does not exist or has no photo.
+     */
+    Optional<PessoaFotoDTO> findFoto(Long id);
+
+    /**
+     * Remove the photo of the "id" pessoa.
+     *
+     * @param id the id of the entity.
+     * @return {@code false} if the entity does not exist.
+     */
+    boolean deleteFoto(Long id);
+
     /**
      * Delete the "id" pessoa.
      *
      * @param id the id of the entity.
      */
     void delete(Long id);
+
+    /**
+     * Delete several pessoas in a single transaction, so the deletes can be sent as JDBC batches.
+     *
+     * @param ids the ids of the entities.
+     * @return the ids of the deleted entities; the others did not exist.
+     */
+    LongHashSet deleteAll(LongArrayList ids);
 }
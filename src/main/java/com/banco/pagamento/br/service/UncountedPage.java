@@ -0,0 +1,19 @@
+package com.banco.pagamento.br.service;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+
+/**
+ * A {@link org.springframework.data.domain.Page} whose matching entities could not be counted in time. Its total is
+ * only the lower bound the page gives: the entities up to the end of the page, and one more when there is a next page.
+ */
+public class UncountedPage<T> extends PageImpl<T> {
+
+    public UncountedPage(Slice<T> slice) {
+        super(
+            slice.getContent(),
+            slice.getPageable(),
+            slice.getPageable().getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0)
+        );
+    }
+}
@@ -0,0 +1,84 @@
+package com.banco.pagamento.br.service.criteria;
+
+import java.util.Objects;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Filter class for the nome of a pessoa: a {@link StringFilter}, with operators ignoring case, accents and extra
+ * whitespace, which use the index of the normalized nome. It can be used as a request parameter like:
+ * <pre>
+ *      nome.normalizedEquals=jose da silva
+ *      nome.normalizedStartsWith=Jose d
+ * </pre>
+ * The values are normalized as {@link com.banco.pagamento.br.domain.Pessoa#normalizeNome(String)} normalizes the nome.
+ */
+public class NomeFilter extends StringFilter {
+
+    private static final long serialVersionUID = 1L;
+
+    private String normalizedEquals;
+
+    private String normalizedStartsWith;
+
+    public NomeFilter() {}
+
+    public NomeFilter(NomeFilter filter) {
+        super(filter);
+        this.normalizedEquals = filter.normalizedEquals;
+        this.normalizedStartsWith = filter.normalizedStartsWith;
+    }
+
+    @Override
+    public NomeFilter copy() {
+        return new NomeFilter(this);
+    }
+
+    public String getNormalizedEquals() {
+        return normalizedEquals;
+    }
+
+    public NomeFilter setNormalizedEquals(String normalizedEquals) {
+        this.normalizedEquals = normalizedEquals;
+        return this;
+    }
+
+    public String getNormalizedStartsWith() {
+        return normalizedStartsWith;
+    }
+
+    public NomeFilter setNormalizedStartsWith(String normalizedStartsWith) {
+        this.normalizedStartsWith = normalizedStartsWith;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        final NomeFilter that = (NomeFilter) o;
+        return Objects.equals(normalizedEquals, that.normalizedEquals) && Objects.equals(normalizedStartsWith, that.normalizedStartsWith);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), normalizedEquals, normalizedStartsWith);
+    }
+
+    @Override
+    public String toString() {
+        String filter = super.toString();
+        return (
+            filter.substring(0, filter.length() - 1) +
+            (getNormalizedEquals() != null ? "normalizedEquals=" + getNormalizedEquals() + ", " : "") +
+            (getNormalizedStartsWith() != null ? "normalizedStartsWith=" + getNormalizedStartsWith() + ", " : "") +
+            "]"
+        );
+    }
+}
@@ -24,7 +24,7 @@ public class PessoaCriteria implements Serializable, Criteria {
 
     private LongFilter id;
 
-    private StringFilter nome;
+    private NomeFilter nome;
 
     private LocalDateFilter dtNascimento;
 
@@ -46,7 +46,7 @@ public class PessoaCriteria implements Serializable, Criteria {
 
     public PessoaCriteria(PessoaCriteria other) {
         this.id = other.optionalId().map(LongFilter::copy).orElse(null);
-        this.nome = other.optionalNome().map(StringFilter::copy).orElse(null);
+        this.nome = other.optionalNome().map(NomeFilter::copy).orElse(null);
         this.dtNascimento = other.optionalDtNascimento().map(LocalDateFilter::copy).orElse(null);
         this.cpf = other.optionalCpf().map(StringFilter::copy).orElse(null);
         this.email = other.optionalEmail().map(StringFilter::copy).orElse(null);
@@ -81,22 +81,22 @@ public class PessoaCriteria implements Serializable, Criteria {
         this.id = id;
     }
 
-    public StringFilter getNome() {
+    public NomeFilter getNome() {
         return nome;
     }
 
-    public Optional<StringFilter> optionalNome() {
+    public Optional<NomeFilter> optionalNome() {
         return Optional.ofNullable(nome);
     }
 
-    public StringFilter nome() {
+    public NomeFilter nome() {
         if (nome == null) {
-            setNome(new StringFilter());
+            setNome(new NomeFilter());
         }
         return nome;
     }
 
-    public void setNome(StringFilter nome) {
+    public void setNome(NomeFilter nome) {
         this.nome = nome;
     }
 
@@ -0,0 +1,173 @@
+package com.banco.pagamento.br.service.criteria;
+
+import com.banco.pagamento.br.domain.Pessoa;
+import com.banco.pagamento.br.domain.Pessoa_;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.Pageable;
+import tech.jhipster.service.filter.Filter;
+import tech.jhipster.service.filter.RangeFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Canonical form of a {@link PessoaCriteria}, used as a cache key.
+ * <p>
+ * Criteria selecting the same pessoas have the same key: the filters are listed by name, {@code in} and
+ * {@code notIn} values are sorted and deduplicated, a single-value {@code in} is an {@code equals}, the operators
+ * {@link tech.jhipster.service.QueryService} ignores when {@code equals} or {@code in} is set are dropped, and the
+ * case-insensitive {@code contains} values are upper-cased. The {@link NomeFilter} operators are conditions on the
+ * normalized nome, {@code nomeBusca.equals} and {@code nomeBusca.startsWith}, with normalized values.
+ *
+ * @param shape the filtered fields and operators, without their values, e.g. {@code nome.contains&id.greaterThan}.
+ * @param canonical the filters with their values, as an encoded query string.
+ */
+public record PessoaCriteriaKey(String shape, String canonical) {
+    /**
+     * Shape of criteria without any filter.
+     */
+    public static final String UNFILTERED = "none";
+
+    /**
+     * Field of the condition holding {@code distinct}.
+     */
+    public static final String DISTINCT = "distinct";
+
+    /**
+     * A filter operator applied to a field, with its value; {@code in} and {@code notIn} values are sorted lists
+     * without duplicates.
+     *
+     * @param field the filtered attribute of {@link com.banco.pagamento.br.domain.Pessoa}, or {@code distinct}.
+     * @param operator the operator, as named in the request parameters.
+     * @param value the value of the operator.
+     */
+    public record Condition(String field, String operator, Object value) {
+        public String name() {
+            return operator.isEmpty() ? field : field + "." + operator;
+        }
+    }
+
+    public static PessoaCriteriaKey of(PessoaCriteria criteria) {
+        List<Condition> conditions = conditions(criteria);
+        String shape = conditions.isEmpty() ? UNFILTERED : conditions.stream().map(Condition::name).collect(Collectors.joining("&"));
+        String canonical = conditions
+            .stream()
+            .map(condition -> condition.name() + "=" + encode(condition.value()))
+            .collect(Collectors.joining("&"));
+        return new PessoaCriteriaKey(shape, canonical);
+    }
+
+    /**
+     * The conditions the criteria applies, sorted by name: criteria with the same conditions select the same pessoas.
+     */
+    public static List<Condition> conditions(PessoaCriteria criteria) {
+        List<Condition> conditions = new ArrayList<>();
+        if (criteria != null) {
+            add(conditions, Pessoa_.ID, criteria.getId());
+            add(conditions, Pessoa_.NOME, criteria.getNome());
+            add(conditions, Pessoa_.DT_NASCIMENTO, criteria.getDtNascimento());
+            add(conditions, Pessoa_.CPF, criteria.getCpf());
+            add(conditions, Pessoa_.EMAIL, criteria.getEmail());
+            add(conditions, Pessoa_.CREATED_BY, criteria.getCreatedBy());
+            add(conditions, Pessoa_.CREATED_DATE, criteria.getCreatedDate());
+            add(conditions, Pessoa_.LAST_MODIFIED_BY, criteria.getLastModifiedBy());
+            add(conditions, Pessoa_.LAST_MODIFIED_DATE, criteria.getLastModifiedDate());
+            // distinct(false) is what the query does anyway
+            if (Boolean.TRUE.equals(criteria.getDistinct())) {
+                conditions.add(new Condition(DISTINCT, "", true));
+            }
+        }
+        conditions.sort(Comparator.comparing(Condition::name));
+        return conditions;
+    }
+
+    /**
+     * Canonical form of a page request: its number, size and sort.
+     */
+    public static String page(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return "unpaged;" + sort(pageable);
+        }
+        return pageable.getPageNumber() + ";" + pageable.getPageSize() + ";" + sort(pageable);
+    }
+
+    private static String sort(Pageable pageable) {
+        return pageable
+            .getSort()
+            .stream()
+            .map(order -> order.getProperty() + "," + order.getDirection() + (order.isIgnoreCase() ? ",ignorecase" : ""))
+            .collect(Collectors.joining(";"));
+    }
+
+    private static void add(List<Condition> conditions, String field, Filter<?> filter) {
+        if (filter == null) {
+            return;
+        }
+        if (filter instanceof NomeFilter nomeFilter) {
+            // applied on top of the string operators, on the normalized nome
+            add(conditions, Pessoa_.NOME_BUSCA, "equals", Pessoa.normalizeNome(nomeFilter.getNormalizedEquals()));
+            add(conditions, Pessoa_.NOME_BUSCA, "startsWith", Pessoa.normalizeNome(nomeFilter.getNormalizedStartsWith()));
+        }
+        Object equals = filter.getEquals();
+        List<?> in = values(filter.getIn());
+        if (equals == null && in != null && in.size() == 1) {
+            equals = in.get(0);
+        }
+        // QueryService only applies equals, or else in, when they are set
+        if (equals != null) {
+            conditions.add(new Condition(field, "equals", equals));
+            return;
+        }
+        if (in != null) {
+            conditions.add(new Condition(field, "in", in));
+            return;
+        }
+        add(conditions, field, "notEquals", filter.getNotEquals());
+        add(conditions, field, "notIn", values(filter.getNotIn()));
+        add(conditions, field, "specified", filter.getSpecified());
+        if (filter instanceof RangeFilter<?> rangeFilter) {
+            add(conditions, field, "greaterThan", rangeFilter.getGreaterThan());
+            add(conditions, field, "greaterThanOrEqual", rangeFilter.getGreaterThanOrEqual());
+            add(conditions, field, "lessThan", rangeFilter.getLessThan());
+            add(conditions, field, "lessThanOrEqual", rangeFilter.getLessThanOrEqual());
+        }
+        if (filter instanceof StringFilter stringFilter) {
+            add(conditions, field, "contains", upperCase(stringFilter.getContains()));
+            add(conditions, field, "doesNotContain", upperCase(stringFilter.getDoesNotContain()));
+        }
+    }
+
+    private static void add(List<Condition> conditions, String field, String operator, Object value) {
+        if (value != null) {
+            conditions.add(new Condition(field, operator, value));
+        }
+    }
+
+    private static String upperCase(String value) {
+        return value == null ? null : value.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Sort the values and remove duplicates; the filter values are all comparable.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static List<?> values(List<?> values) {
+        if (values == null) {
+            return null;
+        }
+        return List.copyOf(values.stream().filter(Objects::nonNull).map(value -> (Comparable) value).collect(Collectors.toCollection(TreeSet::new)));
+    }
+
+    private static String encode(Object value) {
+        if (value instanceof List<?> values) {
+            return values.stream().map(PessoaCriteriaKey::encode).collect(Collectors.joining(","));
+        }
+        return URLEncoder.encode(value.toString(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,108 @@
+package com.banco.pagamento.br.service.criteria;
+
+import com.banco.pagamento.br.domain.Pessoa_;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The fields of {@link com.banco.pagamento.br.service.dto.PessoaDTO} requested with {@code fields=id,nome,cpf}, a
+ * sparse fieldset.
+ * <p>
+ * Only these fields are read from the database, as a projection of the pessoa attributes of the same name, and the
+ * rows are maps from each field to its value, in the requested order. The {@code foto} cannot be requested, it is
+ * served by {@code GET /api/pessoas/{id}/foto}.
+ */
+public final class PessoaFields implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The fields which can be requested, named like the DTO properties and the entity attributes.
+     */
+    public static final List<String> SELECTABLE = List.of(
+        Pessoa_.ID,
+        Pessoa_.FOTO_CONTENT_TYPE,
+        Pessoa_.FOTO_HASH,
+        Pessoa_.NOME,
+        Pessoa_.DT_NASCIMENTO,
+        Pessoa_.CPF,
+        Pessoa_.EMAIL,
+        Pessoa_.CREATED_BY,
+        Pessoa_.CREATED_DATE,
+        Pessoa_.LAST_MODIFIED_BY,
+        Pessoa_.LAST_MODIFIED_DATE
+    );
+
+    private final List<String> fields;
+
+    private PessoaFields(List<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Read the fields from their request parameter.
+     *
+     * @param fields the comma separated fields; duplicates are ignored.
+     * @return the fields.
+     * @throws IllegalArgumentException if there is no field, or a field cannot be requested.
+     */
+    public static PessoaFields parse(String fields) {
+        Set<String> parsed = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!SELECTABLE.contains(name)) {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+            parsed.add(name);
+        }
+        return new PessoaFields(List.copyOf(parsed));
+    }
+
+    /**
+     * @return the fields, in the requested order; they are the attributes to select.
+     */
+    public List<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * Build the row of a pessoa.
+     *
+     * @param values the values of the {@link #getFields() fields}, in order.
+     * @return the unmodifiable map from each field to its value, {@code null} included.
+     */
+    public Map<String, Object> toRow(Object[] values) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            row.put(fields.get(i), values[i]);
+        }
+        return Collections.unmodifiableMap(row);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PessoaFields that)) {
+            return false;
+        }
+        return fields.equals(that.fields);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(fields);
+    }
+
+    @Override
+    public String toString() {
+        return String.join(",", fields);
+    }
+}
@@ -0,0 +1,237 @@
+package com.banco.pagamento.br.service.criteria;
+
+import com.banco.pagamento.br.domain.Pessoa_;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Continuation token for the keyset (seek) pagination of {@link com.banco.pagamento.br.domain.Pessoa}.
+ * <p>
+ * A cursor holds the sort key, its direction and the position of the last row already returned: the value of the
+ * sort key and the id, which breaks ties. The next page starts right after that row, so the database seeks through
+ * the index instead of reading and discarding an offset.
+ * <p>
+ * Clients only see the {@link #encode() encoded} form, which is opaque and URL safe.
+ */
+public final class PessoaKeysetCursor implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String SEPARATOR = "|";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * The properties a keyset page can be sorted by; all of them are mandatory columns.
+     */
+    public enum Key {
+        ID(Pessoa_.ID, Long::valueOf),
+        NOME(Pessoa_.NOME, value -> value),
+        DT_NASCIMENTO(Pessoa_.DT_NASCIMENTO, LocalDate::parse),
+        MES_DIA_NASCIMENTO(Pessoa_.MES_DIA_NASCIMENTO, Integer::valueOf),
+        CPF(Pessoa_.CPF, value -> value),
+        EMAIL(Pessoa_.EMAIL, value -> value),
+        CREATED_DATE(Pessoa_.CREATED_DATE, Instant::parse),
+        LAST_MODIFIED_DATE(Pessoa_.LAST_MODIFIED_DATE, Instant::parse);
+
+        private final String property;
+
+        private final Function<String, Object> parser;
+
+        Key(String property, Function<String, Object> parser) {
+            this.property = property;
+            this.parser = parser;
+        }
+
+        public String getProperty() {
+            return property;
+        }
+
+        public static Optional<Key> fromProperty(String property) {
+            for (Key key : values()) {
+                if (key.property.equals(property)) {
+                    return Optional.of(key);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    private final Key key;
+
+    private final Sort.Direction direction;
+
+    private final Long lastId;
+
+    private final Object lastValue;
+
+    private PessoaKeysetCursor(Key key, Sort.Direction direction, Long lastId, Object lastValue) {
+        this.key = Objects.requireNonNull(key);
+        this.direction = Objects.requireNonNull(direction);
+        this.lastId = lastId;
+        this.lastValue = lastValue;
+    }
+
+    /**
+     * Cursor for the first page.
+     *
+     * @param key the sort key.
+     * @param direction the sort direction.
+     * @return the cursor.
+     */
+    public static PessoaKeysetCursor first(Key key, Sort.Direction direction) {
+        return new PessoaKeysetCursor(key, direction, null, null);
+    }
+
+    /**
+     * Cursor for the page following the given position, with the same sort.
+     *
+     * @param position the position of the last returned row, as given by {@link org.springframework.data.domain.Window#positionAt(int)}.
+     * @return the cursor.
+     */
+    public PessoaKeysetCursor next(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset) || keyset.getKeys().get(Pessoa_.ID) == null) {
+            throw new IllegalArgumentException("Not a keyset position: " + position);
+        }
+        Map<String, Object> keys = keyset.getKeys();
+        return new PessoaKeysetCursor(key, direction, ((Number) keys.get(Pessoa_.ID)).longValue(), keys.get(key.property));
+    }
+
+    public Key getKey() {
+        return key;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    public boolean isFirst() {
+        return lastId == null;
+    }
+
+    /**
+     * @return the id of the last returned row, or {@code null} for the first page.
+     */
+    public Long getLastId() {
+        return lastId;
+    }
+
+    /**
+     * @return the sort key of the last returned row, or {@code null} for the first page.
+     */
+    public Object getLastValue() {
+        return lastValue;
+    }
+
+    /**
+     * @return the sort of the pages, with the id as tie-breaker.
+     */
+    public Sort toSort() {
+        if (key == Key.ID) {
+            return Sort.by(direction, Pessoa_.ID);
+        }
+        return Sort.by(direction, key.property, Pessoa_.ID);
+    }
+
+    /**
+     * @return the position to scroll from.
+     */
+    public KeysetScrollPosition toScrollPosition() {
+        if (isFirst()) {
+            return ScrollPosition.keyset();
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        if (key != Key.ID) {
+            keys.put(key.property, lastValue);
+        }
+        keys.put(Pessoa_.ID, lastId);
+        return ScrollPosition.forward(keys);
+    }
+
+    /**
+     * @return the opaque, URL safe form of this cursor.
+     */
+    public String encode() {
+        StringBuilder token = new StringBuilder().append(key.name()).append(SEPARATOR).append(direction.name());
+        if (!isFirst()) {
+            token.append(SEPARATOR).append(lastId);
+            if (key != Key.ID) {
+                token.append(SEPARATOR).append(lastValue);
+            }
+        }
+        return ENCODER.encodeToString(token.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Read a cursor from its {@link #encode() encoded} form.
+     *
+     * @param token the encoded cursor.
+     * @return the cursor.
+     * @throws IllegalArgumentException if the token is not a valid cursor.
+     */
+    public static PessoaKeysetCursor decode(String token) {
+        try {
+            String[] parts = new String(DECODER.decode(token), StandardCharsets.UTF_8).split("\\|", 4);
+            Key key = Key.valueOf(parts[0]);
+            Sort.Direction direction = Sort.Direction.valueOf(parts[1]);
+            if (parts.length == 2) {
+                return first(key, direction);
+            }
+            Long lastId = Long.valueOf(parts[2]);
+            if (key == Key.ID && parts.length == 3) {
+                return new PessoaKeysetCursor(key, direction, lastId, lastId);
+            }
+            if (key == Key.ID || parts.length != 4) {
+                throw new IllegalArgumentException("Unexpected number of fields");
+            }
+            return new PessoaKeysetCursor(key, direction, lastId, key.parser.apply(parts[3]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PessoaKeysetCursor that)) {
+            return false;
+        }
+        return (
+            key == that.key &&
+            direction == that.direction &&
+            Objects.equals(lastId, that.lastId) &&
+            Objects.equals(lastValue, that.lastValue)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(key, direction, lastId, lastValue);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PessoaKeysetCursor{" +
+            "key=" + key +
+            ", direction=" + direction +
+            ", lastId=" + lastId +
+            ", lastValue=" + lastValue +
+            "}";
+    }
+}
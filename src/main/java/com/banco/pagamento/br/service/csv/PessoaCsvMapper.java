@@ -0,0 +1,177 @@
+package com.banco.pagamento.br.service.csv;
+
+import com.banco.pagamento.br.service.dto.PessoaDTO;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Maps CSV records to and from {@link PessoaDTO} instances.
+ * <p>
+ * Columns are resolved from the header row, either by DTO property name ({@code dtNascimento}) or by column
+ * name ({@code dt_nascimento}), case-insensitively. The {@code foto} column holds Base64 encoded content, and
+ * dates use the ISO-8601 format. Audit columns are ignored, they are always filled in by the application.
+ * <p>
+ * Exported records leave the {@code foto} column empty, as photos are not read with the pessoas.
+ */
+public final class PessoaCsvMapper {
+
+    static final String ID = "id";
+    static final String FOTO = "foto";
+    static final String FOTO_CONTENT_TYPE = "fotocontenttype";
+    static final String NOME = "nome";
+    static final String DT_NASCIMENTO = "dtnascimento";
+    static final String CPF = "cpf";
+    static final String EMAIL = "email";
+
+    private static final Pattern CAMEL_CASE = Pattern.compile("([a-z])([A-Z])");
+
+    /**
+     * The columns written by {@link #toRecord(PessoaDTO)}, named like the database columns.
+     */
+    public static final List<String> HEADER = List.of(
+        "id",
+        "foto",
+        "foto_content_type",
+        "nome",
+        "dt_nascimento",
+        "cpf",
+        "email",
+        "created_by",
+        "created_date",
+        "last_modified_by",
+        "last_modified_date"
+    );
+
+    private final Map<String, Integer> columns;
+
+    private PessoaCsvMapper(Map<String, Integer> columns) {
+        this.columns = columns;
+    }
+
+    /**
+     * Build a mapper for the given header row.
+     *
+     * @param header the header record.
+     * @return the mapper.
+     * @throws IllegalArgumentException if a mandatory column is missing.
+     */
+    public static PessoaCsvMapper fromHeader(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(normalizeColumnName(header.get(i)), i);
+        }
+        for (String mandatory : List.of(NOME, DT_NASCIMENTO, CPF, EMAIL)) {
+            if (!columns.containsKey(mandatory)) {
+                throw new IllegalArgumentException("Missing mandatory column: " + mandatory);
+            }
+        }
+        return new PessoaCsvMapper(columns);
+    }
+
+    /**
+     * Convert a record into a {@link PessoaDTO}. Bean validation is left to the caller.
+     *
+     * @param record the record fields.
+     * @return the DTO.
+     * @throws IllegalArgumentException if a value cannot be converted.
+     */
+    public PessoaDTO toDto(List<String> record) {
+        PessoaDTO pessoaDTO = new PessoaDTO();
+        String id = value(record, ID);
+        if (id != null) {
+            try {
+                pessoaDTO.setId(Long.valueOf(id));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid id: " + id, e);
+            }
+        }
+        String foto = value(record, FOTO);
+        if (foto != null) {
+            try {
+                pessoaDTO.setFoto(Base64.getDecoder().decode(foto));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid foto: not a Base64 value", e);
+            }
+        }
+        pessoaDTO.setFotoContentType(value(record, FOTO_CONTENT_TYPE));
+        pessoaDTO.setNome(value(record, NOME));
+        String dtNascimento = value(record, DT_NASCIMENTO);
+        if (dtNascimento != null) {
+            try {
+                pessoaDTO.setDtNascimento(LocalDate.parse(dtNascimento));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid dtNascimento: " + dtNascimento, e);
+            }
+        }
+        pessoaDTO.setCpf(value(record, CPF));
+        pessoaDTO.setEmail(value(record, EMAIL));
+        return pessoaDTO;
+    }
+
+    /**
+     * Convert a {@link PessoaDTO} into a record following the {@link #HEADER} columns.
+     *
+     * @param pessoaDTO the DTO.
+     * @return the record fields.
+     */
+    public static List<String> toRecord(PessoaDTO pessoaDTO) {
+        return Arrays.asList(
+            toString(pessoaDTO.getId()),
+            pessoaDTO.getFoto() != null ? Base64.getEncoder().encodeToString(pessoaDTO.getFoto()) : null,
+            pessoaDTO.getFotoContentType(),
+            pessoaDTO.getNome(),
+            toString(pessoaDTO.getDtNascimento()),
+            pessoaDTO.getCpf(),
+            pessoaDTO.getEmail(),
+            pessoaDTO.getCreatedBy(),
+            toString(pessoaDTO.getCreatedDate()),
+            pessoaDTO.getLastModifiedBy(),
+            toString(pessoaDTO.getLastModifiedDate())
+        );
+    }
+
+    /**
+     * The header of records holding only some fields, named like the database columns.
+     *
+     * @param fields the fields, named like the {@link PessoaDTO} properties.
+     * @return the column names.
+     */
+    public static List<String> header(List<String> fields) {
+        return fields.stream().map(field -> CAMEL_CASE.matcher(field).replaceAll("$1_$2").toLowerCase(Locale.ROOT)).toList();
+    }
+
+    /**
+     * Convert the fields of a pessoa into a record following their {@link #header(List) header}.
+     *
+     * @param row the map from each field to its value, in the order of the header.
+     * @return the record fields.
+     */
+    public static List<String> toRecord(Map<String, Object> row) {
+        return row.values().stream().map(PessoaCsvMapper::toString).toList();
+    }
+
+    private static String toString(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private String value(List<String> record, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String normalizeColumnName(String name) {
+        // a byte order mark may precede the first column name
+        return name.replace("\uFEFF", "").trim().replace("_", "").toLowerCase(Locale.ROOT);
+    }
+}
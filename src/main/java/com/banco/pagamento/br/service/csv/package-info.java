@@ -0,0 +1,4 @@
+/**
+ * Streaming CSV support for bulk import and export.
+ */
+package com.banco.pagamento.br.service.csv;
@@ -0,0 +1,130 @@
+package com.banco.pagamento.br.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO reporting the outcome of a batch write of {@link com.banco.pagamento.br.domain.Pessoa} entities, with the
+ * status of every item of the batch, in request order.
+ */
+public class PessoaBatchResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long succeeded;
+
+    private long failed;
+
+    private List<ItemResult> items = new ArrayList<>();
+
+    public long getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(long succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public List<ItemResult> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ItemResult> items) {
+        this.items = items;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PessoaBatchResultDTO{" +
+            "succeeded=" + getSucceeded() +
+            ", failed=" + getFailed() +
+            "}";
+    }
+
+    /**
+     * The outcome of a single item of the batch.
+     */
+    public static class ItemResult implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private int index;
+
+        private Long id;
+
+        private int status;
+
+        private String message;
+
+        public ItemResult() {}
+
+        public ItemResult(int index, Long id, int status, String message) {
+            this.index = index;
+            this.id = id;
+            this.status = status;
+            this.message = message;
+        }
+
+        /**
+         * @return the position of the item in the request, from {@code 0}.
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        public void setIndex(int index) {
+            this.index = index;
+        }
+
+        /**
+         * @return the id of the pessoa, when it is known.
+         */
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        /**
+         * @return the HTTP status the item would have had as a single request, e.g. {@code 201} or {@code 404}.
+         */
+        public int getStatus() {
+            return status;
+        }
+
+        public void setStatus(int status) {
+            this.status = status;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "ItemResult{" +
+                "index=" + getIndex() +
+                ", id=" + getId() +
+                ", status=" + getStatus() +
+                ", message='" + getMessage() + "'" +
+                "}";
+        }
+    }
+}
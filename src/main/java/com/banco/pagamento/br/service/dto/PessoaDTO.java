@@ -1,5 +1,6 @@
 package com.banco.pagamento.br.service.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.Lob;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
@@ -15,11 +16,21 @@ public class PessoaDTO implements Serializable {
 
     private Long id;
 
+    /**
+     * Only accepted on writes, where {@code null} keeps the current photo; it is served by {@code GET /api/pessoas/{id}/foto}.
+     */
     @Lob
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private byte[] foto;
 
     private String fotoContentType;
 
+    /**
+     * SHA-256 of the stored photo, set by the application.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String fotoHash;
+
     @NotNull
     @Size(min = 3, max = 510)
     private String nome;
@@ -35,6 +46,12 @@ public class PessoaDTO implements Serializable {
     @Pattern(regexp = "(^[\\w-\\.]+@([\\w-]+\\.)+[\\w-]{2,4}$)")
     private String email;
 
+    /**
+     * Version of the pessoa, set by the application; it is served as the {@code ETag} of the pessoa.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     private String createdBy;
 
     private Instant createdDate;
@@ -67,6 +84,22 @@ public class PessoaDTO implements Serializable {
         this.fotoContentType = fotoContentType;
     }
 
+    public String getFotoHash() {
+        return fotoHash;
+    }
+
+    public void setFotoHash(String fotoHash) {
+        this.fotoHash = fotoHash;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getNome() {
         return nome;
     }
@@ -157,11 +190,13 @@ public class PessoaDTO implements Serializable {
     public String toString() {
         return "PessoaDTO{" +
             "id=" + getId() +
-            ", foto='" + getFoto() + "'" +
+            ", fotoContentType='" + getFotoContentType() + "'" +
+            ", fotoHash='" + getFotoHash() + "'" +
             ", nome='" + getNome() + "'" +
             ", dtNascimento='" + getDtNascimento() + "'" +
             ", cpf='" + getCpf() + "'" +
             ", email='" + getEmail() + "'" +
+            ", version=" + getVersion() +
             ", createdBy='" + getCreatedBy() + "'" +
             ", createdDate='" + getCreatedDate() + "'" +
             ", lastModifiedBy='" + getLastModifiedBy() + "'" +
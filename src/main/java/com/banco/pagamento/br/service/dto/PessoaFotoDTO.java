@@ -0,0 +1,72 @@
+package com.banco.pagamento.br.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO describing the photo of a {@link com.banco.pagamento.br.domain.Pessoa}, whose content is kept in the
+ * {@link com.banco.pagamento.br.service.PessoaFotoStore} under {@code fotoHash}.
+ */
+public class PessoaFotoDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String fotoHash;
+
+    private String fotoContentType;
+
+    private long size;
+
+    public PessoaFotoDTO() {}
+
+    public PessoaFotoDTO(Long id, String fotoHash, String fotoContentType, long size) {
+        this.id = id;
+        this.fotoHash = fotoHash;
+        this.fotoContentType = fotoContentType;
+        this.size = size;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFotoHash() {
+        return fotoHash;
+    }
+
+    public void setFotoHash(String fotoHash) {
+        this.fotoHash = fotoHash;
+    }
+
+    public String getFotoContentType() {
+        return fotoContentType;
+    }
+
+    public void setFotoContentType(String fotoContentType) {
+        this.fotoContentType = fotoContentType;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PessoaFotoDTO{" +
+            "id=" + getId() +
+            ", fotoHash='" + getFotoHash() + "'" +
+            ", fotoContentType='" + getFotoContentType() + "'" +
+            ", size=" + getSize() +
+            "}";
+    }
+}
@@ -0,0 +1,47 @@
+package com.banco.pagamento.br.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO suggesting a {@link com.banco.pagamento.br.domain.Pessoa} for a search box: its id and its nome only.
+ */
+public class PessoaSuggestionDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long id;
+
+    private String nome;
+
+    public PessoaSuggestionDTO() {}
+
+    public PessoaSuggestionDTO(Long id, String nome) {
+        this.id = id;
+        this.nome = nome;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PessoaSuggestionDTO{" +
+            "id=" + getId() +
+            ", nome='" + getNome() + "'" +
+            "}";
+    }
+}
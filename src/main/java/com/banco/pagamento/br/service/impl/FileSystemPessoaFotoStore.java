@@ -0,0 +1,148 @@
+package com.banco.pagamento.br.service.impl;
+
+import com.banco.pagamento.br.config.ApplicationProperties;
+import com.banco.pagamento.br.service.PessoaFotoStore;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.OptionalLong;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * {@link PessoaFotoStore} keeping each photo in a file named after its SHA-256, under a two level fan-out
+ * ({@code ab/cd/abcd...}) so directories stay small. Variants are written next to their photo.
+ * <p>
+ * Files are written to a temporary file in the target directory, forced to disk and then atomically renamed,
+ * so readers never see a partial photo. Reads use {@link FileChannel#transferTo}, which lets the kernel copy
+ * the file when the target is a file or socket channel, and falls back to a direct buffer otherwise.
+ */
+@Service
+public class FileSystemPessoaFotoStore implements PessoaFotoStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileSystemPessoaFotoStore.class);
+
+    private static final Pattern SHA_256 = Pattern.compile("[0-9a-f]{64}");
+
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{64}(-[a-z0-9]+)?");
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final Path directory;
+
+    public FileSystemPessoaFotoStore(ApplicationProperties applicationProperties) {
+        this.directory = Path.of(applicationProperties.getPessoa().getFoto().getStoreDirectory()).toAbsolutePath();
+    }
+
+    @Override
+    public String store(byte[] content) {
+        String hash = sha256(content);
+        Path path = path(hash);
+        if (Files.exists(path)) {
+            LOG.debug("Foto {} already stored", hash);
+            return hash;
+        }
+        write(path, content);
+        LOG.debug("Stored foto {} ({} bytes)", hash, content.length);
+        return hash;
+    }
+
+    @Override
+    public void store(String key, byte[] content) {
+        if (SHA_256.matcher(key).matches()) {
+            throw new IllegalArgumentException("Not a variant key: " + key);
+        }
+        write(path(key), content);
+        LOG.debug("Stored foto variant {} ({} bytes)", key, content.length);
+    }
+
+    private static void write(Path path, byte[] content) {
+        try {
+            Files.createDirectories(path.getParent());
+            Path temp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+            try {
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                    ByteBuffer buffer = ByteBuffer.wrap(content);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    channel.force(true);
+                }
+                move(temp, path);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store foto " + path.getFileName(), e);
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            // the same content may be stored concurrently: replacing it is harmless
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public OptionalLong size(String key) {
+        try {
+            return OptionalLong.of(Files.size(path(key)));
+        } catch (NoSuchFileException e) {
+            return OptionalLong.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public InputStream newInputStream(String key) throws IOException {
+        return Files.newInputStream(path(key));
+    }
+
+    @Override
+    public void transferTo(String key, long position, long count, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(path(key), StandardOpenOption.READ)) {
+            long transferred = 0;
+            while (transferred < count) {
+                long n = channel.transferTo(position + transferred, count - transferred, target);
+                if (n <= 0 && position + transferred >= channel.size()) {
+                    throw new EOFException("Foto " + key + " is shorter than " + (position + count) + " bytes");
+                }
+                transferred += n;
+            }
+        }
+    }
+
+    private Path path(String key) {
+        if (key == null || !KEY.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid foto key: " + key);
+        }
+        return directory.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HEX.formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -2,12 +2,38 @@ package com.banco.pagamento.br.service.impl;
 
 import com.banco.pagamento.br.domain.Pessoa;
 import com.banco.pagamento.br.repository.PessoaRepository;
+import com.banco.pagamento.br.service.CpfAlreadyUsedException;
+import com.banco.pagamento.br.service.PessoaCpfFilter;
+import com.banco.pagamento.br.service.PessoaFotoStore;
+import com.banco.pagamento.br.service.PessoaFotoThumbnailService;
 import com.banco.pagamento.br.service.PessoaService;
 import com.banco.pagamento.br.service.dto.PessoaDTO;
+import com.banco.pagamento.br.service.dto.PessoaFotoDTO;
+import com.banco.pagamento.br.service.dto.PessoaVersionDTO;
 import com.banco.pagamento.br.service.mapper.PessoaMapper;
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.LongHashSet;
+import com.carrotsearch.hppc.LongObjectHashMap;
+import com.carrotsearch.hppc.cursors.LongCursor;
+import com.carrotsearch.hppc.cursors.LongObjectCursor;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,57 +46,338 @@ public class PessoaServiceImpl implements PessoaService {
 
     private static final Logger LOG = LoggerFactory.getLogger(PessoaServiceImpl.class);
 
+    /**
+     * Prefix of the unique indexes on the CPF, {@code ux_pessoa__cpf} and {@code ux_pessoa__cpf_numero}.
+     */
+    private static final String CPF_INDEX_PREFIX = "ux_pessoa__cpf";
+
     private final PessoaRepository pessoaRepository;
 
     private final PessoaMapper pessoaMapper;
 
-    public PessoaServiceImpl(PessoaRepository pessoaRepository, PessoaMapper pessoaMapper) {
+    private final PessoaFotoStore pessoaFotoStore;
+
+    private final PessoaFotoThumbnailService pessoaFotoThumbnailService;
+
+    private final PessoaCpfFilter pessoaCpfFilter;
+
+    private final Cache pessoaByIdCache;
+
+    public PessoaServiceImpl(
+        PessoaRepository pessoaRepository,
+        PessoaMapper pessoaMapper,
+        PessoaFotoStore pessoaFotoStore,
+        PessoaFotoThumbnailService pessoaFotoThumbnailService,
+        PessoaCpfFilter pessoaCpfFilter,
+        CacheManager cacheManager
+    ) {
         this.pessoaRepository = pessoaRepository;
         this.pessoaMapper = pessoaMapper;
+        this.pessoaFotoStore = pessoaFotoStore;
+        this.pessoaFotoThumbnailService = pessoaFotoThumbnailService;
+        this.pessoaCpfFilter = pessoaCpfFilter;
+        this.pessoaByIdCache = cacheManager.getCache(PESSOA_BY_ID_CACHE);
     }
 
     @Override
+    @CacheEvict(cacheNames = PESSOA_BY_ID_CACHE, key = "#result.id")
     public PessoaDTO save(PessoaDTO pessoaDTO) {
         LOG.debug("Request to save Pessoa : {}", pessoaDTO);
         Pessoa pessoa = pessoaMapper.toEntity(pessoaDTO);
+        if (pessoa.getId() == null) {
+            checkCpfAvailable(pessoa.getCpfNumero());
+        }
+        storeFoto(pessoa, pessoaDTO);
         pessoa = pessoaRepository.save(pessoa);
+        flush();
         return pessoaMapper.toDto(pessoa);
     }
 
     @Override
+    public List<PessoaDTO> saveAll(List<PessoaDTO> pessoaDTOs) {
+        LOG.debug("Request to save {} Pessoas", pessoaDTOs.size());
+        List<Pessoa> pessoas = pessoaMapper.toEntity(pessoaDTOs);
+        Set<Long> cpfNumeros = new HashSet<>();
+        for (Pessoa pessoa : pessoas) {
+            if (pessoa.getCpfNumero() != null && !cpfNumeros.add(pessoa.getCpfNumero())) {
+                throw new CpfAlreadyUsedException();
+            }
+            checkCpfAvailable(pessoa.getCpfNumero());
+        }
+        for (int i = 0; i < pessoas.size(); i++) {
+            storeFoto(pessoas.get(i), pessoaDTOs.get(i));
+        }
+        pessoas = pessoaRepository.saveAll(pessoas);
+        flush();
+        // the new ids may have been cached as missing
+        pessoas.forEach(pessoa -> pessoaByIdCache.evict(pessoa.getId()));
+        return pessoaMapper.toDto(pessoas);
+    }
+
+    @Override
+    @CacheEvict(cacheNames = PESSOA_BY_ID_CACHE, key = "#pessoaDTO.id")
     public PessoaDTO update(PessoaDTO pessoaDTO) {
         LOG.debug("Request to update Pessoa : {}", pessoaDTO);
-        Pessoa pessoa = pessoaMapper.toEntity(pessoaDTO);
-        pessoa.setIsPersisted();
-        pessoa = pessoaRepository.save(pessoa);
+        // the stored photo is kept unless a new one is given, so the DTO is applied to the current state
+        Pessoa pessoa = pessoaRepository.findById(pessoaDTO.getId()).orElseThrow();
+        checkVersion(pessoa, pessoaDTO.getVersion());
+        checkCpfChange(pessoa, pessoaDTO.getCpf());
+        pessoaMapper.update(pessoa, pessoaDTO);
+        storeFoto(pessoa, pessoaDTO);
+        // the pessoa is managed: the flush writes it, and sets its new version and audit fields
+        flush();
         return pessoaMapper.toDto(pessoa);
     }
 
     @Override
+    public List<PessoaDTO> updateAll(List<PessoaDTO> pessoaDTOs) {
+        LOG.debug("Request to update {} Pessoas", pessoaDTOs.size());
+        LongArrayList ids = new LongArrayList(pessoaDTOs.size());
+        pessoaDTOs.forEach(pessoaDTO -> ids.add(pessoaDTO.getId()));
+        LongObjectHashMap<Pessoa> pessoasById = findAllById(ids);
+        List<Pessoa> pessoas = new ArrayList<>(pessoaDTOs.size());
+        // every CPF is checked before any pessoa is modified, or the checks would flush them
+        Set<Long> cpfNumeros = new HashSet<>();
+        for (PessoaDTO pessoaDTO : pessoaDTOs) {
+            Pessoa pessoa = pessoasById.get(pessoaDTO.getId());
+            if (pessoa == null) {
+                throw new NoSuchElementException("No Pessoa " + pessoaDTO.getId());
+            }
+            checkVersion(pessoa, pessoaDTO.getVersion());
+            Long cpfNumero = Pessoa.normalizeCpf(pessoaDTO.getCpf());
+            if (cpfNumero != null && !cpfNumeros.add(cpfNumero)) {
+                throw new CpfAlreadyUsedException();
+            }
+            checkCpfChange(pessoa, pessoaDTO.getCpf());
+            pessoas.add(pessoa);
+        }
+        for (int i = 0; i < pessoas.size(); i++) {
+            pessoaMapper.update(pessoas.get(i), pessoaDTOs.get(i));
+            storeFoto(pessoas.get(i), pessoaDTOs.get(i));
+        }
+        flush();
+        pessoas.forEach(pessoa -> pessoaByIdCache.evict(pessoa.getId()));
+        return pessoaMapper.toDto(pessoas);
+    }
+
+    @Override
+    @CacheEvict(cacheNames = PESSOA_BY_ID_CACHE, key = "#pessoaDTO.id")
     public Optional<PessoaDTO> partialUpdate(PessoaDTO pessoaDTO) {
         LOG.debug("Request to partially update Pessoa : {}", pessoaDTO);
 
         return pessoaRepository
             .findById(pessoaDTO.getId())
             .map(existingPessoa -> {
+                checkVersion(existingPessoa, pessoaDTO.getVersion());
+                if (pessoaDTO.getCpf() != null) {
+                    checkCpfChange(existingPessoa, pessoaDTO.getCpf());
+                }
                 pessoaMapper.partialUpdate(existingPessoa, pessoaDTO);
+                storeFoto(existingPessoa, pessoaDTO);
+                flush();
 
                 return existingPessoa;
             })
-            .map(pessoaRepository::save)
             .map(pessoaMapper::toDto);
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = PESSOA_BY_ID_CACHE, sync = true)
     public Optional<PessoaDTO> findOne(Long id) {
         LOG.debug("Request to get Pessoa : {}", id);
         return pessoaRepository.findById(id).map(pessoaMapper::toDto);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Optional<PessoaVersionDTO> findVersion(Long id) {
+        LOG.debug("Request to get the version of Pessoa : {}", id);
+        return pessoaRepository
+            .findVersionById(id)
+            .map(version -> new PessoaVersionDTO(id, version.getVersion(), version.getLastModifiedDate()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PessoaDTO> findAll(LongArrayList ids) {
+        LOG.debug("Request to get {} Pessoas", ids.size());
+        LongObjectHashMap<Pessoa> pessoasById = findAllById(ids);
+        List<PessoaDTO> pessoaDTOs = new ArrayList<>(ids.size());
+        for (LongCursor id : ids) {
+            Pessoa pessoa = pessoasById.get(id.value);
+            pessoaDTOs.add(pessoa == null ? null : pessoaMapper.toDto(pessoa));
+        }
+        return pessoaDTOs;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<PessoaDTO> findOneByCpf(String cpf) {
+        LOG.debug("Request to get Pessoa by CPF");
+        Long cpfNumero = Pessoa.normalizeCpf(cpf);
+        if (cpfNumero == null) {
+            return Optional.empty();
+        }
+        return pessoaRepository.findOneByCpfNumero(cpfNumero).map(pessoaMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<PessoaFotoDTO> findFoto(Long id) {
+        LOG.debug("Request to get the foto of Pessoa : {}", id);
+        return pessoaRepository
+            .findById(id)
+            .filter(pessoa -> pessoa.getFotoHash() != null)
+            .flatMap(pessoa -> {
+                OptionalLong size = pessoaFotoStore.size(pessoa.getFotoHash());
+                if (size.isEmpty()) {
+                    LOG.warn("Foto {} of Pessoa {} is missing from the store", pessoa.getFotoHash(), id);
+                    return Optional.empty();
+                }
+                return Optional.of(new PessoaFotoDTO(id, pessoa.getFotoHash(), pessoa.getFotoContentType(), size.getAsLong()));
+            });
+    }
+
+    @Override
+    @CacheEvict(cacheNames = PESSOA_BY_ID_CACHE)
+    public boolean deleteFoto(Long id) {
+        LOG.debug("Request to delete the foto of Pessoa : {}", id);
+        return pessoaRepository
+            .findById(id)
+            .map(pessoa -> {
+                pessoa.setFotoHash(null);
+                pessoa.setFotoContentType(null);
+                return pessoaRepository.save(pessoa);
+            })
+            .isPresent();
+    }
+
+    /**
+     * Read the pessoas with the given ids in a single query, by id; the ids with no pessoa are not in the map.
+     */
+    private LongObjectHashMap<Pessoa> findAllById(LongArrayList ids) {
+        LongHashSet distinctIds = new LongHashSet(ids);
+        List<Long> boxedIds = new ArrayList<>(distinctIds.size());
+        for (LongCursor id : distinctIds) {
+            boxedIds.add(id.value);
+        }
+        LongObjectHashMap<Pessoa> pessoasById = new LongObjectHashMap<>(boxedIds.size());
+        for (Pessoa pessoa : pessoaRepository.findAllById(boxedIds)) {
+            pessoasById.put(pessoa.getId(), pessoa);
+        }
+        return pessoasById;
+    }
+
+    /**
+     * Check that no pessoa has the given CPF, querying the database only when the {@link PessoaCpfFilter} cannot rule
+     * it out, and add it to the filter.
+     *
+     * @param cpfNumero the normalized CPF about to be written, {@code null} if there is none.
+     * @throws CpfAlreadyUsedException if another pessoa has it.
+     */
+    private void checkCpfAvailable(Long cpfNumero) {
+        if (cpfNumero == null) {
+            return;
+        }
+        if (pessoaCpfFilter.mightContain(cpfNumero)) {
+            if (pessoaRepository.existsByCpfNumero(cpfNumero)) {
+                throw new CpfAlreadyUsedException();
+            }
+            pessoaCpfFilter.recordFalsePositive();
+        }
+        pessoaCpfFilter.add(cpfNumero);
+    }
+
+    /**
+     * Write the pending changes. The {@link PessoaCpfFilter} can miss a CPF written concurrently, which the unique
+     * indexes on the CPF then reject: that violation is a {@link CpfAlreadyUsedException}, as if the check had found it.
+     *
+     * @throws CpfAlreadyUsedException if a pessoa written has the CPF of another pessoa.
+     */
+    private void flush() {
+        try {
+            pessoaRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            if (isCpfViolation(e)) {
+                throw new CpfAlreadyUsedException(e);
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isCpfViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            String constraint = cause instanceof ConstraintViolationException violation ? violation.getConstraintName() : cause.getMessage();
+            if (constraint != null && constraint.toLowerCase(Locale.ROOT).contains(CPF_INDEX_PREFIX)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check that a pessoa about to be updated still has the version the update is based on.
+     *
+     * @param version the expected version, {@code null} to update whatever the version.
+     * @throws ObjectOptimisticLockingFailureException if the pessoa has another version.
+     */
+    private void checkVersion(Pessoa pessoa, Long version) {
+        if (version != null && !version.equals(pessoa.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Pessoa.class, pessoa.getId());
+        }
+    }
+
+    /**
+     * Check the CPF an existing pessoa is updated with, if it changes. Must run before the pessoa is modified, or the
+     * check would flush it first.
+     */
+    private void checkCpfChange(Pessoa pessoa, String cpf) {
+        Long cpfNumero = Pessoa.normalizeCpf(cpf);
+        if (!Objects.equals(cpfNumero, pessoa.getCpfNumero())) {
+            checkCpfAvailable(cpfNumero);
+        }
+    }
+
+    /**
+     * Store the photo carried by the DTO, if any: a {@code null} photo keeps the current one.
+     * <p>
+     * The photo is written before the transaction commits; if it rolls back, the stored content is left unreferenced.
+     * Its thumbnail is generated once the transaction commits.
+     */
+    private void storeFoto(Pessoa pessoa, PessoaDTO pessoaDTO) {
+        if (pessoaDTO.getFoto() != null) {
+            pessoa.setFotoHash(pessoaFotoStore.store(pessoaDTO.getFoto()));
+            pessoa.setFotoContentType(pessoaDTO.getFotoContentType());
+            pessoaFotoThumbnailService.generateAfterCommit(pessoa.getFotoHash());
+        }
+    }
+
+    @Override
+    @CacheEvict(cacheNames = PESSOA_BY_ID_CACHE)
     public void delete(Long id) {
         LOG.debug("Request to delete Pessoa : {}", id);
         pessoaRepository.deleteById(id);
+        pessoaCpfFilter.recordDeletion();
+    }
+
+    @Override
+    public LongHashSet deleteAll(LongArrayList ids) {
+        LOG.debug("Request to delete {} Pessoas", ids.size());
+        LongObjectHashMap<Pessoa> pessoasById = findAllById(ids);
+        LongHashSet deleted = new LongHashSet(pessoasById.size());
+        List<Pessoa> pessoas = new ArrayList<>(pessoasById.size());
+        for (LongObjectCursor<Pessoa> pessoa : pessoasById) {
+            deleted.add(pessoa.key);
+            pessoas.add(pessoa.value);
+        }
+        // deleted as entities, not by a bulk query, so the caches and indexes listening to Hibernate see them
+        pessoaRepository.deleteAll(pessoas);
+        pessoaRepository.flush();
+        for (LongCursor id : deleted) {
+            pessoaByIdCache.evict(id.value);
+            pessoaCpfFilter.recordDeletion();
+        }
+        return deleted;
     }
 }
@@ -6,6 +6,43 @@ import org.mapstruct.*;
 
 /**
  * Mapper for the entity {@link Pessoa} and its DTO {@link PessoaDTO}.
+ * <p>
+ * The photo is not part of {@link Pessoa}: it is stored by the service, which also sets its hash and content type.
+ * The version is only written by Hibernate: the version of a DTO is the one it expects the pessoa to have.
  */
 @Mapper(componentModel = "spring")
-public interface PessoaMapper extends EntityMapper<PessoaDTO, Pessoa> {}
+public interface PessoaMapper extends EntityMapper<PessoaDTO, Pessoa> {
+    @Override
+    @Mapping(target = "foto", ignore = true)
+    PessoaDTO toDto(Pessoa s);
+
+    @Override
+    @Mapping(target = "fotoContentType", ignore = true)
+    @Mapping(target = "fotoHash", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    Pessoa toEntity(PessoaDTO pessoaDTO);
+
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "fotoContentType", ignore = true)
+    @Mapping(target = "fotoHash", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void partialUpdate(@MappingTarget Pessoa entity, PessoaDTO dto);
+
+    /**
+     * Copy all the fields of the DTO to an existing entity, except the photo, the version and the audit fields.
+     *
+     * @param entity the entity to update.
+     * @param dto the DTO.
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "fotoContentType", ignore = true)
+    @Mapping(target = "fotoHash", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "createdBy", ignore = true)
+    @Mapping(target = "createdDate", ignore = true)
+    @Mapping(target = "lastModifiedBy", ignore = true)
+    @Mapping(target = "lastModifiedDate", ignore = true)
+    void update(@MappingTarget Pessoa entity, PessoaDTO dto);
+}
@@ -0,0 +1,207 @@
+package com.banco.pagamento.br.web.interceptor;
+
+import com.banco.pagamento.br.config.ApplicationProperties;
+import com.banco.pagamento.br.web.rest.PessoaResource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Adaptive limit of the requests to {@link PessoaResource} running at once, one for the reads ({@code GET},
+ * {@code HEAD}) and one for the writes.
+ * <p>
+ * Each limit is additive-increase, multiplicative-decrease: a request slower than the latency threshold, or failing
+ * with a server error, multiplies the limit by the backoff ratio, and any other request raises it by one, as long as
+ * the requests in flight use at least half of it. When MySQL slows down, the requests then wait in the clients instead
+ * of in the Hikari pool: the requests over the limit are rejected at once with {@code 503 (Service Unavailable)} and a
+ * {@code Retry-After} header.
+ * <p>
+ * The limits are published as {@code pessoa.concurrency.limit}, the requests in flight as
+ * {@code pessoa.concurrency.in.flight} and the rejected requests as {@code pessoa.concurrency.rejected}, all tagged by
+ * {@code operation}, {@code read} or {@code write}.
+ */
+@Component
+public class PessoaConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PessoaConcurrencyLimitInterceptor.class);
+
+    private static final String PERMIT_ATTRIBUTE = PessoaConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+    private final AimdLimit reads;
+
+    private final AimdLimit writes;
+
+    private final String retryAfter;
+
+    public PessoaConcurrencyLimitInterceptor(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.Pessoa.ConcurrencyLimit properties = applicationProperties.getPessoa().getConcurrencyLimit();
+        this.reads = new AimdLimit(properties.getReads(), properties.getBackoffRatio(), "read", meterRegistry);
+        this.writes = new AimdLimit(properties.getWrites(), properties.getBackoffRatio(), "write", meterRegistry);
+        // Retry-After is a whole number of seconds
+        this.retryAfter = Long.toString(Math.max(1, properties.getRetryAfter().plusMillis(999).toSeconds()));
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!isPessoaResource(handler) || request.getDispatcherType() == DispatcherType.ASYNC) {
+            // an async dispatch keeps the permit of the request
+            return true;
+        }
+        AimdLimit limit = isRead(request) ? reads : writes;
+        if (!limit.tryAcquire()) {
+            LOG.debug("Rejecting {} {}: {} requests in flight", request.getMethod(), request.getRequestURI(), limit.getInFlight());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+            return false;
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, new Permit(limit, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.isAsyncStarted() || !(request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit)) {
+            return;
+        }
+        request.removeAttribute(PERMIT_ATTRIBUTE);
+        permit.limit().release(permit.startNanos(), System.nanoTime(), ex != null || response.getStatus() >= 500);
+    }
+
+    private static boolean isPessoaResource(Object handler) {
+        return handler instanceof HandlerMethod handlerMethod && PessoaResource.class.isAssignableFrom(handlerMethod.getBeanType());
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+    }
+
+    private record Permit(AimdLimit limit, long startNanos) {}
+
+    /**
+     * An additive-increase, multiplicative-decrease concurrency limit.
+     */
+    static final class AimdLimit {
+
+        private final int minLimit;
+
+        private final int maxLimit;
+
+        private final long latencyThresholdNanos;
+
+        private final double backoffRatio;
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private final Counter rejected;
+
+        private volatile int limit;
+
+        /**
+         * When the limit last backed off: the requests started before do not back it off again, so a burst of slow
+         * requests only backs it off once.
+         */
+        private long lastBackoffNanos;
+
+        AimdLimit(ApplicationProperties.Pessoa.ConcurrencyLimit.Limit properties, double backoffRatio, String operation, MeterRegistry meterRegistry) {
+            this(
+                properties.getInitialLimit(),
+                properties.getMinLimit(),
+                properties.getMaxLimit(),
+                properties.getLatencyThreshold(),
+                backoffRatio,
+                operation,
+                meterRegistry
+            );
+        }
+
+        AimdLimit(
+            int initialLimit,
+            int minLimit,
+            int maxLimit,
+            Duration latencyThreshold,
+            double backoffRatio,
+            String operation,
+            MeterRegistry meterRegistry
+        ) {
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.latencyThresholdNanos = latencyThreshold.toNanos();
+            this.backoffRatio = backoffRatio;
+            this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+            this.lastBackoffNanos = System.nanoTime();
+            Gauge.builder("pessoa.concurrency.limit", this, AimdLimit::getLimit)
+                .description("Requests to the pessoa endpoints let through at once")
+                .tag("operation", operation)
+                .register(meterRegistry);
+            Gauge.builder("pessoa.concurrency.in.flight", inFlight, AtomicInteger::get)
+                .description("Requests to the pessoa endpoints in flight")
+                .tag("operation", operation)
+                .register(meterRegistry);
+            this.rejected = Counter.builder("pessoa.concurrency.rejected")
+                .description("Requests to the pessoa endpoints rejected over the limit")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        }
+
+        /**
+         * Take a place under the limit.
+         *
+         * @return whether the request can run; if not, it is counted as rejected.
+         */
+        boolean tryAcquire() {
+            while (true) {
+                int current = inFlight.get();
+                if (current >= limit) {
+                    rejected.increment();
+                    return false;
+                }
+                if (inFlight.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Give the place of a request back, and adapt the limit to how it went.
+         *
+         * @param startNanos when the request started.
+         * @param endNanos when the request ended.
+         * @param failed whether the request failed with a server error.
+         */
+        void release(long startNanos, long endNanos, boolean failed) {
+            int inFlightBefore = inFlight.getAndDecrement();
+            synchronized (this) {
+                if (failed || endNanos - startNanos > latencyThresholdNanos) {
+                    if (startNanos - lastBackoffNanos >= 0) {
+                        limit = Math.max(minLimit, (int) (limit * backoffRatio));
+                        lastBackoffNanos = endNanos;
+                    }
+                } else if (inFlightBefore * 2 >= limit && limit < maxLimit) {
+                    // only grow a limit the requests use
+                    limit++;
+                }
+            }
+        }
+
+        int getLimit() {
+            return limit;
+        }
+
+        int getInFlight() {
+            return inFlight.get();
+        }
+    }
+}
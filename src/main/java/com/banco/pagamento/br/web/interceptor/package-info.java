@@ -0,0 +1,4 @@
+/**
+ * Spring MVC handler interceptors.
+ */
+package com.banco.pagamento.br.web.interceptor;
@@ -0,0 +1,215 @@
+package com.banco.pagamento.br.web.rest;
+
+import com.banco.pagamento.br.service.PessoaBatchService;
+import com.banco.pagamento.br.service.PessoaExportService;
+import com.banco.pagamento.br.service.PessoaImportService;
+import com.banco.pagamento.br.service.criteria.PessoaCriteria;
+import com.banco.pagamento.br.service.criteria.PessoaFields;
+import com.banco.pagamento.br.service.dto.PessoaBatchResultDTO;
+import com.banco.pagamento.br.service.dto.PessoaDTO;
+import com.banco.pagamento.br.service.dto.PessoaImportResultDTO;
+import com.banco.pagamento.br.web.rest.errors.BadRequestAlertException;
+import com.carrotsearch.hppc.LongArrayList;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * REST controller for bulk operations on {@link com.banco.pagamento.br.domain.Pessoa}.
+ */
+@RestController
+@RequestMapping("/api/pessoas")
+public class PessoaBulkResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PessoaBulkResource.class);
+
+    private static final String ENTITY_NAME = "servicePagamentoPessoa";
+
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final PessoaImportService pessoaImportService;
+
+    private final PessoaExportService pessoaExportService;
+
+    private final PessoaBatchService pessoaBatchService;
+
+    public PessoaBulkResource(
+        PessoaImportService pessoaImportService,
+        PessoaExportService pessoaExportService,
+        PessoaBatchService pessoaBatchService
+    ) {
+        this.pessoaImportService = pessoaImportService;
+        this.pessoaExportService = pessoaExportService;
+        this.pessoaBatchService = pessoaBatchService;
+    }
+
+    /**
+     * {@code POST  /pessoas/batch} : Create a batch of pessoas.
+     * <p>
+     * Every pessoa is validated on its own; the valid ones are written in chunks, one transaction per chunk.
+     *
+     * @param pessoaDTOs the pessoas to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the status of every pessoa,
+     * or with status {@code 400 (Bad Request)} if the batch is too large.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<PessoaBatchResultDTO> createPessoas(@RequestBody List<PessoaDTO> pessoaDTOs) {
+        LOG.debug("REST request to create a batch of {} Pessoas", pessoaDTOs.size());
+        return ResponseEntity.ok().body(batch(() -> pessoaBatchService.createAll(pessoaDTOs)));
+    }
+
+    /**
+     * {@code PUT  /pessoas/batch} : Update a batch of pessoas.
+     * <p>
+     * Every pessoa is validated on its own; the valid ones are written in chunks, one transaction per chunk.
+     *
+     * @param pessoaDTOs the pessoas to update, with their id.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the status of every pessoa,
+     * or with status {@code 400 (Bad Request)} if the batch is too large.
+     */
+    @PutMapping("/batch")
+    public ResponseEntity<PessoaBatchResultDTO> updatePessoas(@RequestBody List<PessoaDTO> pessoaDTOs) {
+        LOG.debug("REST request to update a batch of {} Pessoas", pessoaDTOs.size());
+        return ResponseEntity.ok().body(batch(() -> pessoaBatchService.updateAll(pessoaDTOs)));
+    }
+
+    /**
+     * {@code POST  /pessoas/batch/delete} : Delete a batch of pessoas.
+     * <p>
+     * The ids are sent in the body, as a JSON array, since a large batch would not fit in a URL.
+     *
+     * @param ids the ids of the pessoas to delete.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the status of every id,
+     * or with status {@code 400 (Bad Request)} if the batch is too large.
+     */
+    @PostMapping("/batch/delete")
+    public ResponseEntity<PessoaBatchResultDTO> deletePessoas(@RequestBody long[] ids) {
+        LOG.debug("REST request to delete a batch of {} Pessoas", ids.length);
+        return ResponseEntity.ok().body(batch(() -> pessoaBatchService.deleteAll(LongArrayList.from(ids))));
+    }
+
+    /**
+     * {@code POST  /pessoas/batch/get} : Get a batch of pessoas.
+     * <p>
+     * The ids are sent in the body, as a JSON array, since a large batch would not fit in a URL.
+     *
+     * @param ids the ids of the pessoas to get.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the pessoas in the order of the ids,
+     * {@code null} for the ids with no pessoa, or with status {@code 400 (Bad Request)} if the batch is too large.
+     */
+    @PostMapping("/batch/get")
+    public ResponseEntity<List<PessoaDTO>> getPessoas(@RequestBody long[] ids) {
+        LOG.debug("REST request to get a batch of {} Pessoas", ids.length);
+        return ResponseEntity.ok().body(batch(() -> pessoaBatchService.findAll(LongArrayList.from(ids))));
+    }
+
+    /**
+     * {@code POST  /pessoas/import} : Import pessoas from newline delimited JSON, one pessoa per line.
+     * <p>
+     * The request body is read as a stream; rows are validated as they arrive and written in chunks.
+     *
+     * @param content the request body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the import report.
+     * @throws IOException if the request body cannot be read.
+     */
+    @PostMapping(value = "/import", consumes = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<PessoaImportResultDTO> importPessoasNdjson(InputStream content) throws IOException {
+        LOG.debug("REST request to import Pessoas from NDJSON");
+        return ResponseEntity.ok().body(pessoaImportService.importNdjson(content));
+    }
+
+    /**
+     * {@code POST  /pessoas/import} : Import pessoas from CSV with a header row.
+     * <p>
+     * The request body is read as a stream; rows are validated as they arrive and written in chunks.
+     *
+     * @param content the request body.
+     * @param separator the field separator, {@code ;} by default.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the import report,
+     * or with status {@code 400 (Bad Request)} if the header is missing or incomplete.
+     * @throws IOException if the request body cannot be read.
+     */
+    @PostMapping(value = "/import", consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<PessoaImportResultDTO> importPessoasCsv(
+        InputStream content,
+        @RequestParam(value = "separator", defaultValue = ";") char separator
+    ) throws IOException {
+        LOG.debug("REST request to import Pessoas from CSV");
+        try {
+            return ResponseEntity.ok().body(pessoaImportService.importCsv(content, separator));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "invalidheader");
+        }
+    }
+
+    /**
+     * {@code GET  /pessoas/export} : export all the pessoas matching the criteria, ordered by id.
+     * <p>
+     * Rows are streamed from a database cursor straight to the response, without offset paging.
+     *
+     * @param criteria the criteria which the exported entities should match.
+     * @param format the output format, {@code ndjson} (default) or {@code csv}.
+     * @param separator the CSV field separator, {@code ;} by default.
+     * @param fields the comma separated fields to export, e.g. {@code id,nome,cpf}; all of them by default.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the exported pessoas in body,
+     * or with status {@code 400 (Bad Request)} if the format or a field is unknown.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPessoas(
+        PessoaCriteria criteria,
+        @RequestParam(value = "format", defaultValue = "ndjson") String format,
+        @RequestParam(value = "separator", defaultValue = ";") char separator,
+        @RequestParam(value = "fields", required = false) String fields
+    ) {
+        LOG.debug("REST request to export Pessoas by criteria: {}, fields: {}", criteria, fields);
+        PessoaFields pessoaFields = fields == null ? null : parseFields(fields);
+        StreamingResponseBody body;
+        MediaType contentType;
+        switch (format) {
+            case "ndjson" -> {
+                contentType = MediaType.parseMediaType(APPLICATION_NDJSON_VALUE);
+                body = pessoaFields == null
+                    ? output -> pessoaExportService.exportNdjson(criteria, output)
+                    : output -> pessoaExportService.exportNdjson(criteria, pessoaFields, output);
+            }
+            case "csv" -> {
+                contentType = new MediaType("text", "csv", StandardCharsets.UTF_8);
+                body = pessoaFields == null
+                    ? output -> pessoaExportService.exportCsv(criteria, output, separator)
+                    : output -> pessoaExportService.exportCsv(criteria, pessoaFields, output, separator);
+            }
+            default -> throw new BadRequestAlertException("Unknown export format", ENTITY_NAME, "formatinvalid");
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentDisposition(ContentDisposition.attachment().filename("pessoas." + format).build());
+        return ResponseEntity.ok().headers(headers).contentType(contentType).body(body);
+    }
+
+    private static <T> T batch(Supplier<T> operation) {
+        try {
+            return operation.get();
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "batchtoolarge");
+        }
+    }
+
+    private PessoaFields parseFields(String fields) {
+        try {
+            return PessoaFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid fields", ENTITY_NAME, "fieldsinvalid");
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.banco.pagamento.br.web.rest;
+
+import com.banco.pagamento.br.config.ApplicationProperties;
+import com.banco.pagamento.br.service.PessoaFotoStore;
+import com.banco.pagamento.br.service.PessoaFotoThumbnailService;
+import com.banco.pagamento.br.service.PessoaService;
+import com.banco.pagamento.br.service.dto.PessoaFotoDTO;
+import java.nio.channels.Channels;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tech.jhipster.web.util.HeaderUtil;
+
+/**
+ * REST controller for the photo of {@link com.banco.pagamento.br.domain.Pessoa}.
+ * <p>
+ * Photos are written through {@link PessoaResource}, as part of the pessoa.
+ */
+@RestController
+@RequestMapping("/api/pessoas")
+public class PessoaFotoResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PessoaFotoResource.class);
+
+    private static final String ENTITY_NAME = "servicePagamentoPessoa";
+
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
+    private final PessoaService pessoaService;
+
+    private final PessoaFotoStore pessoaFotoStore;
+
+    private final PessoaFotoThumbnailService pessoaFotoThumbnailService;
+
+    private final Duration thumbnailWaitTimeout;
+
+    private final String thumbnailRetryAfter;
+
+    public PessoaFotoResource(
+        PessoaService pessoaService,
+        PessoaFotoStore pessoaFotoStore,
+        PessoaFotoThumbnailService pessoaFotoThumbnailService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.pessoaService = pessoaService;
+        this.pessoaFotoStore = pessoaFotoStore;
+        this.pessoaFotoThumbnailService = pessoaFotoThumbnailService;
+        this.thumbnailWaitTimeout = applicationProperties.getPessoa().getFoto().getThumbnail().getWaitTimeout();
+        // Retry-After is a whole number of seconds
+        this.thumbnailRetryAfter = Long.toString(Math.max(1, thumbnailWaitTimeout.plusMillis(999).toSeconds()));
+    }
+
+    /**
+     * {@code GET  /pessoas/:id/foto} : get the photo of the "id" pessoa.
+     * <p>
+     * The raw bytes are copied from the photo store with the stored content type; the {@code ETag} is the SHA-256 of
+     * the photo. Conditional requests ({@code If-None-Match}) and single byte ranges ({@code Range}, {@code If-Range})
+     * are supported.
+     *
+     * @param id the id of the pessoa.
+     * @param requestHeaders the request headers.
+     * @param webRequest the request, for conditional requests.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} or {@code 206 (Partial Content)} and the photo in body,
+     * or with status {@code 304 (Not Modified)} if the photo did not change,
+     * or with status {@code 416 (Range Not Satisfiable)} if the range is outside of the photo,
+     * or with status {@code 404 (Not Found)} if the pessoa does not exist or has no photo.
+     */
+    @GetMapping("/{id}/foto")
+    public ResponseEntity<StreamingResponseBody> getPessoaFoto(
+        @PathVariable("id") Long id,
+        @RequestHeader HttpHeaders requestHeaders,
+        WebRequest webRequest
+    ) {
+        LOG.debug("REST request to get the foto of Pessoa : {}", id);
+        Optional<PessoaFotoDTO> pessoaFoto = pessoaService.findFoto(id);
+        if (pessoaFoto.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        PessoaFotoDTO foto = pessoaFoto.orElseThrow();
+        String eTag = "\"" + foto.getFotoHash() + "\"";
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        long size = foto.getSize();
+        long start = 0;
+        long end = size - 1;
+        HttpStatus status = HttpStatus.OK;
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(fotoMediaType(foto.getFotoContentType()));
+        headers.setETag(eTag);
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        String ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+        if (requestHeaders.containsKey(HttpHeaders.RANGE) && (ifRange == null || ifRange.equals(eTag))) {
+            try {
+                List<HttpRange> ranges = requestHeaders.getRange();
+                // several ranges are answered with the whole photo
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(size);
+                    end = ranges.get(0).getRangeEnd(size);
+                    if (start >= size || end < start) {
+                        throw new IllegalArgumentException("Range " + ranges.get(0) + " is outside of the foto");
+                    }
+                    status = HttpStatus.PARTIAL_CONTENT;
+                    headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+                }
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                    .build();
+            }
+        }
+
+        long position = start;
+        long count = end - start + 1;
+        headers.setContentLength(count);
+        StreamingResponseBody body = output -> {
+            pessoaFotoStore.transferTo(foto.getFotoHash(), position, count, Channels.newChannel(output));
+            output.flush();
+        };
+        return ResponseEntity.status(status).headers(headers).body(body);
+    }
+
+    /**
+     * {@code GET  /pessoas/foto-thumbnails/:fotoHash} : get the JPEG thumbnail of a photo.
+     * <p>
+     * The photo is addressed by the {@code fotoHash} of the pessoa, so the thumbnail of a URL never changes and
+     * may be cached for a year. It is generated on the thumbnail pool if it is not yet, and the request waits for it
+     * up to {@code application.pessoa.foto.thumbnail.wait-timeout}.
+     *
+     * @param fotoHash the hash of the photo.
+     * @param webRequest the request, for conditional requests.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the thumbnail in body,
+     * or with status {@code 304 (Not Modified)} if the client already has it,
+     * or with status {@code 404 (Not Found)} if the photo is not stored or is not an image,
+     * or with status {@code 503 (Service Unavailable)} and a {@code Retry-After} header if the thumbnail is still
+     * being generated.
+     */
+    @GetMapping("/foto-thumbnails/{fotoHash:[0-9a-f]{64}}")
+    public ResponseEntity<StreamingResponseBody> getPessoaFotoThumbnail(@PathVariable("fotoHash") String fotoHash, WebRequest webRequest) {
+        LOG.debug("REST request to get the thumbnail of foto : {}", fotoHash);
+        String key = pessoaFotoThumbnailService.thumbnailKey(fotoHash);
+        String eTag = "\"" + key + "\"";
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        OptionalLong size;
+        try {
+            size = pessoaFotoThumbnailService.findOrGenerate(fotoHash).get(thumbnailWaitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            LOG.debug("The thumbnail of foto {} is still being generated", fotoHash);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, thumbnailRetryAfter).build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, thumbnailRetryAfter).build();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        }
+        if (size.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        long count = size.getAsLong();
+        StreamingResponseBody body = output -> {
+            pessoaFotoStore.transferTo(key, 0, count, Channels.newChannel(output));
+            output.flush();
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.IMAGE_JPEG)
+            .contentLength(count)
+            .eTag(eTag)
+            .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable())
+            .body(body);
+    }
+
+    private static MediaType fotoMediaType(String fotoContentType) {
+        if (fotoContentType != null) {
+            try {
+                return MediaType.parseMediaType(fotoContentType);
+            } catch (InvalidMediaTypeException e) {
+                LOG.warn("Invalid foto content type: {}", fotoContentType);
+            }
+        }
+        return MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    /**
+     * {@code DELETE  /pessoas/:id/foto} : remove the photo of the "id" pessoa.
+     *
+     * @param id the id of the pessoa.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}, or with status {@code 404 (Not Found)}.
+     */
+    @DeleteMapping("/{id}/foto")
+    public ResponseEntity<Void> deletePessoaFoto(@PathVariable("id") Long id) {
+        LOG.debug("REST request to delete the foto of Pessoa : {}", id);
+        if (!pessoaService.deleteFoto(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, id.toString()))
+            .build();
+    }
+}
@@ -1,27 +1,50 @@
 package com.banco.pagamento.br.web.rest;
 
-import com.banco.pagamento.br.repository.PessoaRepository;
+import com.banco.pagamento.br.config.Constants;
+import com.banco.pagamento.br.service.PessoaNomeIndex;
 import com.banco.pagamento.br.service.PessoaQueryService;
 import com.banco.pagamento.br.service.PessoaService;
+import com.banco.pagamento.br.service.UncountedPage;
 import com.banco.pagamento.br.service.criteria.PessoaCriteria;
+import com.banco.pagamento.br.service.criteria.PessoaCriteriaKey;
+import com.banco.pagamento.br.service.criteria.PessoaFields;
+import com.banco.pagamento.br.service.criteria.PessoaKeysetCursor;
 import com.banco.pagamento.br.service.dto.PessoaDTO;
+import com.banco.pagamento.br.service.dto.PessoaSuggestionDTO;
+import com.banco.pagamento.br.service.dto.PessoaVersionDTO;
 import com.banco.pagamento.br.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Instant;
+import java.time.MonthDay;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.BiFunction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
@@ -37,19 +60,31 @@ public class PessoaResource {
 
     private static final String ENTITY_NAME = "servicePagamentoPessoa";
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    static final String TOTAL_COUNT_APPROXIMATE_HEADER = "X-Total-Count-Approximate";
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 2000;
+
+    private static final int MAX_SUGGESTIONS = 50;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final PessoaService pessoaService;
 
-    private final PessoaRepository pessoaRepository;
-
     private final PessoaQueryService pessoaQueryService;
 
-    public PessoaResource(PessoaService pessoaService, PessoaRepository pessoaRepository, PessoaQueryService pessoaQueryService) {
+    private final PessoaNomeIndex pessoaNomeIndex;
+
+    public PessoaResource(
+        PessoaService pessoaService,
+        PessoaQueryService pessoaQueryService,
+        PessoaNomeIndex pessoaNomeIndex
+    ) {
         this.pessoaService = pessoaService;
-        this.pessoaRepository = pessoaRepository;
         this.pessoaQueryService = pessoaQueryService;
+        this.pessoaNomeIndex = pessoaNomeIndex;
     }
 
     /**
@@ -68,22 +103,29 @@ public class PessoaResource {
         pessoaDTO = pessoaService.save(pessoaDTO);
         return ResponseEntity.created(new URI("/api/pessoas/" + pessoaDTO.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, pessoaDTO.getId().toString()))
+            .eTag(eTag(pessoaDTO.getVersion()))
             .body(pessoaDTO);
     }
 
     /**
      * {@code PUT  /pessoas/:id} : Updates an existing pessoa.
+     * <p>
+     * With an {@code If-Match} header, the pessoa is only updated if its {@code ETag} still matches; without it, the
+     * update still fails if the pessoa is updated concurrently. The pessoa is read and written in a single transaction.
      *
      * @param id the id of the pessoaDTO to save.
+     * @param ifMatch the {@code ETag} of the pessoa the update is based on, or {@code *}.
      * @param pessoaDTO the pessoaDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated pessoaDTO,
      * or with status {@code 400 (Bad Request)} if the pessoaDTO is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the pessoa was modified meanwhile,
      * or with status {@code 500 (Internal Server Error)} if the pessoaDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<PessoaDTO> updatePessoa(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Valid @RequestBody PessoaDTO pessoaDTO
     ) throws URISyntaxException {
         LOG.debug("REST request to update Pessoa : {}, {}", id, pessoaDTO);
@@ -93,31 +135,38 @@ public class PessoaResource {
         if (!Objects.equals(id, pessoaDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        pessoaDTO.setVersion(parseIfMatch(ifMatch));
 
-        if (!pessoaRepository.existsById(id)) {
+        try {
+            pessoaDTO = pessoaService.update(pessoaDTO);
+        } catch (NoSuchElementException e) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
-
-        pessoaDTO = pessoaService.update(pessoaDTO);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, pessoaDTO.getId().toString()))
+            .eTag(eTag(pessoaDTO.getVersion()))
             .body(pessoaDTO);
     }
 
     /**
      * {@code PATCH  /pessoas/:id} : Partial updates given fields of an existing pessoa, field will ignore if it is null
+     * <p>
+     * With an {@code If-Match} header, the pessoa is only updated if its {@code ETag} still matches; without it, the
+     * update still fails if the pessoa is updated concurrently. The pessoa is read and written in a single transaction.
      *
      * @param id the id of the pessoaDTO to save.
+     * @param ifMatch the {@code ETag} of the pessoa the update is based on, or {@code *}.
      * @param pessoaDTO the pessoaDTO to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated pessoaDTO,
-     * or with status {@code 400 (Bad Request)} if the pessoaDTO is not valid,
-     * or with status {@code 404 (Not Found)} if the pessoaDTO is not found,
+     * or with status {@code 400 (Bad Request)} if the pessoaDTO is not valid or not found,
+     * or with status {@code 412 (Precondition Failed)} if the pessoa was modified meanwhile,
      * or with status {@code 500 (Internal Server Error)} if the pessoaDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<PessoaDTO> partialUpdatePessoa(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody PessoaDTO pessoaDTO
     ) throws URISyntaxException {
         LOG.debug("REST request to partial update Pessoa partially : {}, {}", id, pessoaDTO);
@@ -127,36 +176,304 @@ public class PessoaResource {
         if (!Objects.equals(id, pessoaDTO.getId())) {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
+        pessoaDTO.setVersion(parseIfMatch(ifMatch));
 
-        if (!pessoaRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        PessoaDTO result = pessoaService
+            .partialUpdate(pessoaDTO)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+            .eTag(eTag(result.getVersion()))
+            .body(result);
+    }
 
-        Optional<PessoaDTO> result = pessoaService.partialUpdate(pessoaDTO);
+    /**
+     * The {@code ETag} of a pessoa: its version, as a strong entity tag.
+     */
+    static String eTag(Long version) {
+        return "\"" + version + "\"";
+    }
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, pessoaDTO.getId().toString())
-        );
+    /**
+     * The version an {@code If-Match} header requires.
+     *
+     * @param ifMatch a single strong entity tag, {@code *}, or {@code null}.
+     * @return the version, or {@code null} if any version matches.
+     * @throws ResponseStatusException with status {@code 412 (Precondition Failed)} if no version can match.
+     */
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.strip().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.strip();
+        // a weak tag never matches If-Match, and the versions are the only tags served
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // falls through
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match does not match the pessoa");
     }
 
     /**
      * {@code GET  /pessoas} : get all the pessoas.
+     * <p>
+     * The {@code total} parameter tells how the matching pessoas are counted for the {@code X-Total-Count} header:
+     * <ul>
+     *     <li>{@code exact} (the default) counts them with a second query, unless it takes too long: the pessoas are
+     *     then not counted, as with {@code none};</li>
+     *     <li>{@code none} does not count them: there is no {@code X-Total-Count} header and the {@code Link} header
+     *     only has a {@code next} link when there is a next page;</li>
+     *     <li>{@code approximate} estimates them from the table statistics, and sets the
+     *     {@code X-Total-Count-Approximate} header to {@code true}, unless the total is known from the last page. The
+     *     statistics say nothing of the criteria: with criteria, the pessoas are not counted before the last page, as
+     *     with {@code none}.</li>
+     * </ul>
      *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of pessoas in body.
+     * @param total how to count the matching pessoas: {@code exact}, {@code none} or {@code approximate}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of pessoas in body,
+     * or with status {@code 400 (Bad Request)} if the total is not valid.
      */
     @GetMapping("")
     public ResponseEntity<List<PessoaDTO>> getAllPessoas(
         PessoaCriteria criteria,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "total", defaultValue = "exact") String total
+    ) {
+        LOG.debug("REST request to get Pessoas by criteria: {}, total: {}", criteria, total);
+        return listPessoas(criteria, pageable, total, pessoaQueryService::findByCriteria, pessoaQueryService::findSliceByCriteria);
+    }
+
+    /**
+     * {@code GET  /pessoas?fields=} : get some fields of all the pessoas, e.g. {@code fields=id,nome,cpf}.
+     * <p>
+     * Only the requested fields are read from the database and returned, as {@code GET /pessoas} returns the pessoas,
+     * with the same criteria, pagination and {@code total} parameter.
+     *
+     * @param pageable the pagination information.
+     * @param criteria the criteria which the requested entities should match.
+     * @param total how to count the matching pessoas: {@code exact}, {@code none} or {@code approximate}.
+     * @param fields the comma separated fields to return.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the fields of the pessoas in body,
+     * or with status {@code 400 (Bad Request)} if the total or a field is not valid.
+     */
+    @GetMapping(value = "", params = { "fields", "!cursor" })
+    public ResponseEntity<List<Map<String, Object>>> getAllPessoaFields(
+        PessoaCriteria criteria,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "total", defaultValue = "exact") String total,
+        @RequestParam("fields") String fields
+    ) {
+        LOG.debug("REST request to get the {} of Pessoas by criteria: {}, total: {}", fields, criteria, total);
+        PessoaFields pessoaFields = parseFields(fields);
+        return listPessoas(
+            criteria,
+            pageable,
+            total,
+            (pessoaCriteria, page) -> pessoaQueryService.findByCriteria(pessoaCriteria, pessoaFields, page),
+            (pessoaCriteria, page) -> pessoaQueryService.findSliceByCriteria(pessoaCriteria, pessoaFields, page)
+        );
+    }
+
+    private <T> ResponseEntity<List<T>> listPessoas(
+        PessoaCriteria criteria,
+        Pageable pageable,
+        String total,
+        BiFunction<PessoaCriteria, Pageable, Page<T>> findPage,
+        BiFunction<PessoaCriteria, Pageable, Slice<T>> findSlice
+    ) {
+        ServletUriComponentsBuilder uriBuilder = ServletUriComponentsBuilder.fromCurrentRequest();
+        switch (total) {
+            case "exact" -> {
+                Page<T> page = findPage.apply(criteria, pageable);
+                if (page instanceof UncountedPage<T>) {
+                    // the count timed out: the page is still served, without the total
+                    return ResponseEntity.ok().headers(generateSliceHttpHeaders(uriBuilder, page)).body(page.getContent());
+                }
+                HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder, page);
+                return ResponseEntity.ok().headers(headers).body(page.getContent());
+            }
+            case "none" -> {
+                Slice<T> slice = findSlice.apply(criteria, pageable);
+                return ResponseEntity.ok().headers(generateSliceHttpHeaders(uriBuilder, slice)).body(slice.getContent());
+            }
+            case "approximate" -> {
+                Slice<T> slice = findSlice.apply(criteria, pageable);
+                if (slice.hasNext() && !PessoaCriteriaKey.UNFILTERED.equals(PessoaCriteriaKey.of(criteria).shape())) {
+                    // the estimate of the whole table would link to pages past the matching pessoas
+                    return ResponseEntity.ok().headers(generateSliceHttpHeaders(uriBuilder, slice)).body(slice.getContent());
+                }
+                long seen = pageable.isPaged() ? pageable.getOffset() + slice.getNumberOfElements() : slice.getNumberOfElements();
+                boolean approximate = slice.hasNext();
+                long count = seen;
+                if (approximate) {
+                    OptionalLong estimate = pessoaQueryService.estimateCount();
+                    approximate = estimate.isPresent();
+                    // the estimate may lag behind the table: there is at least one more pessoa than those already seen
+                    count = approximate ? Math.max(estimate.getAsLong(), seen + 1) : pessoaQueryService.countByCriteria(criteria);
+                }
+                Page<T> page = new PageImpl<>(slice.getContent(), pageable, count);
+                HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder, page);
+                if (approximate) {
+                    headers.add(TOTAL_COUNT_APPROXIMATE_HEADER, "true");
+                }
+                return ResponseEntity.ok().headers(headers).body(page.getContent());
+            }
+            default -> throw new BadRequestAlertException("Invalid total, expected exact, none or approximate", ENTITY_NAME, "totalinvalid");
+        }
+    }
+
+    /**
+     * Build the {@code Link} header of a slice, in the format of {@link PaginationUtil}, without the {@code last} link
+     * nor the {@code X-Total-Count} header, which need the total.
+     */
+    private static HttpHeaders generateSliceHttpHeaders(UriComponentsBuilder uriBuilder, Slice<?> slice) {
+        HttpHeaders headers = new HttpHeaders();
+        if (slice.getPageable().isUnpaged()) {
+            return headers;
+        }
+        List<String> links = new ArrayList<>();
+        if (slice.hasNext()) {
+            links.add(prepareLink(uriBuilder, slice.getNumber() + 1, slice.getSize(), "next"));
+        }
+        if (slice.hasPrevious()) {
+            links.add(prepareLink(uriBuilder, slice.getNumber() - 1, slice.getSize(), "prev"));
+        }
+        links.add(prepareLink(uriBuilder, 0, slice.getSize(), "first"));
+        headers.add(HttpHeaders.LINK, String.join(",", links));
+        return headers;
+    }
+
+    private static String prepareLink(UriComponentsBuilder uriBuilder, int pageNumber, int pageSize, String relType) {
+        String uri = uriBuilder
+            .replaceQueryParam("page", Integer.toString(pageNumber))
+            .replaceQueryParam("size", Integer.toString(pageSize))
+            .toUriString()
+            .replace(",", "%2C")
+            .replace(";", "%3B");
+        return "<" + uri + ">; rel=\"" + relType + "\"";
+    }
+
+    /**
+     * {@code GET  /pessoas?cursor=} : get the pessoas page by page, using keyset pagination.
+     * <p>
+     * Start with an empty cursor; when there are more results, the response carries the cursor of the next page
+     * in the {@code X-Next-Cursor} header and a {@code Link} header with {@code rel="next"}.
+     * The sort is only read for the first page, the following pages keep the sort of their cursor.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param cursor the cursor returned with the previous page, or empty for the first page.
+     * @param size the maximum number of pessoas to return.
+     * @param sort the sort of the first page, {@code property[,asc|desc]}; {@code id,asc} by default.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of pessoas in body,
+     * or with status {@code 400 (Bad Request)} if the cursor or the sort is not valid.
+     */
+    @GetMapping(value = "", params = "cursor")
+    public ResponseEntity<List<PessoaDTO>> getAllPessoasByCursor(
+        PessoaCriteria criteria,
+        @RequestParam("cursor") String cursor,
+        @RequestParam(value = "size", defaultValue = "20") int size,
+        @RequestParam(value = "sort", required = false) String sort
+    ) {
+        LOG.debug("REST request to get Pessoas by criteria: {}, cursor: {}", criteria, cursor);
+        PessoaKeysetCursor keysetCursor = cursor.isEmpty() ? firstCursor(sort) : decodeCursor(cursor);
+        int pageSize = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+
+        Window<PessoaDTO> window = pessoaQueryService.findByCriteria(criteria, keysetCursor, pageSize);
+        return ResponseEntity.ok().headers(nextCursorHeaders(window, keysetCursor)).body(window.getContent());
+    }
+
+    /**
+     * {@code GET  /pessoas/aniversariantes?from=MM-dd&to=MM-dd} : get the pessoas whose birthday, whatever the year,
+     * is between two days, page by page, using keyset pagination.
+     * <p>
+     * When {@code from} is after {@code to}, the range wraps around the end of the year, e.g. {@code from=12-20&to=01-10}.
+     * The pessoas are ordered by their birthday from {@code from} on, then by id. When there are more results, the
+     * response carries the cursor of the next page as {@code GET /pessoas?cursor=} does.
+     *
+     * @param from the first day, {@code MM-dd}, included.
+     * @param to the last day, {@code MM-dd}, included.
+     * @param cursor the cursor returned with the previous page, or nothing for the first page.
+     * @param size the maximum number of pessoas to return.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of pessoas in body,
+     * or with status {@code 400 (Bad Request)} if a day or the cursor is not valid.
+     */
+    @GetMapping("/aniversariantes")
+    public ResponseEntity<List<PessoaDTO>> getAniversariantes(
+        @RequestParam("from") String from,
+        @RequestParam("to") String to,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "size", defaultValue = "20") int size
     ) {
-        LOG.debug("REST request to get Pessoas by criteria: {}", criteria);
+        LOG.debug("REST request to get Pessoas born from: {} to: {}, cursor: {}", from, to, cursor);
+        PessoaKeysetCursor keysetCursor = cursor == null || cursor.isEmpty()
+            ? PessoaKeysetCursor.first(PessoaKeysetCursor.Key.MES_DIA_NASCIMENTO, Sort.Direction.ASC)
+            : decodeCursor(cursor);
+        if (keysetCursor.getKey() != PessoaKeysetCursor.Key.MES_DIA_NASCIMENTO) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+
+        Window<PessoaDTO> window = pessoaQueryService.findAniversariantes(parseMonthDay(from), parseMonthDay(to), keysetCursor, pageSize);
+        return ResponseEntity.ok().headers(nextCursorHeaders(window, keysetCursor)).body(window.getContent());
+    }
+
+    /**
+     * Build the {@code X-Next-Cursor} and {@code Link} headers of a window, when it has a next one.
+     */
+    private static HttpHeaders nextCursorHeaders(Window<PessoaDTO> window, PessoaKeysetCursor cursor) {
+        HttpHeaders headers = new HttpHeaders();
+        if (window.hasNext() && !window.isEmpty()) {
+            String next = cursor.next(window.positionAt(window.size() - 1)).encode();
+            String link = ServletUriComponentsBuilder.fromCurrentRequest().replaceQueryParam("cursor", next).toUriString();
+            headers.add(NEXT_CURSOR_HEADER, next);
+            headers.add(HttpHeaders.LINK, "<" + link + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+
+    private MonthDay parseMonthDay(String monthDay) {
+        try {
+            return MonthDay.parse("--" + monthDay);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestAlertException("Invalid day, expected MM-dd", ENTITY_NAME, "monthdayinvalid");
+        }
+    }
 
-        Page<PessoaDTO> page = pessoaQueryService.findByCriteria(criteria, pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    private PessoaKeysetCursor firstCursor(String sort) {
+        if (sort == null || sort.isEmpty()) {
+            return PessoaKeysetCursor.first(PessoaKeysetCursor.Key.ID, Sort.Direction.ASC);
+        }
+        String[] parts = sort.split(",", 2);
+        PessoaKeysetCursor.Key key = PessoaKeysetCursor.Key.fromProperty(parts[0]).orElseThrow(() ->
+            new BadRequestAlertException("Unsupported sort property", ENTITY_NAME, "sortinvalid")
+        );
+        Sort.Direction direction = parts.length == 1
+            ? Sort.Direction.ASC
+            : Sort.Direction.fromOptionalString(parts[1]).orElseThrow(() ->
+                new BadRequestAlertException("Invalid sort direction", ENTITY_NAME, "sortinvalid")
+            );
+        return PessoaKeysetCursor.first(key, direction);
+    }
+
+    private PessoaFields parseFields(String fields) {
+        try {
+            return PessoaFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid fields", ENTITY_NAME, "fieldsinvalid");
+        }
+    }
+
+    private PessoaKeysetCursor decodeCursor(String cursor) {
+        try {
+            return PessoaKeysetCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
     }
 
     /**
@@ -171,17 +488,77 @@ public class PessoaResource {
         return ResponseEntity.ok().body(pessoaQueryService.countByCriteria(criteria));
     }
 
+    /**
+     * {@code GET  /pessoas/suggest} : suggest pessoas for a type-ahead search box, from the in-memory index of their nomes.
+     *
+     * @param q the beginning of a word of the nome; case and accents are ignored.
+     * @param limit the maximum number of suggestions, at most 50.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the ids and nomes of the suggested pessoas in body.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<PessoaSuggestionDTO>> suggestPessoas(
+        @RequestParam("q") String q,
+        @RequestParam(value = "limit", defaultValue = "10") int limit
+    ) {
+        LOG.debug("REST request to suggest Pessoas for: {}", q);
+        return ResponseEntity.ok().body(pessoaNomeIndex.suggest(q, Math.min(Math.max(limit, 1), MAX_SUGGESTIONS)));
+    }
+
+    /**
+     * {@code GET  /pessoas/cpf/:cpf} : get the pessoa with a CPF.
+     *
+     * @param cpf the CPF, with or without punctuation.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the pessoaDTO, or with status {@code 404 (Not Found)},
+     * or with status {@code 400 (Bad Request)} if the CPF is not valid.
+     */
+    @GetMapping("/cpf/{cpf}")
+    public ResponseEntity<PessoaDTO> getPessoaByCpf(@PathVariable("cpf") String cpf) {
+        LOG.debug("REST request to get Pessoa by CPF");
+        if (!cpf.matches(Constants.CPF_REGEX)) {
+            throw new BadRequestAlertException("Invalid CPF", ENTITY_NAME, "cpfinvalid");
+        }
+        return ResponseUtil.wrapOrNotFound(pessoaService.findOneByCpf(cpf));
+    }
+
     /**
      * {@code GET  /pessoas/:id} : get the "id" pessoa.
+     * <p>
+     * A conditional request, with {@code If-None-Match} or {@code If-Modified-Since}, first reads the version of the
+     * pessoa only, and is answered {@code 304 (Not Modified)} without loading the pessoa if it did not change. The
+     * {@code ETag} and {@code Last-Modified} of a {@code 200 (OK)} are the ones of the pessoa loaded, which may have been
+     * updated since its version was read.
      *
      * @param id the id of the pessoaDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the pessoaDTO, or with status {@code 404 (Not Found)}.
+     * @param webRequest the request, for its conditional headers.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the pessoaDTO, its version as
+     * {@code ETag} and its last modification as {@code Last-Modified}, or with status {@code 304 (Not Modified)},
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<PessoaDTO> getPessoa(@PathVariable("id") Long id) {
+    public ResponseEntity<PessoaDTO> getPessoa(@PathVariable("id") Long id, ServletWebRequest webRequest) {
         LOG.debug("REST request to get Pessoa : {}", id);
-        Optional<PessoaDTO> pessoaDTO = pessoaService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(pessoaDTO);
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+            Optional<PessoaVersionDTO> version = pessoaService.findVersion(id);
+            if (version.isPresent()) {
+                String eTag = eTag(version.get().getVersion());
+                long lastModified = lastModified(version.get().getLastModifiedDate());
+                // checked apart from the response first: checkNotModified also writes the headers of this version
+                if (new ServletWebRequest(webRequest.getRequest()).checkNotModified(eTag, lastModified)) {
+                    webRequest.checkNotModified(eTag, lastModified);
+                    return null;
+                }
+            }
+        }
+        PessoaDTO pessoaDTO = pessoaService.findOne(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        // writes the ETag and Last-Modified headers of the pessoa returned
+        if (webRequest.checkNotModified(eTag(pessoaDTO.getVersion()), lastModified(pessoaDTO.getLastModifiedDate()))) {
+            return null;
+        }
+        return ResponseEntity.ok().body(pessoaDTO);
+    }
+
+    private static long lastModified(Instant lastModifiedDate) {
+        return lastModifiedDate == null ? -1 : lastModifiedDate.toEpochMilli();
     }
 
     /**
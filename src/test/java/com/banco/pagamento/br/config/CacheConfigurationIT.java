@@ -0,0 +1,112 @@
+package com.banco.pagamento.br.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.banco.pagamento.br.IntegrationTest;
+import com.banco.pagamento.br.domain.Authority;
+import com.banco.pagamento.br.domain.Pessoa;
+import com.banco.pagamento.br.repository.AuthorityRepository;
+import com.banco.pagamento.br.repository.PessoaRepository;
+import com.banco.pagamento.br.service.PessoaQueryService;
+import com.banco.pagamento.br.service.criteria.PessoaCriteria;
+import com.banco.pagamento.br.service.dto.PessoaDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the Hibernate second-level cache set up by {@link CacheConfiguration}.
+ * <p>
+ * Not transactional: entities are only cached for other transactions once they are committed.
+ */
+@IntegrationTest
+class CacheConfigurationIT {
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
+    @Autowired
+    private PessoaQueryService pessoaQueryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    private Pessoa pessoa;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (pessoa != null) {
+            pessoaRepository.deleteById(pessoa.getId());
+        }
+        authorityRepository.deleteById("ROLE_CACHE_TEST");
+    }
+
+    @Test
+    void pessoaIsReadFromTheSecondLevelCache() {
+        pessoa = pessoaRepository.saveAndFlush(
+            new Pessoa().nome("AAAAAAAAAA").dtNascimento(LocalDate.of(1980, 1, 1)).cpf("111.111.111-11").email("l2@b.com")
+        );
+
+        // the id is allocated before the insert, so the row is cached as it is inserted
+        transactionTemplate.execute(status -> pessoaRepository.findById(pessoa.getId()).orElseThrow());
+        Pessoa found = transactionTemplate.execute(status -> pessoaRepository.findById(pessoa.getId()).orElseThrow());
+
+        assertThat(found.getNome()).isEqualTo("AAAAAAAAAA");
+        assertThat(statistics.getDomainDataRegionStatistics(Pessoa.class.getName()).getHitCount()).isEqualTo(2);
+        assertThat(meterRegistry.find("hibernate.second.level.cache.requests").tag("region", Pessoa.class.getName()).meters())
+            .isNotEmpty();
+    }
+
+    @Test
+    void exportDoesNotFillTheSecondLevelCache() {
+        pessoa = pessoaRepository.saveAndFlush(
+            new Pessoa().nome("AAAAAAAAAA").dtNascimento(LocalDate.of(1980, 1, 1)).cpf("111.111.111-11").email("l2@b.com")
+        );
+        entityManagerFactory.getCache().evict(Pessoa.class);
+        statistics.clear();
+
+        List<PessoaDTO> exported = new ArrayList<>();
+        pessoaQueryService.exportByCriteria(new PessoaCriteria(), exported::add);
+
+        assertThat(exported).extracting(PessoaDTO::getId).contains(pessoa.getId());
+        assertThat(statistics.getDomainDataRegionStatistics(Pessoa.class.getName()).getPutCount()).isZero();
+        assertThat(entityManagerFactory.getCache().contains(Pessoa.class, pessoa.getId())).isFalse();
+    }
+
+    @Test
+    void authoritiesAreReadFromTheQueryCache() {
+        authorityRepository.saveAndFlush(new Authority().name("ROLE_CACHE_TEST"));
+
+        assertThat(authorityRepository.findAll()).extracting(Authority::getName).contains("ROLE_CACHE_TEST");
+        assertThat(authorityRepository.findAll()).extracting(Authority::getName).contains("ROLE_CACHE_TEST");
+
+        assertThat(statistics.getQueryRegionStatistics(AuthorityRepository.AUTHORITIES_CACHE).getHitCount()).isEqualTo(1);
+        assertThat(statistics.getQueryRegionStatistics(AuthorityRepository.AUTHORITIES_CACHE).getMissCount()).isEqualTo(1);
+    }
+}
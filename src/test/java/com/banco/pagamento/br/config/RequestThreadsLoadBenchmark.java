@@ -0,0 +1,129 @@
+package com.banco.pagamento.br.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Load test of the request execution modes: a burst of concurrent requests dispatched on the platform threads of a
+ * worker pool sized as Undertow sizes it, or on a virtual thread each, as {@link VirtualThreadsConfiguration} does,
+ * with the same Hikari pool size.
+ * <p>
+ * A request blocks on a remote call (the token check, another service) without a connection, then on a query
+ * holding a connection from the pool, each with a simulated network latency. With platform threads, the requests
+ * waiting on their remote call hold a worker; with virtual threads, only the Hikari pool bounds them. When the remote
+ * latency is low, both are bound by the pool and perform alike. The database is an in-memory H2 one, the latencies
+ * stand for MySQL and the remote calls. Run {@link #main} with the test classpath, e.g. from the IDE.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class RequestThreadsLoadBenchmark {
+
+    private static final int REQUESTS = 2000;
+
+    /**
+     * Undertow's default worker pool: 8 threads per I/O thread, one I/O thread per core.
+     */
+    private static final int WORKER_THREADS = Math.max(Runtime.getRuntime().availableProcessors(), 2) * 8;
+
+    @Param({ "platform", "virtual" })
+    private String threads;
+
+    @Param({ "10" })
+    private int poolSize;
+
+    @Param({ "0", "20" })
+    private long remoteLatencyMillis;
+
+    @Param({ "2" })
+    private long queryLatencyMillis;
+
+    private HikariDataSource dataSource;
+
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:request-threads;DB_CLOSE_DELAY=-1");
+        config.setMaximumPoolSize(poolSize);
+        config.setMinimumIdle(poolSize);
+        config.setConnectionTimeout(TimeUnit.MINUTES.toMillis(1));
+        dataSource = new HikariDataSource(config);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists pessoa (id bigint primary key, nome varchar(255))");
+            statement.execute("merge into pessoa key (id) select x, 'pessoa ' || x from system_range(1, 1000)");
+        }
+        executor = "virtual".equals(threads)
+            ? Executors.newVirtualThreadPerTaskExecutor()
+            : Executors.newFixedThreadPool(WORKER_THREADS, Thread.ofPlatform().name("worker-", 0).factory());
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+        dataSource.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public long requests() throws InterruptedException, ExecutionException {
+        List<Future<String>> responses = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            long id = i % 1000 + 1;
+            responses.add(executor.submit(() -> request(id)));
+        }
+        long length = 0;
+        for (Future<String> response : responses) {
+            length += response.get().length();
+        }
+        return length;
+    }
+
+    private String request(long id) throws SQLException, InterruptedException {
+        Thread.sleep(remoteLatencyMillis);
+        try (Connection connection = dataSource.getConnection(); PreparedStatement query = connection.prepareStatement("select nome from pessoa where id = ?")) {
+            query.setLong(1, id);
+            try (ResultSet resultSet = query.executeQuery()) {
+                Thread.sleep(queryLatencyMillis);
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RequestThreadsLoadBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,54 @@
+package com.banco.pagamento.br.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadPinningMetricsTest {
+
+    @Test
+    void classifiesTheFrameHoldingTheCarrier() {
+        assertThat(VirtualThreadPinningMetrics.source("com.mysql.cj.protocol.a.NativeProtocol")).isEqualTo("mysql");
+        assertThat(VirtualThreadPinningMetrics.source("org.hibernate.internal.SessionImpl")).isEqualTo("hibernate");
+        assertThat(VirtualThreadPinningMetrics.source("com.zaxxer.hikari.pool.HikariPool")).isEqualTo("hikari");
+        assertThat(VirtualThreadPinningMetrics.source("com.banco.pagamento.br.service.PessoaNomeIndex")).isEqualTo("application");
+        assertThat(VirtualThreadPinningMetrics.source("org.springframework.core.io.Resource")).isEqualTo("other");
+        assertThat(VirtualThreadPinningMetrics.source(null)).isEqualTo("other");
+    }
+
+    @Test
+    void recordsTheVirtualThreadsBlockingInASynchronizedBlock() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Object lock = new Object();
+        try (VirtualThreadPinningMetrics metrics = new VirtualThreadPinningMetrics(meterRegistry, Duration.ofMillis(10))) {
+            metrics.start();
+            Thread.ofVirtual()
+                .start(() -> {
+                    synchronized (lock) {
+                        sleep(100);
+                    }
+                })
+                .join();
+            // the events are streamed about once a second
+            for (int i = 0; i < 100 && meterRegistry.find(VirtualThreadPinningMetrics.METRIC).timer() == null; i++) {
+                sleep(100);
+            }
+        }
+
+        Timer pinned = meterRegistry.get(VirtualThreadPinningMetrics.METRIC).tag("source", "application").timer();
+        assertThat(pinned.count()).isEqualTo(1);
+        assertThat(pinned.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(50);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -51,8 +51,6 @@ public class PessoaAsserts {
     public static void assertPessoaUpdatableFieldsEquals(Pessoa expected, Pessoa actual) {
         assertThat(actual)
             .as("Verify Pessoa relevant properties")
-            .satisfies(a -> assertThat(a.getFoto()).as("check foto").isEqualTo(expected.getFoto()))
-            .satisfies(a -> assertThat(a.getFotoContentType()).as("check foto contenty type").isEqualTo(expected.getFotoContentType()))
             .satisfies(a -> assertThat(a.getNome()).as("check nome").isEqualTo(expected.getNome()))
             .satisfies(a -> assertThat(a.getDtNascimento()).as("check dtNascimento").isEqualTo(expected.getDtNascimento()))
             .satisfies(a -> assertThat(a.getCpf()).as("check cpf").isEqualTo(expected.getCpf()))
@@ -0,0 +1,134 @@
+package com.banco.pagamento.br.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.banco.pagamento.br.IntegrationTest;
+import com.banco.pagamento.br.config.ApplicationProperties;
+import com.banco.pagamento.br.domain.Pessoa;
+import com.banco.pagamento.br.repository.PessoaRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link PessoaBackfill}, through {@link PessoaCpfBackfillService} and
+ * {@link PessoaNomeBuscaBackfillService}.
+ */
+@IntegrationTest
+@Transactional
+class PessoaBackfillIT {
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private PessoaCpfBackfillService pessoaCpfBackfillService;
+
+    @Autowired
+    private PessoaNomeBuscaBackfillService pessoaNomeBuscaBackfillService;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void restoreBatchSizes() {
+        applicationProperties.getPessoa().getCpfBackfill().setBatchSize(1000);
+        applicationProperties.getPessoa().getNomeBuscaBackfill().setBatchSize(1000);
+    }
+
+    @Test
+    void fillsTheNormalizedCpfInBatches() {
+        List<Pessoa> pessoas = saveWithout(
+            "cpf_numero",
+            createEntity("AAAAAAAAAA", "111.111.111-11"),
+            createEntity("AAAAAAAAAA", "22222222222"),
+            createEntity("AAAAAAAAAA", "333.333.333-33"),
+            createEntity("AAAAAAAAAA", "444.444.444-44")
+        );
+        // saved before the normalized CPF existed: the same CPF as the first one, in the other format
+        em.createNativeQuery("update pessoa set cpf = '11111111111' where id = ?1").setParameter(1, pessoas.get(3).getId()).executeUpdate();
+        applicationProperties.getPessoa().getCpfBackfill().setBatchSize(2);
+
+        assertThat(pessoaCpfBackfillService.backfillAll()).isEqualTo(3);
+        em.clear();
+
+        assertThat(pessoaRepository.findAllById(pessoas.stream().map(Pessoa::getId).toList()))
+            .extracting(Pessoa::getCpfNumero)
+            .containsExactlyInAnyOrder(11111111111L, 22222222222L, 33333333333L, null);
+        assertThat(pessoaRepository.findOneByCpfNumero(11111111111L)).get().extracting(Pessoa::getId).isEqualTo(pessoas.get(0).getId());
+        assertThat(pessoaCpfBackfillService.backfillAll()).isZero();
+    }
+
+    @Test
+    void fillsTheNormalizedNomeInBatches() {
+        List<Pessoa> pessoas = saveWithout(
+            "nome_busca",
+            createEntity("José  da Silva", "111.111.111-11"),
+            createEntity("MARIA CONCEIÇÃO", "222.222.222-22"),
+            createEntity(" Ana\tLúcia ", "333.333.333-33")
+        );
+        applicationProperties.getPessoa().getNomeBuscaBackfill().setBatchSize(2);
+
+        assertThat(pessoaNomeBuscaBackfillService.backfillAll()).isEqualTo(3);
+        em.clear();
+
+        assertThat(pessoaRepository.findAllById(pessoas.stream().map(Pessoa::getId).toList()))
+            .extracting(Pessoa::getNomeBusca)
+            .containsExactlyInAnyOrder("jose da silva", "maria conceicao", "ana lucia");
+        assertThat(pessoaNomeBuscaBackfillService.backfillAll()).isZero();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void evictsOnlyTheUpdatedPessoasFromTheSecondLevelCache() {
+        // committed, so cached as they are inserted
+        Pessoa filled = pessoaRepository.saveAndFlush(createEntity("AAAAAAAAAA", "555.666.777-01"));
+        Pessoa empty = pessoaRepository.saveAndFlush(createEntity("AAAAAAAAAA", "555.666.777-02"));
+        try {
+            jdbcTemplate.update("update pessoa set cpf_numero = null where id = ?", empty.getId());
+            Cache cache = entityManagerFactory.getCache();
+            assertThat(cache.contains(Pessoa.class, filled.getId())).isTrue();
+            assertThat(cache.contains(Pessoa.class, empty.getId())).isTrue();
+
+            assertThat(pessoaCpfBackfillService.backfillAll()).isPositive();
+
+            assertThat(cache.contains(Pessoa.class, filled.getId())).isTrue();
+            assertThat(cache.contains(Pessoa.class, empty.getId())).isFalse();
+            assertThat(pessoaRepository.findById(empty.getId())).get().extracting(Pessoa::getCpfNumero).isEqualTo(55566677702L);
+        } finally {
+            pessoaRepository.deleteAllById(List.of(filled.getId(), empty.getId()));
+        }
+    }
+
+    /**
+     * Save pessoas as they were saved before a column existed.
+     */
+    private List<Pessoa> saveWithout(String column, Pessoa... pessoas) {
+        List<Pessoa> saved = pessoaRepository.saveAll(List.of(pessoas));
+        pessoaRepository.flush();
+        em.createNativeQuery("update pessoa set " + column + " = null").executeUpdate();
+        em.clear();
+        return saved;
+    }
+
+    private static Pessoa createEntity(String nome, String cpf) {
+        return new Pessoa().nome(nome).dtNascimento(LocalDate.of(1980, 1, 1)).cpf(cpf).email("backfill@b.com");
+    }
+}
@@ -0,0 +1,41 @@
+package com.banco.pagamento.br.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class PessoaCpfFilterTest {
+
+    private static final long FIRST_CPF = 10_000_000_000L;
+
+    @Test
+    void bloomFilterHasNoFalseNegatives() {
+        PessoaCpfFilter.BloomFilter filter = new PessoaCpfFilter.BloomFilter(10_000, 0.01);
+        for (long cpf = FIRST_CPF; cpf < FIRST_CPF + 10_000; cpf++) {
+            filter.put(cpf);
+        }
+
+        for (long cpf = FIRST_CPF; cpf < FIRST_CPF + 10_000; cpf++) {
+            assertThat(filter.mightContain(cpf)).isTrue();
+        }
+        assertThat(filter.entries()).isEqualTo(10_000);
+    }
+
+    @Test
+    void bloomFilterKeepsItsFalsePositiveProbability() {
+        PessoaCpfFilter.BloomFilter filter = new PessoaCpfFilter.BloomFilter(10_000, 0.01);
+        assertThat(filter.mightContain(FIRST_CPF)).isFalse();
+        for (long cpf = FIRST_CPF; cpf < FIRST_CPF + 10_000; cpf++) {
+            filter.put(cpf);
+        }
+
+        int falsePositives = 0;
+        for (long cpf = FIRST_CPF + 10_000; cpf < FIRST_CPF + 110_000; cpf++) {
+            if (filter.mightContain(cpf)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+        assertThat(filter.expectedFalsePositiveProbability()).isBetween(0.005, 0.015);
+    }
+}
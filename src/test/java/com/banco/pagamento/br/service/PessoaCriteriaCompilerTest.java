@@ -0,0 +1,126 @@
+package com.banco.pagamento.br.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.banco.pagamento.br.config.ApplicationProperties;
+import com.banco.pagamento.br.service.PessoaCriteriaCompiler.CompiledQuery;
+import com.banco.pagamento.br.service.criteria.PessoaCriteria;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+class PessoaCriteriaCompilerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PessoaCriteriaCompiler compiler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        compiler = new PessoaCriteriaCompiler(new ApplicationProperties(), meterRegistry);
+    }
+
+    @Test
+    void compilesTheCriteriaToParameterizedQueries() {
+        PessoaCriteria criteria = new PessoaCriteria();
+        criteria.nome().setContains("ana");
+        criteria.dtNascimento().setGreaterThanOrEqual(LocalDate.of(1980, 1, 1));
+        criteria.id().setNotIn(List.of(3L, 1L));
+        criteria.email().setSpecified(true);
+        criteria.setDistinct(true);
+
+        CompiledQuery query = compiler.compile(criteria, Sort.by(Sort.Order.desc("nome").ignoreCase(), Sort.Order.asc("id"))).orElseThrow();
+
+        assertThat(query.select()).isEqualTo(
+            "select distinct pessoa from Pessoa pessoa" +
+            " where pessoa.dtNascimento >= ?1 and pessoa.email is not null and pessoa.id not in ?2 and upper(pessoa.nome) like ?3" +
+            " order by upper(pessoa.nome) desc, pessoa.id asc"
+        );
+        assertThat(query.count()).isEqualTo(
+            "select count(distinct pessoa) from Pessoa pessoa" +
+            " where pessoa.dtNascimento >= ?1 and pessoa.email is not null and pessoa.id not in ?2 and upper(pessoa.nome) like ?3"
+        );
+        assertThat(query.parameters()).containsExactly(LocalDate.of(1980, 1, 1), List.of(1L, 3L), "%ANA%");
+    }
+
+    @Test
+    void selectsAttributesInsteadOfEntities() {
+        PessoaCriteria criteria = new PessoaCriteria();
+        criteria.nome().setContains("ana");
+
+        CompiledQuery query = compiler.compile(criteria, Sort.by("id")).orElseThrow();
+
+        assertThat(query.select(List.of("id", "nome"))).isEqualTo(
+            "select pessoa.id, pessoa.nome from Pessoa pessoa where upper(pessoa.nome) like ?1 order by pessoa.id asc"
+        );
+    }
+
+    @Test
+    void criteriaOfTheSameShapeShareTheirTemplate() {
+        PessoaCriteria criteria = new PessoaCriteria();
+        criteria.cpf().setEquals("111.111.111-11");
+        PessoaCriteria sameShape = new PessoaCriteria();
+        sameShape.cpf().setEquals("222.222.222-22");
+        PessoaCriteria notSpecified = new PessoaCriteria();
+        notSpecified.cpf().setSpecified(false);
+
+        CompiledQuery query = compiler.compile(criteria, Sort.unsorted()).orElseThrow();
+        CompiledQuery sameShapeQuery = compiler.compile(sameShape, Sort.unsorted()).orElseThrow();
+        CompiledQuery notSpecifiedQuery = compiler.compile(notSpecified, Sort.unsorted()).orElseThrow();
+
+        assertThat(sameShapeQuery.select()).isSameAs(query.select());
+        assertThat(sameShapeQuery.parameters()).containsExactly("222.222.222-22");
+        assertThat(notSpecifiedQuery.select()).isEqualTo("select pessoa from Pessoa pessoa where pessoa.cpf is null");
+        assertThat(notSpecifiedQuery.parameters()).isEmpty();
+        assertThat(meterRegistry.get("pessoa.criteria.shapes").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void matchesLongEnoughContainsTermsAgainstTheFullTextIndex() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getPessoa().getFullTextSearch().setEnabled(true);
+        compiler = new PessoaCriteriaCompiler(applicationProperties, meterRegistry);
+        PessoaCriteria criteria = new PessoaCriteria();
+        criteria.nome().setContains("silva");
+        criteria.email().setContains("b.com");
+        PessoaCriteria shortTerm = new PessoaCriteria();
+        shortTerm.nome().setContains("si");
+
+        CompiledQuery query = compiler.compile(criteria, Sort.unsorted()).orElseThrow();
+        CompiledQuery shortTermQuery = compiler.compile(shortTerm, Sort.unsorted()).orElseThrow();
+
+        assertThat(query.select()).isEqualTo(
+            "select pessoa from Pessoa pessoa" +
+            " where upper(pessoa.email) like ?1 and match_against(pessoa.nome, ?2) > 0 and upper(pessoa.nome) like ?3"
+        );
+        assertThat(query.parameters()).containsExactly("%B.COM%", "\"SILVA\"", "%SILVA%");
+        assertThat(shortTermQuery.select()).isEqualTo("select pessoa from Pessoa pessoa where upper(pessoa.nome) like ?1");
+    }
+
+    @Test
+    void searchesTheNormalizedNome() {
+        PessoaCriteria criteria = new PessoaCriteria();
+        criteria.nome().setNormalizedEquals(" José  da SILVA ");
+        criteria.nome().setNormalizedStartsWith("Ana_100%");
+
+        CompiledQuery query = compiler.compile(criteria, Sort.unsorted()).orElseThrow();
+
+        assertThat(query.select()).isEqualTo(
+            "select pessoa from Pessoa pessoa where pessoa.nomeBusca = ?1 and pessoa.nomeBusca like ?2 escape '!'"
+        );
+        assertThat(query.parameters()).containsExactly("jose da silva", "ana!_100!%%");
+    }
+
+    @Test
+    void leavesUnknownSortsToTheSpecification() {
+        PessoaCriteria criteria = new PessoaCriteria();
+
+        assertThat(compiler.compile(criteria, Sort.by("nome) desc, (select 1"))).isEmpty();
+        assertThat(compiler.compile(criteria, Sort.by(Sort.Order.asc("nome").nullsFirst()))).isEmpty();
+        assertThat(compiler.compile(criteria, Sort.unsorted()).orElseThrow().select()).isEqualTo("select pessoa from Pessoa pessoa");
+    }
+}
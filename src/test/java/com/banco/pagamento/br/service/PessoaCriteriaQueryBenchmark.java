@@ -0,0 +1,120 @@
+package com.banco.pagamento.br.service;
+
+import com.banco.pagamento.br.config.ApplicationProperties;
+import com.banco.pagamento.br.domain.Pessoa;
+import com.banco.pagamento.br.repository.PessoaRepositoryWithStreamingImpl;
+import com.banco.pagamento.br.service.criteria.NomeFilter;
+import com.banco.pagamento.br.service.criteria.PessoaCriteria;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import tech.jhipster.service.filter.LocalDateFilter;
+import tech.jhipster.service.filter.LongFilter;
+
+/**
+ * Benchmark of the overhead of turning a {@link PessoaCriteria} into SQL, through a {@code Specification} or through
+ * the {@link PessoaCriteriaCompiler}.
+ * <p>
+ * Both read a page from an empty in-memory table, so the time measured is the one spent building and planning the
+ * query, not running it. Run {@link #main} with the test classpath, e.g. from the IDE.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 10, time = 3)
+@Measurement(iterations = 5, time = 3)
+public class PessoaCriteriaQueryBenchmark {
+
+    private static final PageRequest PAGE = PageRequest.of(0, 20, Sort.by(Sort.Order.asc("nome").ignoreCase(), Sort.Order.asc("id")));
+
+    private SessionFactory sessionFactory;
+
+    private Session session;
+
+    private PessoaRepositoryWithStreamingImpl repository;
+
+    private PessoaQueryService pessoaQueryService;
+
+    private PessoaCriteriaCompiler pessoaCriteriaCompiler;
+
+    private long request;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+            .addAnnotatedClass(Pessoa.class)
+            .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1")
+            .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+            .setProperty(AvailableSettings.USE_SECOND_LEVEL_CACHE, "false")
+            .buildSessionFactory();
+        session = sessionFactory.openSession();
+        repository = new PessoaRepositoryWithStreamingImpl();
+        ReflectionTestUtils.setField(repository, "entityManager", session);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        pessoaCriteriaCompiler = new PessoaCriteriaCompiler(new ApplicationProperties(), meterRegistry);
+        pessoaQueryService = new PessoaQueryService(null, null, null, null, null, null, pessoaCriteriaCompiler, meterRegistry);
+    }
+
+    @TearDown
+    public void tearDown() {
+        session.close();
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Slice<Pessoa> specification() {
+        return repository.findSlice(pessoaQueryService.createSpecification(nextCriteria()), PAGE);
+    }
+
+    @Benchmark
+    public Slice<Pessoa> compiled() {
+        PessoaCriteriaCompiler.CompiledQuery query = pessoaCriteriaCompiler.compile(nextCriteria(), PAGE.getSort()).orElseThrow();
+        return repository.findSlice(query.select(), query.parameters(), PAGE);
+    }
+
+    /**
+     * Criteria of the same shape, with other values every time, as requests would have.
+     */
+    private PessoaCriteria nextCriteria() {
+        request++;
+        PessoaCriteria criteria = new PessoaCriteria();
+        NomeFilter nome = new NomeFilter();
+        nome.setContains("silva" + (request % 100));
+        criteria.setNome(nome);
+        LocalDateFilter dtNascimento = new LocalDateFilter();
+        dtNascimento.setGreaterThanOrEqual(LocalDate.of(1950, 1, 1).plusDays(request % 10_000));
+        criteria.setDtNascimento(dtNascimento);
+        LongFilter id = new LongFilter();
+        id.setNotIn(List.of(request, request + 1, request + 2));
+        criteria.setId(id);
+        return criteria;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PessoaCriteriaQueryBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,79 @@
+package com.banco.pagamento.br.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.banco.pagamento.br.IntegrationTest;
+import com.banco.pagamento.br.config.ApplicationProperties;
+import com.banco.pagamento.br.domain.Pessoa;
+import com.banco.pagamento.br.repository.PessoaFotoRepository;
+import com.banco.pagamento.br.repository.PessoaRepository;
+import jakarta.persistence.EntityManager;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link PessoaFotoMigrationService}.
+ */
+@IntegrationTest
+@Transactional
+class PessoaFotoMigrationServiceIT {
+
+    private static final byte[] FOTO = "legacy foto".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private PessoaFotoRepository pessoaFotoRepository;
+
+    @Autowired
+    private PessoaFotoStore pessoaFotoStore;
+
+    @Autowired
+    private PessoaFotoMigrationService pessoaFotoMigrationService;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private EntityManager em;
+
+    @AfterEach
+    public void restoreBatchSize() {
+        applicationProperties.getPessoa().getFoto().getMigration().setBatchSize(50);
+    }
+
+    @Test
+    void movesLegacyFotosToTheStoreInBatches() {
+        List<Pessoa> pessoas = List.of(
+            pessoaRepository.save(createEntity("111.111.111-11")),
+            pessoaRepository.save(createEntity("222.222.222-22")),
+            pessoaRepository.save(createEntity("333.333.333-33"))
+        );
+        pessoaRepository.flush();
+        for (Pessoa pessoa : pessoas) {
+            em.createNativeQuery("update pessoa set foto = ?1 where id = ?2").setParameter(1, FOTO).setParameter(2, pessoa.getId()).executeUpdate();
+        }
+        em.clear();
+        applicationProperties.getPessoa().getFoto().getMigration().setBatchSize(2);
+
+        assertThat(pessoaFotoMigrationService.migrateAll()).isEqualTo(3);
+
+        String hash = pessoaFotoStore.store(FOTO);
+        assertThat(pessoaFotoRepository.findAllWithFoto(Limit.of(1))).isEmpty();
+        assertThat(pessoaRepository.findAllById(pessoas.stream().map(Pessoa::getId).toList()))
+            .extracting(Pessoa::getFotoHash)
+            .containsOnly(hash);
+        assertThat(pessoaFotoMigrationService.migrateAll()).isZero();
+    }
+
+    private static Pessoa createEntity(String cpf) {
+        return new Pessoa().nome("AAAAAAAAAA").dtNascimento(LocalDate.of(1980, 1, 1)).cpf(cpf).email("foto@b.com");
+    }
+}
@@ -0,0 +1,80 @@
+package com.banco.pagamento.br.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.banco.pagamento.br.config.ApplicationProperties;
+import com.banco.pagamento.br.service.impl.FileSystemPessoaFotoStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PessoaFotoThumbnailServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private final CountDownLatch decoding = new CountDownLatch(1);
+
+    private PessoaFotoStore store;
+
+    private PessoaFotoThumbnailService thumbnailService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getPessoa().getFoto().setStoreDirectory(directory.toString());
+        store = spy(new FileSystemPessoaFotoStore(applicationProperties));
+        // the photos are read once the test lets them
+        doAnswer(invocation -> {
+            assertThat(decoding.await(10, TimeUnit.SECONDS)).isTrue();
+            return invocation.callRealMethod();
+        })
+            .when(store)
+            .newInputStream(anyString());
+        thumbnailService = new PessoaFotoThumbnailService(store, applicationProperties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        decoding.countDown();
+        thumbnailService.destroy();
+    }
+
+    @Test
+    void generatesOnceForConcurrentReadsOfTheSamePhoto() throws Exception {
+        String fotoHash = store.store(png());
+
+        CompletableFuture<OptionalLong> first = thumbnailService.findOrGenerate(fotoHash);
+        CompletableFuture<OptionalLong> second = thumbnailService.findOrGenerate(fotoHash);
+
+        assertThat(second).isSameAs(first).isNotDone();
+        decoding.countDown();
+        OptionalLong size = first.get(10, TimeUnit.SECONDS);
+        assertThat(size).isPresent();
+        assertThat(store.size(thumbnailService.thumbnailKey(fotoHash))).isEqualTo(size);
+        // once stored, the thumbnail is found without being generated again
+        assertThat(thumbnailService.findOrGenerate(fotoHash)).isCompletedWithValue(size);
+        verify(store, times(1)).newInputStream(fotoHash);
+    }
+
+    private static byte[] png() throws Exception {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(400, 300, BufferedImage.TYPE_INT_ARGB), "png", png);
+        return png.toByteArray();
+    }
+}
@@ -0,0 +1,141 @@
+package com.banco.pagamento.br.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+import com.banco.pagamento.br.IntegrationTest;
+import com.banco.pagamento.br.config.ApplicationProperties;
+import com.banco.pagamento.br.service.criteria.PessoaCriteria;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Benchmark of the {@code contains} filters of {@link PessoaQueryService} through the n-gram full-text indexes,
+ * against {@code like}, on a table of a million pessoas.
+ * <p>
+ * The indexes only exist on MySQL, and filling the table takes minutes: run it against the MySQL test container
+ * with {@code -Dpessoa.full-text-search.benchmark=true}.
+ */
+@IntegrationTest
+@EnabledIfSystemProperty(named = "pessoa.full-text-search.benchmark", matches = "true")
+class PessoaFullTextSearchIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PessoaFullTextSearchIT.class);
+
+    private static final int ROWS = 1_000_000;
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private static final int RUNS = 5;
+
+    private static final String[] NAMES = { "Maria", "Jose", "Ana", "Joao", "Francisca", "Antonio", "Adriana", "Carlos" };
+
+    private static final String[] SURNAMES = { "Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira", "Alves", "Pereira" };
+
+    @Autowired
+    private PessoaQueryService pessoaQueryService;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+            connection.getMetaData().getDatabaseProductName()
+        );
+        assumeThat(database).isEqualTo("MySQL");
+        applicationProperties.getPessoa().getQuery().getCache().setEnabled(false);
+        insertPessoas();
+    }
+
+    @AfterEach
+    void cleanup() {
+        applicationProperties.getPessoa().getFullTextSearch().setEnabled(false);
+        jdbcTemplate.update("delete from pessoa where email like '%@benchmark.test'");
+    }
+
+    @Test
+    void searchesThroughTheFullTextIndexes() {
+        for (String term : List.of("oliveira", "ana", "pereira", "nsdo", "p999")) {
+            PessoaCriteria byNome = new PessoaCriteria();
+            byNome.nome().setContains(term);
+            PessoaCriteria byEmail = new PessoaCriteria();
+            byEmail.email().setContains(term);
+            for (PessoaCriteria criteria : List.of(byNome, byEmail)) {
+                applicationProperties.getPessoa().getFullTextSearch().setEnabled(false);
+                long likeCount = pessoaQueryService.countByCriteria(criteria);
+                long likeNanos = time(criteria);
+                applicationProperties.getPessoa().getFullTextSearch().setEnabled(true);
+                long fullTextCount = pessoaQueryService.countByCriteria(criteria);
+                long fullTextNanos = time(criteria);
+
+                assertThat(fullTextCount).isEqualTo(likeCount);
+                LOG.info(
+                    "{}: {} pessoas, like {} ms, full-text {} ms",
+                    criteria,
+                    likeCount,
+                    likeNanos / 1_000_000,
+                    fullTextNanos / 1_000_000
+                );
+            }
+        }
+    }
+
+    private long time(PessoaCriteria criteria) {
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            pessoaQueryService.countByCriteria(criteria);
+        }
+        return (System.nanoTime() - start) / RUNS;
+    }
+
+    private void insertPessoas() {
+        Random random = new Random(42);
+        Timestamp now = Timestamp.from(Instant.now());
+        for (int start = 0; start < ROWS; start += BATCH_SIZE) {
+            List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+            for (int i = start; i < start + BATCH_SIZE; i++) {
+                String nome =
+                    NAMES[random.nextInt(NAMES.length)] +
+                    " " +
+                    SURNAMES[random.nextInt(SURNAMES.length)] +
+                    " " +
+                    SURNAMES[random.nextInt(SURNAMES.length)];
+                rows.add(
+                    new Object[] {
+                        nome,
+                        Date.valueOf(LocalDate.of(1940, 1, 1).plusDays(random.nextInt(25_000))),
+                        String.format("%011d", i),
+                        (long) i,
+                        "p" + i + "@benchmark.test",
+                        now,
+                        now,
+                    }
+                );
+            }
+            jdbcTemplate.batchUpdate(
+                "insert into pessoa (nome, dt_nascimento, cpf, cpf_numero, email, created_by, created_date, last_modified_by, last_modified_date)" +
+                " values (?, ?, ?, ?, ?, 'benchmark', ?, 'benchmark', ?)",
+                rows
+            );
+        }
+        jdbcTemplate.execute("analyze table pessoa");
+    }
+}
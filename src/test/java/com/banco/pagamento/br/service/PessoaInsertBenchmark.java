@@ -0,0 +1,155 @@
+package com.banco.pagamento.br.service;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of the insert throughput of pessoas, with the ids generated by an {@code IDENTITY} column, as before, or
+ * allocated by blocks from a sequence, as {@link com.banco.pagamento.br.domain.Pessoa} now does.
+ * <p>
+ * Both insert chunks of rows mapped on the same columns, in one transaction per chunk, with the JDBC batching settings
+ * of the application. An {@code IDENTITY} id is only known once its row is inserted, so Hibernate cannot batch those
+ * inserts. The table is an in-memory H2 one: against MySQL, every statement not batched also costs a network round
+ * trip, which makes the gap larger. Run {@link #main} with the test classpath, e.g. from the IDE.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 3)
+public class PessoaInsertBenchmark {
+
+    private static final int CHUNK_SIZE = 100;
+
+    @Param({ "identity", "sequence" })
+    private String generation;
+
+    private SessionFactory sessionFactory;
+
+    private Supplier<Row> rows;
+
+    private long request;
+
+    @Setup
+    public void setUp() {
+        Class<? extends Row> entity = "identity".equals(generation) ? IdentityRow.class : SequenceRow.class;
+        rows = "identity".equals(generation) ? IdentityRow::new : SequenceRow::new;
+        sessionFactory = new Configuration()
+            .addAnnotatedClass(entity)
+            .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:insert-benchmark;DB_CLOSE_DELAY=-1")
+            .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+            .setProperty(AvailableSettings.USE_SECOND_LEVEL_CACHE, "false")
+            .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "25")
+            .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+            .buildSessionFactory();
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() {
+        sessionFactory.getSchemaManager().truncateMappedObjects();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK_SIZE)
+    public void insert() {
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            for (int i = 0; i < CHUNK_SIZE; i++) {
+                session.persist(rows.get().fill(request++));
+            }
+            session.getTransaction().commit();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PessoaInsertBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * The mandatory columns of the pessoa table.
+     */
+    @MappedSuperclass
+    public abstract static class Row {
+
+        @Column(name = "nome", length = 510, nullable = false)
+        private String nome;
+
+        @Column(name = "dt_nascimento", nullable = false)
+        private LocalDate dtNascimento;
+
+        @Column(name = "cpf", nullable = false)
+        private String cpf;
+
+        @Column(name = "email", nullable = false)
+        private String email;
+
+        @Column(name = "created_by", nullable = false, length = 50)
+        private String createdBy;
+
+        Row fill(long request) {
+            nome = "Pessoa " + request;
+            dtNascimento = LocalDate.of(1950, 1, 1).plusDays(request % 20_000);
+            cpf = String.format("%011d", request);
+            email = "pessoa" + request + "@b.com";
+            createdBy = "benchmark";
+            return this;
+        }
+    }
+
+    @Entity
+    @Table(name = "pessoa")
+    public static class IdentityRow extends Row {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        @Column(name = "id")
+        private Long id;
+    }
+
+    @Entity
+    @Table(name = "pessoa")
+    public static class SequenceRow extends Row {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pessoaIdGenerator")
+        @SequenceGenerator(name = "pessoaIdGenerator", sequenceName = "pessoa_id_seq", initialValue = 1500, allocationSize = 50)
+        @Column(name = "id")
+        private Long id;
+    }
+}
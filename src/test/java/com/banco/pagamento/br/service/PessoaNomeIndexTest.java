@@ -0,0 +1,48 @@
+package com.banco.pagamento.br.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.banco.pagamento.br.service.dto.PessoaSuggestionDTO;
+import org.junit.jupiter.api.Test;
+
+class PessoaNomeIndexTest {
+
+    @Test
+    void suggestsPessoasHavingAWordStartingWithTheQuery() {
+        PessoaNomeIndex.NomeIndex index = new PessoaNomeIndex.NomeIndex();
+        index.put(1L, "José da Silva");
+        index.put(2L, "Silvana Souza");
+        index.put(3L, "Ana Silva Silveira");
+
+        assertThat(index.suggest("SILV", 10)).extracting(PessoaSuggestionDTO::getId).containsExactly(1L, 3L, 2L);
+        assertThat(index.suggest("jose  d", 10)).extracting(PessoaSuggestionDTO::getNome).containsExactly("José da Silva");
+        assertThat(index.suggest("silv", 2)).hasSize(2);
+        assertThat(index.suggest(" - ", 10)).isEmpty();
+    }
+
+    @Test
+    void followsTheWritesOfThePessoas() {
+        PessoaNomeIndex.NomeIndex index = new PessoaNomeIndex.NomeIndex();
+        index.put(1L, "Maria");
+        index.put(1L, "Mariana");
+        index.put(2L, "Marta");
+        index.remove(2L);
+
+        assertThat(index.suggest("mar", 10)).extracting(PessoaSuggestionDTO::getNome).containsExactly("Mariana");
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void loadKeepsThePessoasWrittenMeanwhile() {
+        PessoaNomeIndex.NomeIndex index = new PessoaNomeIndex.NomeIndex();
+        index.startLoading();
+        index.put(1L, "Mariana");
+        index.remove(2L);
+        index.load(1L, "Maria");
+        index.load(2L, "Marta");
+        index.load(3L, "Marcos");
+        index.stopLoading();
+
+        assertThat(index.suggest("mar", 10)).extracting(PessoaSuggestionDTO::getNome).containsExactly("Marcos", "Mariana");
+    }
+}
@@ -0,0 +1,265 @@
+package com.banco.pagamento.br.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import com.banco.pagamento.br.IntegrationTest;
+import com.banco.pagamento.br.config.ApplicationProperties;
+import com.banco.pagamento.br.domain.Pessoa;
+import com.banco.pagamento.br.repository.PessoaRepository;
+import com.banco.pagamento.br.service.criteria.PessoaCriteria;
+import com.banco.pagamento.br.service.dto.PessoaDTO;
+import com.banco.pagamento.br.service.mapper.PessoaMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import tech.jhipster.service.filter.LongFilter;
+
+/**
+ * Integration tests for {@link PessoaQueryService}.
+ * <p>
+ * Not transactional: a parallel count runs in its own transaction, which only sees committed pessoas.
+ */
+@IntegrationTest
+class PessoaQueryServiceIT {
+
+    @Autowired
+    private PessoaQueryService pessoaQueryService;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PessoaMapper pessoaMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PessoaQueryCache pessoaQueryCache;
+
+    @Autowired
+    private PessoaCriteriaCompiler pessoaCriteriaCompiler;
+
+    @Autowired
+    private EntityManager em;
+
+    private final List<Pessoa> pessoas = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        applicationProperties.getPessoa().getQuery().setParallelCount(true);
+        pessoas.add(pessoaRepository.save(createEntity("111.111.111-11")));
+        pessoas.add(pessoaRepository.save(createEntity("222.222.222-22")));
+        pessoas.add(pessoaRepository.save(createEntity("333.333.333-33")));
+    }
+
+    @AfterEach
+    void cleanup() {
+        applicationProperties.getPessoa().getQuery().setParallelCount(false);
+        pessoaRepository.deleteAll(pessoas);
+    }
+
+    @Test
+    void countsInParallelWithThePage() {
+        double parallelCounts = counts("parallel");
+
+        Page<PessoaDTO> page = pessoaQueryService.findByCriteria(criteria(), PageRequest.of(0, 2, Sort.by("id")));
+
+        assertThat(page.getContent()).extracting(PessoaDTO::getId).containsExactly(pessoas.get(0).getId(), pessoas.get(1).getId());
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(counts("parallel")).isEqualTo(parallelCounts + 1);
+    }
+
+    @Test
+    void countsSequentiallyWhenThePoolIsBusy() {
+        applicationProperties.getPessoa().getQuery().setMinIdleConnections(Integer.MAX_VALUE);
+        try {
+            double sequentialCounts = counts("sequential");
+
+            Page<PessoaDTO> page = pessoaQueryService.findByCriteria(criteria(), PageRequest.of(1, 2, Sort.by("id")));
+
+            assertThat(page.getContent()).extracting(PessoaDTO::getId).containsExactly(pessoas.get(2).getId());
+            assertThat(page.getTotalElements()).isEqualTo(3);
+            assertThat(counts("sequential")).isEqualTo(sequentialCounts + 1);
+        } finally {
+            applicationProperties.getPessoa().getQuery().setMinIdleConnections(2);
+        }
+    }
+
+    @Test
+    void cancelsTheCountOnTheLastPage() throws Exception {
+        CompletableFuture<Throwable> countEnd = new CompletableFuture<>();
+
+        Page<PessoaDTO> page = queryServiceWithSlowCounts(countEnd).findByCriteria(criteria(), PageRequest.of(1, 2, Sort.by("id")));
+
+        assertThat(page.getContent()).extracting(PessoaDTO::getId).containsExactly(pessoas.get(2).getId());
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        // cancelled, instead of running on its connection until the query timeout
+        assertThat(countEnd.get(5, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    void returnsThePageWithoutItsTotalWhenTheCountTimesOut() throws Exception {
+        applicationProperties.getPessoa().getQuery().setTimeout(Duration.ofSeconds(1));
+        try {
+            CompletableFuture<Throwable> countEnd = new CompletableFuture<>();
+
+            Page<PessoaDTO> page = queryServiceWithSlowCounts(countEnd).findByCriteria(criteria(), PageRequest.of(0, 2, Sort.by("id")));
+
+            assertThat(page).isInstanceOf(UncountedPage.class);
+            assertThat(page.getContent()).extracting(PessoaDTO::getId).containsExactly(pessoas.get(0).getId(), pessoas.get(1).getId());
+            assertThat(page.hasNext()).isTrue();
+            assertThat(countEnd.get(5, TimeUnit.SECONDS)).isNotNull();
+        } finally {
+            applicationProperties.getPessoa().getQuery().setTimeout(Duration.ofSeconds(10));
+        }
+    }
+
+    @Test
+    void cachesResultsUntilTheNextWrite() {
+        applicationProperties.getPessoa().getQuery().getCache().setEnabled(true);
+        try {
+            double hits = cacheRequests("hit");
+            double misses = cacheRequests("miss");
+
+            assertThat(pessoaQueryService.countByCriteria(criteria())).isEqualTo(3);
+            assertThat(pessoaQueryService.countByCriteria(criteria())).isEqualTo(3);
+            Page<PessoaDTO> page = pessoaQueryService.findByCriteria(criteria(), PageRequest.of(0, 2, Sort.by("id")));
+            assertThat(pessoaQueryService.findByCriteria(criteria(), PageRequest.of(0, 2, Sort.by("id")))).isSameAs(page);
+
+            assertThat(cacheRequests("hit")).isEqualTo(hits + 2);
+            assertThat(cacheRequests("miss")).isEqualTo(misses + 2);
+
+            pessoaRepository.delete(pessoas.remove(2));
+
+            assertThat(pessoaQueryService.countByCriteria(criteria())).isEqualTo(2);
+            assertThat(cacheRequests("miss")).isEqualTo(misses + 3);
+        } finally {
+            applicationProperties.getPessoa().getQuery().getCache().setEnabled(false);
+        }
+    }
+
+    @Test
+    void compiledQueriesSelectWhatTheSpecificationSelects() {
+        PessoaCriteria contains = criteria();
+        contains.cpf().setContains("2");
+        PessoaCriteria notIn = criteria();
+        notIn.cpf().setNotIn(List.of("111.111.111-11"));
+        notIn.email().setSpecified(true);
+        notIn.setDistinct(true);
+        PessoaCriteria range = criteria();
+        range.id().setLessThan(pessoas.get(2).getId());
+        range.dtNascimento().setEquals(LocalDate.of(1980, 1, 1));
+        Sort sort = Sort.by(Sort.Order.desc("cpf").ignoreCase());
+
+        for (PessoaCriteria criteria : List.of(contains, notIn, range)) {
+            assertThat(pessoaQueryService.findSliceByCriteria(criteria, PageRequest.of(0, 10, sort)))
+                .extracting(PessoaDTO::getId)
+                .containsExactlyElementsOf(
+                    pessoaRepository.findAll(pessoaQueryService.createSpecification(criteria), sort).stream().map(Pessoa::getId).toList()
+                )
+                .isNotEmpty();
+            assertThat(pessoaQueryService.countByCriteria(criteria)).isEqualTo(
+                pessoaRepository.count(pessoaQueryService.createSpecification(criteria))
+            );
+        }
+    }
+
+    /**
+     * A query service whose counts scan far more rows than they can within the query timeout, reading the page once
+     * the count has started. How the count ends, once it is cancelled or timed out, completes {@code countEnd}.
+     */
+    private PessoaQueryService queryServiceWithSlowCounts(CompletableFuture<Throwable> countEnd) {
+        CountDownLatch countStarted = new CountDownLatch(1);
+        PessoaRepository slowCounts = mock(PessoaRepository.class, delegatesTo(pessoaRepository));
+        doAnswer(invocation -> {
+            countStarted.countDown();
+            try {
+                Object count = em.createNativeQuery("select count(*) from system_range(1, 10000000000) where mod(x, 7) = 0").getSingleResult();
+                return ((Number) count).longValue();
+            } catch (RuntimeException e) {
+                countEnd.complete(e);
+                throw e;
+            }
+        })
+            .when(slowCounts)
+            .count(anyString(), anyList());
+        doAnswer(invocation -> {
+            countStarted.await(5, TimeUnit.SECONDS);
+            // the count statement is running
+            Thread.sleep(200);
+            return pessoaRepository.findSlice(invocation.<String>getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+        })
+            .when(slowCounts)
+            .findSlice(anyString(), anyList(), any(Pageable.class));
+        ProxyFactory proxyFactory = new ProxyFactory(
+            new PessoaQueryService(
+                slowCounts,
+                pessoaMapper,
+                applicationProperties,
+                transactionManager,
+                dataSource,
+                pessoaQueryCache,
+                pessoaCriteriaCompiler,
+                meterRegistry
+            )
+        );
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new TransactionInterceptor(transactionManager, new AnnotationTransactionAttributeSource()));
+        return (PessoaQueryService) proxyFactory.getProxy();
+    }
+
+    private double cacheRequests(String result) {
+        return meterRegistry.counter("pessoa.query.cache.requests", "shape", "id.greaterThanOrEqual", "result", result).count();
+    }
+
+    private PessoaCriteria criteria() {
+        PessoaCriteria criteria = new PessoaCriteria();
+        LongFilter id = new LongFilter();
+        id.setGreaterThanOrEqual(pessoas.get(0).getId());
+        criteria.setId(id);
+        return criteria;
+    }
+
+    private double counts(String execution) {
+        return meterRegistry.get("pessoa.criteria.counts").tag("execution", execution).counter().count();
+    }
+
+    private static Pessoa createEntity(String cpf) {
+        return new Pessoa().nome("AAAAAAAAAA").dtNascimento(LocalDate.of(1980, 1, 1)).cpf(cpf).email("query@b.com");
+    }
+}
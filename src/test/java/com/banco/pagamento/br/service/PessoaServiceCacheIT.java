@@ -0,0 +1,121 @@
+package com.banco.pagamento.br.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.banco.pagamento.br.IntegrationTest;
+import com.banco.pagamento.br.domain.Pessoa;
+import com.banco.pagamento.br.repository.PessoaRepository;
+import com.banco.pagamento.br.service.dto.PessoaDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Integration tests for the {@link PessoaService#PESSOA_BY_ID_CACHE} cache.
+ * <p>
+ * Not transactional: evictions only happen when the writing transaction commits.
+ */
+@IntegrationTest
+class PessoaServiceCacheIT {
+
+    @Autowired
+    private PessoaService pessoaService;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache cache;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        cache = cacheManager.getCache(PessoaService.PESSOA_BY_ID_CACHE);
+        cache.clear();
+    }
+
+    @AfterEach
+    void cleanup() {
+        pessoaRepository.deleteAllById(ids);
+        cache.clear();
+    }
+
+    @Test
+    void findOneIsCachedUntilTheNextWrite() {
+        PessoaDTO pessoaDTO = save("AAAAAAAAAA", "111.111.111-11");
+
+        assertThat(pessoaService.findOne(pessoaDTO.getId())).get().extracting(PessoaDTO::getNome).isEqualTo("AAAAAAAAAA");
+        // a write behind the service is not seen
+        pessoaRepository.save(pessoaRepository.findById(pessoaDTO.getId()).orElseThrow().nome("BBBBBBBBBB"));
+        assertThat(pessoaService.findOne(pessoaDTO.getId())).get().extracting(PessoaDTO::getNome).isEqualTo("AAAAAAAAAA");
+
+        pessoaDTO.setNome("CCCCCCCCCC");
+        // the write behind the service changed the version: update whatever the version
+        pessoaDTO.setVersion(null);
+        pessoaService.update(pessoaDTO);
+        assertThat(cache.get(pessoaDTO.getId())).isNull();
+        assertThat(pessoaService.findOne(pessoaDTO.getId())).get().extracting(PessoaDTO::getNome).isEqualTo("CCCCCCCCCC");
+
+        pessoaService.delete(pessoaDTO.getId());
+        assertThat(pessoaService.findOne(pessoaDTO.getId())).isEmpty();
+    }
+
+    @Test
+    void missingIdsAreCachedUntilCreated() {
+        long nextId = save("AAAAAAAAAA", "111.111.111-11").getId() + 1;
+        assertThat(pessoaService.findOne(nextId)).isEmpty();
+        assertThat(cache.get(nextId)).isNotNull().extracting(Cache.ValueWrapper::get).isNull();
+
+        PessoaDTO created = pessoaService.saveAll(List.of(newPessoaDTO("BBBBBBBBBB", "222.222.222-22"))).get(0);
+        ids.add(created.getId());
+
+        assertThat(created.getId()).isEqualTo(nextId);
+        assertThat(pessoaService.findOne(nextId)).get().extracting(PessoaDTO::getNome).isEqualTo("BBBBBBBBBB");
+    }
+
+    @Test
+    void statisticsAreExported() {
+        PessoaDTO pessoaDTO = save("AAAAAAAAAA", "111.111.111-11");
+        double hits = gets("hit");
+        double misses = gets("miss");
+
+        pessoaService.findOne(pessoaDTO.getId());
+        pessoaService.findOne(pessoaDTO.getId());
+
+        assertThat(gets("miss")).isEqualTo(misses + 1);
+        assertThat(gets("hit")).isEqualTo(hits + 1);
+        assertThat(meterRegistry.find("cache.evictions").tag("cache", PessoaService.PESSOA_BY_ID_CACHE).functionCounter()).isNotNull();
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", PessoaService.PESSOA_BY_ID_CACHE).tag("result", result).functionCounter().count();
+    }
+
+    private PessoaDTO save(String nome, String cpf) {
+        PessoaDTO pessoaDTO = pessoaService.save(newPessoaDTO(nome, cpf));
+        ids.add(pessoaDTO.getId());
+        return pessoaDTO;
+    }
+
+    private static PessoaDTO newPessoaDTO(String nome, String cpf) {
+        PessoaDTO pessoaDTO = new PessoaDTO();
+        pessoaDTO.setNome(nome);
+        pessoaDTO.setDtNascimento(LocalDate.of(1980, 1, 1));
+        pessoaDTO.setCpf(cpf);
+        pessoaDTO.setEmail("cache@b.com");
+        return pessoaDTO;
+    }
+}
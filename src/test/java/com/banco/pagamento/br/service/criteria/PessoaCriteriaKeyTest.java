@@ -0,0 +1,66 @@
+package com.banco.pagamento.br.service.criteria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+class PessoaCriteriaKeyTest {
+
+    @Test
+    void equivalentCriteriaHaveTheSameKey() {
+        PessoaCriteria criteria = new PessoaCriteria();
+        criteria.nome().setContains("ana");
+        criteria.id().setIn(List.of(3L, 1L, 3L));
+        criteria.setDistinct(false);
+
+        PessoaCriteria equivalent = new PessoaCriteria();
+        equivalent.id().setIn(List.of(1L, 3L));
+        equivalent.nome().setContains("ANA");
+
+        assertThat(PessoaCriteriaKey.of(criteria)).isEqualTo(PessoaCriteriaKey.of(equivalent));
+        assertThat(PessoaCriteriaKey.of(criteria).shape()).isEqualTo("id.in&nome.contains");
+        assertThat(PessoaCriteriaKey.of(criteria).canonical()).isEqualTo("id.in=1,3&nome.contains=ANA");
+    }
+
+    @Test
+    void singleValueInIsEqualsAndHidesTheOtherOperators() {
+        PessoaCriteria criteria = new PessoaCriteria();
+        criteria.cpf().setIn(List.of("111.111.111-11"));
+        criteria.cpf().setContains("111");
+
+        PessoaCriteria equivalent = new PessoaCriteria();
+        equivalent.cpf().setEquals("111.111.111-11");
+
+        assertThat(PessoaCriteriaKey.of(criteria)).isEqualTo(PessoaCriteriaKey.of(equivalent));
+        assertThat(PessoaCriteriaKey.of(criteria).shape()).isEqualTo("cpf.equals");
+    }
+
+    @Test
+    void differentCriteriaHaveDifferentKeys() {
+        PessoaCriteria greaterThan = new PessoaCriteria();
+        greaterThan.id().setGreaterThan(1L);
+        PessoaCriteria greaterThanOrEqual = new PessoaCriteria();
+        greaterThanOrEqual.id().setGreaterThanOrEqual(1L);
+        PessoaCriteria injected = new PessoaCriteria();
+        injected.nome().setContains("a&nome.doesNotContain=b");
+        PessoaCriteria twoFilters = new PessoaCriteria();
+        twoFilters.nome().setContains("a");
+        twoFilters.nome().setDoesNotContain("b");
+
+        assertThat(PessoaCriteriaKey.of(greaterThan)).isNotEqualTo(PessoaCriteriaKey.of(greaterThanOrEqual));
+        assertThat(PessoaCriteriaKey.of(injected).canonical()).isNotEqualTo(PessoaCriteriaKey.of(twoFilters).canonical());
+        assertThat(PessoaCriteriaKey.of(null).shape()).isEqualTo(PessoaCriteriaKey.UNFILTERED);
+        assertThat(PessoaCriteriaKey.of(new PessoaCriteria())).isEqualTo(PessoaCriteriaKey.of(null));
+    }
+
+    @Test
+    void pageKeyHoldsTheNumberSizeAndSort() {
+        assertThat(PessoaCriteriaKey.page(PageRequest.of(2, 20, Sort.by(Sort.Order.desc("nome"), Sort.Order.asc("id")))))
+            .isEqualTo("2;20;nome,DESC;id,ASC");
+        assertThat(PessoaCriteriaKey.page(Pageable.unpaged())).isEqualTo("unpaged;");
+    }
+}
@@ -0,0 +1,73 @@
+package com.banco.pagamento.br.service.criteria;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+class PessoaKeysetCursorTest {
+
+    @Test
+    void firstCursorRoundTrip() {
+        PessoaKeysetCursor cursor = PessoaKeysetCursor.first(PessoaKeysetCursor.Key.NOME, Sort.Direction.DESC);
+
+        PessoaKeysetCursor decoded = PessoaKeysetCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.isFirst()).isTrue();
+        assertThat(decoded.toScrollPosition().isInitial()).isTrue();
+        assertThat(decoded.toSort()).isEqualTo(Sort.by(Sort.Direction.DESC, "nome", "id"));
+    }
+
+    @Test
+    void nextCursorRoundTripKeepsTypedValues() {
+        assertRoundTrip(PessoaKeysetCursor.Key.NOME, "Maria | José");
+        assertRoundTrip(PessoaKeysetCursor.Key.DT_NASCIMENTO, LocalDate.of(1980, 2, 29));
+        assertRoundTrip(PessoaKeysetCursor.Key.MES_DIA_NASCIMENTO, 1231);
+        assertRoundTrip(PessoaKeysetCursor.Key.CREATED_DATE, Instant.parse("2024-01-02T03:04:05.123456Z"));
+    }
+
+    @Test
+    void idCursorOnlySeeksOnId() {
+        PessoaKeysetCursor cursor = PessoaKeysetCursor.first(PessoaKeysetCursor.Key.ID, Sort.Direction.ASC).next(
+            ScrollPosition.forward(Map.of("id", 42L))
+        );
+
+        PessoaKeysetCursor decoded = PessoaKeysetCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.toSort()).isEqualTo(Sort.by(Sort.Direction.ASC, "id"));
+        assertThat(decoded.toScrollPosition().getKeys()).containsExactly(Map.entry("id", 42L));
+    }
+
+    @Test
+    void invalidTokensAreRejected() {
+        assertThatIllegalArgumentException().isThrownBy(() -> PessoaKeysetCursor.decode("not base64!"));
+        assertThatIllegalArgumentException().isThrownBy(() -> PessoaKeysetCursor.decode(encode("FOTO|ASC")));
+        assertThatIllegalArgumentException().isThrownBy(() -> PessoaKeysetCursor.decode(encode("NOME|ASC|12")));
+        assertThatIllegalArgumentException().isThrownBy(() -> PessoaKeysetCursor.decode(encode("DT_NASCIMENTO|ASC|12|yesterday")));
+    }
+
+    private static void assertRoundTrip(PessoaKeysetCursor.Key key, Object value) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(key.getProperty(), value);
+        keys.put("id", 7L);
+        PessoaKeysetCursor cursor = PessoaKeysetCursor.first(key, Sort.Direction.ASC).next(ScrollPosition.forward(keys));
+
+        PessoaKeysetCursor decoded = PessoaKeysetCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.toScrollPosition().getKeys()).isEqualTo(keys);
+    }
+
+    private static String encode(String token) {
+        return Base64.getUrlEncoder().encodeToString(token.getBytes());
+    }
+}
@@ -0,0 +1,50 @@
+package com.banco.pagamento.br.service.csv;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.jupiter.api.Test;
+
+class CsvReaderTest {
+
+    @Test
+    void readsSimpleRecords() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a;b;c\n1;2;3\n"), ';');
+
+        assertThat(reader.readRecord()).containsExactly("a", "b", "c");
+        assertThat(reader.getRecordLine()).isEqualTo(1);
+        assertThat(reader.readRecord()).containsExactly("1", "2", "3");
+        assertThat(reader.getRecordLine()).isEqualTo(2);
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void readsQuotedFieldsWithSeparatorsQuotesAndLineBreaks() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("\"a;b\",\"say \"\"hi\"\"\",\"multi\r\nline\"\r\nnext,,\n"), ',');
+
+        assertThat(reader.readRecord()).containsExactly("a;b", "say \"hi\"", "multi\r\nline");
+        assertThat(reader.getRecordLine()).isEqualTo(1);
+        assertThat(reader.readRecord()).containsExactly("next", "", "");
+        assertThat(reader.getRecordLine()).isEqualTo(3);
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void skipsBlankLinesAndHandlesMissingTrailingLineBreak() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("a\n\n\nb"), ';');
+
+        assertThat(reader.readRecord()).containsExactly("a");
+        assertThat(reader.readRecord()).containsExactly("b");
+        assertThat(reader.getRecordLine()).isEqualTo(4);
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void failsOnUnterminatedQuotedField() {
+        CsvReader reader = new CsvReader(new StringReader("\"never closed;x\n"), ';');
+
+        assertThatThrownBy(reader::readRecord).isInstanceOf(IOException.class).hasMessageContaining("line 1");
+    }
+}
@@ -0,0 +1,39 @@
+package com.banco.pagamento.br.service.csv;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CsvWriterTest {
+
+    @Test
+    void quotesOnlyWhenNeeded() throws IOException {
+        StringWriter output = new StringWriter();
+        CsvWriter writer = new CsvWriter(output, ';');
+
+        writer.writeRecord(Arrays.asList("plain", null, "a;b", "say \"hi\"", "multi\nline"));
+        writer.flush();
+
+        assertThat(output).hasToString("plain;;\"a;b\";\"say \"\"hi\"\"\";\"multi\nline\"\r\n");
+    }
+
+    @Test
+    void writtenRecordsAreReadBack() throws IOException {
+        List<String> record = List.of("x", "a;b", "\"", "multi\r\nline", "");
+        StringWriter output = new StringWriter();
+        CsvWriter writer = new CsvWriter(output, ';');
+        writer.writeRecord(record);
+        writer.writeRecord(record);
+        writer.flush();
+
+        CsvReader reader = new CsvReader(new StringReader(output.toString()), ';');
+        assertThat(reader.readRecord()).isEqualTo(record);
+        assertThat(reader.readRecord()).isEqualTo(record);
+        assertThat(reader.readRecord()).isNull();
+    }
+}
@@ -0,0 +1,90 @@
+package com.banco.pagamento.br.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import com.banco.pagamento.br.config.ApplicationProperties;
+import com.banco.pagamento.br.service.PessoaFotoStore;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileSystemPessoaFotoStoreTest {
+
+    private static final byte[] FOTO = "not really a jpeg".getBytes(StandardCharsets.UTF_8);
+
+    // sha256sum of FOTO
+    private static final String FOTO_HASH = "21ac2586e213d1f490778a07bf0025a98fc57595863a282372bac594b398322b";
+
+    @TempDir
+    Path directory;
+
+    private FileSystemPessoaFotoStore store;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getPessoa().getFoto().setStoreDirectory(directory.toString());
+        store = new FileSystemPessoaFotoStore(applicationProperties);
+    }
+
+    @Test
+    void storesByContentHashOnce() throws IOException {
+        String hash = store.store(FOTO);
+        String again = store.store(FOTO.clone());
+
+        assertThat(hash).isEqualTo(FOTO_HASH).isEqualTo(again);
+        assertThat(store.size(hash)).hasValue(FOTO.length);
+        try (Stream<Path> files = Files.walk(directory)) {
+            assertThat(files.filter(Files::isRegularFile)).containsExactly(
+                directory.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash)
+            );
+        }
+    }
+
+    @Test
+    void transfersRanges() throws IOException {
+        String hash = store.store(FOTO);
+
+        assertThat(transfer(hash, 0, FOTO.length)).isEqualTo(FOTO);
+        assertThat(transfer(hash, 4, 6)).isEqualTo("really".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void storesVariantsNextToTheirFoto() throws IOException {
+        String hash = store.store(FOTO);
+        String key = PessoaFotoStore.variantKey(hash, "thumb96");
+        byte[] variant = "small".getBytes(StandardCharsets.UTF_8);
+
+        store.store(key, variant);
+
+        assertThat(store.size(key)).hasValue(variant.length);
+        try (InputStream input = store.newInputStream(key)) {
+            assertThat(input.readAllBytes()).isEqualTo(variant);
+        }
+        assertThat(Files.exists(directory.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(key))).isTrue();
+        assertThatIllegalArgumentException().isThrownBy(() -> store.store(hash, variant));
+    }
+
+    @Test
+    void unknownOrInvalidHashes() {
+        assertThat(store.size("0".repeat(64))).isEmpty();
+        assertThatIllegalArgumentException().isThrownBy(() -> store.size("../../etc/passwd"));
+        assertThatIllegalArgumentException().isThrownBy(() -> store.size(FOTO_HASH.toUpperCase()));
+        assertThatIllegalArgumentException().isThrownBy(() -> store.size(FOTO_HASH + "-../x"));
+    }
+
+    private byte[] transfer(String hash, long position, long count) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        store.transferTo(hash, position, count, Channels.newChannel(output));
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,97 @@
+package com.banco.pagamento.br.web.interceptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.banco.pagamento.br.config.ApplicationProperties;
+import com.banco.pagamento.br.service.criteria.PessoaCriteria;
+import com.banco.pagamento.br.web.interceptor.PessoaConcurrencyLimitInterceptor.AimdLimit;
+import com.banco.pagamento.br.web.rest.PessoaResource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+class PessoaConcurrencyLimitInterceptorTest {
+
+    private static final long MILLIS = 1_000_000;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void growsByOneWhileTheRequestsUseTheLimitAndBacksOffOnSlowRequests() {
+        AimdLimit limit = new AimdLimit(4, 2, 5, Duration.ofMillis(100), 0.5, "read", meterRegistry);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+        }
+        assertThat(limit.tryAcquire()).isFalse();
+        limit.release(0, 10 * MILLIS, false);
+        assertThat(limit.getLimit()).isEqualTo(5);
+        limit.release(0, 10 * MILLIS, false);
+        assertThat(limit.getLimit()).isEqualTo(5);
+
+        // a single request in flight does not use the limit
+        limit.release(0, 10 * MILLIS, false);
+        limit.release(0, 10 * MILLIS, false);
+        assertThat(limit.getInFlight()).isZero();
+        assertThat(limit.tryAcquire()).isTrue();
+        long start = System.nanoTime();
+        limit.release(start, start + 200 * MILLIS, false);
+        assertThat(limit.getLimit()).isEqualTo(2);
+
+        assertThat(meterRegistry.get("pessoa.concurrency.limit").tag("operation", "read").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("pessoa.concurrency.rejected").tag("operation", "read").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void backsOffOnceForTheRequestsStartedBeforeTheLastBackoff() {
+        AimdLimit limit = new AimdLimit(20, 2, 100, Duration.ofMillis(100), 0.5, "write", meterRegistry);
+        long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            limit.tryAcquire();
+        }
+
+        limit.release(start, start + 200 * MILLIS, true);
+        limit.release(start, start + 200 * MILLIS, true);
+        limit.release(start + 300 * MILLIS, start + 310 * MILLIS, true);
+
+        assertThat(limit.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void rejectsTheRequestsOverTheLimitWithRetryAfter() throws Exception {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getPessoa().getConcurrencyLimit().getWrites().setInitialLimit(2);
+        applicationProperties.getPessoa().getConcurrencyLimit().getWrites().setMinLimit(1);
+        applicationProperties.getPessoa().getConcurrencyLimit().setRetryAfter(Duration.ofMillis(1500));
+        PessoaConcurrencyLimitInterceptor interceptor = new PessoaConcurrencyLimitInterceptor(applicationProperties, meterRegistry);
+        HandlerMethod handler = new HandlerMethod(mock(PessoaResource.class), PessoaResource.class.getMethod("countPessoas", PessoaCriteria.class));
+
+        MockHttpServletRequest first = new MockHttpServletRequest("POST", "/api/pessoas");
+        MockHttpServletRequest second = new MockHttpServletRequest("PUT", "/api/pessoas/1");
+        MockHttpServletRequest third = new MockHttpServletRequest("DELETE", "/api/pessoas/1");
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(first, new MockHttpServletResponse(), handler)).isTrue();
+        assertThat(interceptor.preHandle(second, new MockHttpServletResponse(), handler)).isTrue();
+        assertThat(interceptor.preHandle(third, rejected, handler)).isFalse();
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+
+        // the reads have their own limit
+        assertThat(interceptor.preHandle(new MockHttpServletRequest("GET", "/api/pessoas"), new MockHttpServletResponse(), handler)).isTrue();
+
+        interceptor.afterCompletion(first, new MockHttpServletResponse(), handler, null);
+        assertThat(interceptor.preHandle(third, new MockHttpServletResponse(), handler)).isTrue();
+        assertThat(meterRegistry.get("pessoa.concurrency.in.flight").tag("operation", "write").gauge().value()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,249 @@
+package com.banco.pagamento.br.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.banco.pagamento.br.IntegrationTest;
+import com.banco.pagamento.br.domain.Pessoa;
+import com.banco.pagamento.br.repository.PessoaRepository;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the {@link PessoaBulkResource} REST controller.
+ * <p>
+ * These tests are not transactional: imports commit one transaction per chunk, like they do in production.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class PessoaBulkResourceIT {
+
+    private static final String IMPORT_API_URL = "/api/pessoas/import";
+
+    private static final String EXPORT_API_URL = "/api/pessoas/export";
+
+    private static final String BATCH_API_URL = "/api/pessoas/batch";
+
+    private static final List<String> CPFS = List.of("111.222.333-01", "111.222.333-02", "111.222.333-03");
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private MockMvc restPessoaMockMvc;
+
+    @AfterEach
+    public void cleanup() {
+        pessoaRepository.deleteAll(pessoaRepository.findAll().stream().filter(p -> CPFS.contains(p.getCpf())).toList());
+    }
+
+    @Test
+    void importPessoasNdjson() throws Exception {
+        long databaseSizeBeforeImport = pessoaRepository.count();
+        String content = String.join(
+            "\n",
+            "{\"nome\":\"AAAAAAAAAA\",\"dtNascimento\":\"1980-01-01\",\"cpf\":\"" + CPFS.get(0) + "\",\"email\":\"a@b.com\"}",
+            "{\"nome\":\"BBBBBBBBBB\",\"dtNascimento\":\"1980-01-01\",\"cpf\":\"invalid\",\"email\":\"b@b.com\"}",
+            "",
+            "{not json",
+            "{\"nome\":\"CCCCCCCCCC\",\"dtNascimento\":\"1980-01-01\",\"cpf\":\"" + CPFS.get(1) + "\",\"email\":\"c@b.com\"}"
+        );
+
+        restPessoaMockMvc
+            .perform(post(IMPORT_API_URL).with(csrf()).contentType(PessoaBulkResource.APPLICATION_NDJSON_VALUE).content(content))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(4))
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.failed").value(2))
+            .andExpect(jsonPath("$.errors[0].line").value(2))
+            .andExpect(jsonPath("$.errors[1].line").value(4));
+
+        assertThat(pessoaRepository.count()).isEqualTo(databaseSizeBeforeImport + 2);
+    }
+
+    @Test
+    void importPessoasCsvReportsDuplicateRows() throws Exception {
+        long databaseSizeBeforeImport = pessoaRepository.count();
+        String content = String.join(
+            "\n",
+            "nome;dt_nascimento;cpf;email",
+            "AAAAAAAAAA;1980-01-01;" + CPFS.get(2) + ";a@b.com",
+            "BBBBBBBBBB;1980-01-01;" + CPFS.get(2) + ";b@b.com",
+            "CCCCCCCCCC;not-a-date;" + CPFS.get(1) + ";c@b.com"
+        );
+
+        restPessoaMockMvc
+            .perform(post(IMPORT_API_URL).with(csrf()).contentType(PessoaBulkResource.TEXT_CSV_VALUE).content(content))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(3))
+            .andExpect(jsonPath("$.imported").value(1))
+            .andExpect(jsonPath("$.failed").value(2));
+
+        assertThat(pessoaRepository.count()).isEqualTo(databaseSizeBeforeImport + 1);
+        assertThat(pessoaRepository.findAll().stream().map(Pessoa::getCpf)).containsOnlyOnce(CPFS.get(2));
+    }
+
+    @Test
+    void importPessoasCsvWithoutMandatoryColumn() throws Exception {
+        restPessoaMockMvc
+            .perform(post(IMPORT_API_URL).with(csrf()).contentType(PessoaBulkResource.TEXT_CSV_VALUE).content("nome;cpf\nAAA;123"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportPessoasNdjson() throws Exception {
+        Pessoa first = pessoaRepository.saveAndFlush(createEntity(CPFS.get(0)));
+        Pessoa second = pessoaRepository.saveAndFlush(createEntity(CPFS.get(1)));
+        pessoaRepository.saveAndFlush(createEntity(CPFS.get(2)).nome("ZZZZZZZZZZ"));
+
+        var result = restPessoaMockMvc
+            .perform(get(EXPORT_API_URL + "?nome.equals=EXPORTADO&id.greaterThanOrEqual=" + first.getId()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String content = restPessoaMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(PessoaBulkResource.APPLICATION_NDJSON_VALUE))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        assertThat(content.lines()).hasSize(2);
+        assertThat(content.lines().findFirst()).hasValueSatisfying(line -> assertThat(line).contains("\"id\":" + first.getId()));
+        assertThat(content).contains("\"id\":" + second.getId()).doesNotContain("ZZZZZZZZZZ");
+    }
+
+    @Test
+    void exportPessoasCsv() throws Exception {
+        Pessoa pessoa = pessoaRepository.saveAndFlush(createEntity(CPFS.get(0)));
+
+        var result = restPessoaMockMvc
+            .perform(get(EXPORT_API_URL + "?format=csv&id.equals=" + pessoa.getId()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        restPessoaMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("id;foto;foto_content_type;nome;dt_nascimento;cpf;email")))
+            .andExpect(content().string(containsString(pessoa.getId() + ";;;EXPORTADO;1980-01-01;" + CPFS.get(0) + ";")))
+            .andExpect(content().string(not(containsString(CPFS.get(1)))));
+    }
+
+    @Test
+    void exportPessoaFields() throws Exception {
+        Pessoa pessoa = pessoaRepository.saveAndFlush(createEntity(CPFS.get(0)));
+
+        var csv = restPessoaMockMvc
+            .perform(get(EXPORT_API_URL + "?format=csv&fields=nome,dtNascimento,id&id.equals=" + pessoa.getId()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restPessoaMockMvc
+            .perform(asyncDispatch(csv))
+            .andExpect(status().isOk())
+            .andExpect(content().string("nome;dt_nascimento;id\r\nEXPORTADO;1980-01-01;" + pessoa.getId() + "\r\n"));
+
+        var ndjson = restPessoaMockMvc
+            .perform(get(EXPORT_API_URL + "?fields=id,cpf&id.equals=" + pessoa.getId()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        restPessoaMockMvc
+            .perform(asyncDispatch(ndjson))
+            .andExpect(status().isOk())
+            .andExpect(content().string("{\"id\":" + pessoa.getId() + ",\"cpf\":\"" + CPFS.get(0) + "\"}\n"));
+
+        restPessoaMockMvc.perform(get(EXPORT_API_URL + "?fields=id,foto")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createPessoasBatch() throws Exception {
+        long databaseSizeBeforeCreate = pessoaRepository.count();
+        String content =
+            "[" +
+            "{\"nome\":\"AAAAAAAAAA\",\"dtNascimento\":\"1980-01-01\",\"cpf\":\"" + CPFS.get(0) + "\",\"email\":\"a@b.com\"}," +
+            "{\"nome\":\"BBBBBBBBBB\",\"dtNascimento\":\"1980-01-01\",\"cpf\":\"invalid\",\"email\":\"b@b.com\"}," +
+            "{\"nome\":\"CCCCCCCCCC\",\"dtNascimento\":\"1980-01-01\",\"cpf\":\"" + CPFS.get(0) + "\",\"email\":\"c@b.com\"}," +
+            "{\"nome\":\"DDDDDDDDDD\",\"dtNascimento\":\"1980-01-01\",\"cpf\":\"" + CPFS.get(1) + "\",\"email\":\"d@b.com\"}" +
+            "]";
+
+        restPessoaMockMvc
+            .perform(post(BATCH_API_URL).with(csrf()).contentType(MediaType.APPLICATION_JSON).content(content))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.succeeded").value(2))
+            .andExpect(jsonPath("$.failed").value(2))
+            .andExpect(jsonPath("$.items[*].index").value(contains(0, 1, 2, 3)))
+            .andExpect(jsonPath("$.items[*].status").value(contains(201, 400, 409, 201)))
+            .andExpect(jsonPath("$.items[0].id").isNumber());
+
+        assertThat(pessoaRepository.count()).isEqualTo(databaseSizeBeforeCreate + 2);
+    }
+
+    @Test
+    void updateGetAndDeletePessoasBatch() throws Exception {
+        Pessoa first = pessoaRepository.saveAndFlush(createEntity(CPFS.get(0)));
+        Pessoa second = pessoaRepository.saveAndFlush(createEntity(CPFS.get(1)));
+        long missingId = second.getId() + 1000;
+        String content =
+            "[" +
+            "{\"id\":" + first.getId() + ",\"nome\":\"UPDATED\",\"dtNascimento\":\"1980-01-01\",\"cpf\":\"" + CPFS.get(0) + "\",\"email\":\"u@b.com\"}," +
+            "{\"id\":" + missingId + ",\"nome\":\"MISSING\",\"dtNascimento\":\"1980-01-01\",\"cpf\":\"" + CPFS.get(2) + "\",\"email\":\"u@b.com\"}," +
+            "{\"id\":" + second.getId() + ",\"nome\":\"UPDATED\",\"dtNascimento\":\"1980-01-01\",\"cpf\":\"" + CPFS.get(0) + "\",\"email\":\"u@b.com\"}" +
+            "]";
+
+        restPessoaMockMvc
+            .perform(put(BATCH_API_URL).with(csrf()).contentType(MediaType.APPLICATION_JSON).content(content))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.succeeded").value(1))
+            .andExpect(jsonPath("$.items[*].status").value(contains(200, 404, 409)));
+
+        restPessoaMockMvc
+            .perform(
+                post(BATCH_API_URL + "/get")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[" + second.getId() + "," + missingId + "," + first.getId() + "]")
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$[0].nome").value("EXPORTADO"))
+            .andExpect(jsonPath("$[1]").doesNotExist())
+            .andExpect(jsonPath("$[2].nome").value("UPDATED"));
+
+        restPessoaMockMvc
+            .perform(
+                post(BATCH_API_URL + "/delete")
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[" + first.getId() + "," + missingId + "," + second.getId() + "]")
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.succeeded").value(2))
+            .andExpect(jsonPath("$.items[*].status").value(contains(204, 404, 204)));
+
+        assertThat(pessoaRepository.findById(first.getId())).isEmpty();
+        assertThat(pessoaRepository.findById(second.getId())).isEmpty();
+    }
+
+    @Test
+    void exportPessoasWithUnknownFormat() throws Exception {
+        restPessoaMockMvc.perform(get(EXPORT_API_URL + "?format=xml")).andExpect(status().isBadRequest());
+    }
+
+    private static Pessoa createEntity(String cpf) {
+        return new Pessoa().nome("EXPORTADO").dtNascimento(LocalDate.of(1980, 1, 1)).cpf(cpf).email("export@b.com");
+    }
+}
@@ -0,0 +1,267 @@
+package com.banco.pagamento.br.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.banco.pagamento.br.IntegrationTest;
+import com.banco.pagamento.br.config.ApplicationProperties;
+import com.banco.pagamento.br.domain.Pessoa;
+import com.banco.pagamento.br.repository.PessoaRepository;
+import com.banco.pagamento.br.service.PessoaFotoStore;
+import com.banco.pagamento.br.service.PessoaFotoThumbnailService;
+import com.banco.pagamento.br.service.PessoaService;
+import com.banco.pagamento.br.service.dto.PessoaDTO;
+import com.banco.pagamento.br.service.mapper.PessoaMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link PessoaFotoResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class PessoaFotoResourceIT {
+
+    private static final byte[] DEFAULT_FOTO = { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 };
+    private static final byte[] UPDATED_FOTO = { 9, 8, 7 };
+    private static final String DEFAULT_FOTO_CONTENT_TYPE = "image/jpg";
+    private static final String UPDATED_FOTO_CONTENT_TYPE = "image/png";
+
+    private static final String ENTITY_API_URL_ID = "/api/pessoas/{id}";
+    private static final String FOTO_API_URL = ENTITY_API_URL_ID + "/foto";
+    private static final String FOTO_THUMBNAIL_API_URL = "/api/pessoas/foto-thumbnails/{fotoHash}";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private PessoaRepository pessoaRepository;
+
+    @Autowired
+    private PessoaMapper pessoaMapper;
+
+    @Autowired
+    private PessoaService pessoaService;
+
+    @Autowired
+    private PessoaFotoStore pessoaFotoStore;
+
+    @Autowired
+    private MockMvc restPessoaMockMvc;
+
+    @Test
+    @Transactional
+    void getPessoaFoto() throws Exception {
+        JsonNode pessoaDTO = createWithFoto(DEFAULT_FOTO);
+        long id = pessoaDTO.get("id").asLong();
+        String eTag = "\"" + sha256(DEFAULT_FOTO) + "\"";
+        assertThat(pessoaDTO.get("fotoHash").asText()).isEqualTo(sha256(DEFAULT_FOTO));
+
+        restPessoaMockMvc
+            .perform(asyncDispatch(started(get(FOTO_API_URL, id))))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(DEFAULT_FOTO_CONTENT_TYPE))
+            .andExpect(content().bytes(DEFAULT_FOTO))
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, DEFAULT_FOTO.length))
+            .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+            .andExpect(header().string(HttpHeaders.ETAG, eTag));
+
+        restPessoaMockMvc
+            .perform(get(FOTO_API_URL, id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+
+        restPessoaMockMvc
+            .perform(asyncDispatch(started(get(FOTO_API_URL, id).header(HttpHeaders.RANGE, "bytes=2-4"))))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-4/" + DEFAULT_FOTO.length))
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 3))
+            .andExpect(content().bytes(new byte[] { 2, 3, 4 }));
+
+        // a range for another version of the photo is answered with the whole photo
+        restPessoaMockMvc
+            .perform(
+                asyncDispatch(
+                    started(
+                        get(FOTO_API_URL, id).header(HttpHeaders.RANGE, "bytes=2-4").header(HttpHeaders.IF_RANGE, "\"other\"")
+                    )
+                )
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(DEFAULT_FOTO));
+
+        restPessoaMockMvc
+            .perform(get(FOTO_API_URL, id).header(HttpHeaders.RANGE, "bytes=20-30"))
+            .andExpect(status().isRequestedRangeNotSatisfiable())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + DEFAULT_FOTO.length));
+    }
+
+    @Test
+    @Transactional
+    void identicalFotosAreStoredOnce() throws Exception {
+        JsonNode first = createWithFoto(DEFAULT_FOTO);
+        JsonNode second = createWithFoto(DEFAULT_FOTO.clone(), "111.111.111-11");
+
+        assertThat(second.get("fotoHash")).isEqualTo(first.get("fotoHash"));
+        restPessoaMockMvc
+            .perform(asyncDispatch(started(get(FOTO_API_URL, second.get("id").asLong()))))
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(DEFAULT_FOTO));
+    }
+
+    @Test
+    @Transactional
+    void updatePessoaKeepsOrReplacesFoto() throws Exception {
+        PessoaDTO pessoaDTO = om.treeToValue(createWithFoto(DEFAULT_FOTO), PessoaDTO.class);
+
+        // A full update without foto keeps the stored one
+        pessoaDTO.setNome("BBBBBBBBBB");
+        restPessoaMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, pessoaDTO.getId())
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(pessoaDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.fotoHash").value(sha256(DEFAULT_FOTO)))
+            .andExpect(jsonPath("$.fotoContentType").value(DEFAULT_FOTO_CONTENT_TYPE));
+
+        // A partial update with a foto replaces it
+        restPessoaMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, pessoaDTO.getId())
+                    .with(csrf())
+                    .contentType("application/merge-patch+json")
+                    .content(
+                        om.writeValueAsBytes(
+                            Map.of("id", pessoaDTO.getId(), "foto", UPDATED_FOTO, "fotoContentType", UPDATED_FOTO_CONTENT_TYPE)
+                        )
+                    )
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.fotoHash").value(sha256(UPDATED_FOTO)))
+            .andExpect(jsonPath("$.fotoContentType").value(UPDATED_FOTO_CONTENT_TYPE));
+        restPessoaMockMvc
+            .perform(asyncDispatch(started(get(FOTO_API_URL, pessoaDTO.getId()))))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(UPDATED_FOTO_CONTENT_TYPE))
+            .andExpect(content().bytes(UPDATED_FOTO));
+
+        // Remove the foto
+        restPessoaMockMvc.perform(delete(FOTO_API_URL, pessoaDTO.getId()).with(csrf())).andExpect(status().isNoContent());
+        restPessoaMockMvc.perform(get(FOTO_API_URL, pessoaDTO.getId())).andExpect(status().isNotFound());
+        Pessoa pessoa = pessoaRepository.findById(pessoaDTO.getId()).orElseThrow();
+        assertThat(pessoa.getNome()).isEqualTo("BBBBBBBBBB");
+        assertThat(pessoa.getFotoHash()).isNull();
+    }
+
+    @Test
+    @Transactional
+    void getPessoaFotoThumbnail() throws Exception {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(400, 300, BufferedImage.TYPE_INT_ARGB), "png", png);
+        String fotoHash = createWithFoto(png.toByteArray()).get("fotoHash").asText();
+
+        MvcResult result = restPessoaMockMvc
+            .perform(asyncDispatch(started(get(FOTO_THUMBNAIL_API_URL, fotoHash))))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.IMAGE_JPEG))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, private, immutable"))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + fotoHash + "-thumb96\""))
+            .andReturn();
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()));
+        assertThat(thumbnail.getWidth()).isEqualTo(96);
+        assertThat(thumbnail.getHeight()).isEqualTo(96);
+
+        restPessoaMockMvc
+            .perform(get(FOTO_THUMBNAIL_API_URL, fotoHash).header(HttpHeaders.IF_NONE_MATCH, "\"" + fotoHash + "-thumb96\""))
+            .andExpect(status().isNotModified());
+
+        // not an image
+        String otherHash = createWithFoto(DEFAULT_FOTO, "111.111.111-11").get("fotoHash").asText();
+        restPessoaMockMvc.perform(get(FOTO_THUMBNAIL_API_URL, otherHash)).andExpect(status().isNotFound());
+        restPessoaMockMvc.perform(get(FOTO_THUMBNAIL_API_URL, "0".repeat(64))).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getPessoaFotoThumbnailBeingGenerated() throws Exception {
+        String fotoHash = "0".repeat(64);
+        PessoaFotoThumbnailService generatingThumbnailService = mock(PessoaFotoThumbnailService.class);
+        when(generatingThumbnailService.thumbnailKey(fotoHash)).thenReturn(fotoHash + "-thumb96");
+        when(generatingThumbnailService.findOrGenerate(fotoHash)).thenReturn(new CompletableFuture<>());
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getPessoa().getFoto().getThumbnail().setWaitTimeout(Duration.ofMillis(1500));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(
+            new PessoaFotoResource(pessoaService, pessoaFotoStore, generatingThumbnailService, applicationProperties)
+        ).build();
+
+        mockMvc
+            .perform(get(FOTO_THUMBNAIL_API_URL, fotoHash))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+    }
+
+    @Test
+    @Transactional
+    void getNonExistingPessoaFoto() throws Exception {
+        Pessoa pessoa = pessoaRepository.saveAndFlush(PessoaResourceIT.createEntity());
+
+        restPessoaMockMvc.perform(get(FOTO_API_URL, pessoa.getId())).andExpect(status().isNotFound());
+        restPessoaMockMvc.perform(get(FOTO_API_URL, Long.MAX_VALUE)).andExpect(status().isNotFound());
+        restPessoaMockMvc.perform(delete(FOTO_API_URL, Long.MAX_VALUE).with(csrf())).andExpect(status().isNotFound());
+    }
+
+    private MvcResult started(MockHttpServletRequestBuilder request) throws Exception {
+        return restPessoaMockMvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    private JsonNode createWithFoto(byte[] foto) throws Exception {
+        return createWithFoto(foto, PessoaResourceIT.createEntity().getCpf());
+    }
+
+    private JsonNode createWithFoto(byte[] foto, String cpf) throws Exception {
+        // the foto is write-only, so it is added to the JSON of the DTO
+        ObjectNode pessoaJson = om.valueToTree(pessoaMapper.toDto(PessoaResourceIT.createEntity().cpf(cpf)));
+        pessoaJson.put("foto", foto).put("fotoContentType", DEFAULT_FOTO_CONTENT_TYPE);
+        return om.readTree(
+            restPessoaMockMvc
+                .perform(post("/api/pessoas").with(csrf()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(pessoaJson)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.foto").doesNotExist())
+                .andExpect(jsonPath("$.fotoContentType").value(DEFAULT_FOTO_CONTENT_TYPE))
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+        );
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
@@ -3,7 +3,15 @@ package com.banco.pagamento.br.web.rest;
 import static com.banco.pagamento.br.domain.PessoaAsserts.*;
 import static com.banco.pagamento.br.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -11,13 +19,17 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.banco.pagamento.br.IntegrationTest;
 import com.banco.pagamento.br.domain.Pessoa;
 import com.banco.pagamento.br.repository.PessoaRepository;
+import com.banco.pagamento.br.service.PessoaNomeIndex;
+import com.banco.pagamento.br.service.PessoaQueryService;
+import com.banco.pagamento.br.service.PessoaService;
+import com.banco.pagamento.br.service.UncountedPage;
+import com.banco.pagamento.br.service.criteria.PessoaCriteria;
 import com.banco.pagamento.br.service.dto.PessoaDTO;
 import com.banco.pagamento.br.service.mapper.PessoaMapper;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import java.time.LocalDate;
 import java.time.ZoneId;
-import java.util.Base64;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
@@ -26,9 +38,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -39,11 +56,6 @@ import org.springframework.transaction.annotation.Transactional;
 @WithMockUser
 class PessoaResourceIT {
 
-    private static final byte[] DEFAULT_FOTO = TestUtil.createByteArray(1, "0");
-    private static final byte[] UPDATED_FOTO = TestUtil.createByteArray(1, "1");
-    private static final String DEFAULT_FOTO_CONTENT_TYPE = "image/jpg";
-    private static final String UPDATED_FOTO_CONTENT_TYPE = "image/png";
-
     private static final String DEFAULT_NOME = "AAAAAAAAAA";
     private static final String UPDATED_NOME = "BBBBBBBBBB";
 
@@ -78,6 +90,15 @@ class PessoaResourceIT {
     @Autowired
     private MockMvc restPessoaMockMvc;
 
+    @Autowired
+    private PessoaService pessoaService;
+
+    @Autowired
+    private PessoaQueryService pessoaQueryService;
+
+    @Autowired
+    private PessoaNomeIndex pessoaNomeIndex;
+
     private Pessoa pessoa;
 
     private Pessoa insertedPessoa;
@@ -90,8 +111,6 @@ class PessoaResourceIT {
      */
     public static Pessoa createEntity() {
         return new Pessoa()
-            .foto(DEFAULT_FOTO)
-            .fotoContentType(DEFAULT_FOTO_CONTENT_TYPE)
             .nome(DEFAULT_NOME)
             .dtNascimento(DEFAULT_DT_NASCIMENTO)
             .cpf(DEFAULT_CPF)
@@ -106,8 +125,6 @@ class PessoaResourceIT {
      */
     public static Pessoa createUpdatedEntity() {
         return new Pessoa()
-            .foto(UPDATED_FOTO)
-            .fotoContentType(UPDATED_FOTO_CONTENT_TYPE)
             .nome(UPDATED_NOME)
             .dtNascimento(UPDATED_DT_NASCIMENTO)
             .cpf(UPDATED_CPF)
@@ -169,6 +186,86 @@ class PessoaResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    void createPessoaWithExistingCpf() throws Exception {
+        restPessoaMockMvc
+            .perform(
+                post(ENTITY_API_URL).with(csrf()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(pessoaMapper.toDto(pessoa)))
+            )
+            .andExpect(status().isCreated());
+        // the same CPF, in the other format
+        PessoaDTO pessoaDTO = pessoaMapper.toDto(createUpdatedEntity().cpf("458.255.262-69"));
+
+        long databaseSizeBeforeCreate = getRepositoryCount();
+
+        restPessoaMockMvc
+            .perform(post(ENTITY_API_URL).with(csrf()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(pessoaDTO)))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").value("error.cpfexists"));
+
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    void createPessoaWithCpfMissedByTheFilter() throws Exception {
+        // written behind the service, with a CPF no other test writes, so the CPF filter does not know it
+        insertedPessoa = pessoaRepository.saveAndFlush(pessoa.cpf("111.444.777-35"));
+
+        PessoaDTO pessoaDTO = pessoaMapper.toDto(createUpdatedEntity().cpf("11144477735"));
+        restPessoaMockMvc
+            .perform(post(ENTITY_API_URL).with(csrf()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(pessoaDTO)))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").value("error.cpfexists"));
+    }
+
+    @Test
+    @Transactional
+    void updatePessoaWithCpfMissedByTheFilter() throws Exception {
+        // written behind the service, with a CPF no other test writes, so the CPF filter does not know it
+        insertedPessoa = pessoaRepository.saveAndFlush(pessoa.cpf("222.555.888-46"));
+        Pessoa other = pessoaRepository.saveAndFlush(createUpdatedEntity());
+        em.detach(other);
+
+        PessoaDTO pessoaDTO = pessoaMapper.toDto(other);
+        pessoaDTO.setCpf("222.555.888-46");
+        pessoaDTO.setVersion(null);
+        restPessoaMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, other.getId())
+                    .with(csrf())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(pessoaDTO))
+            )
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").value("error.cpfexists"));
+    }
+
+    @Test
+    void suggestPessoas() throws Exception {
+        // committed, for the index to see it
+        insertedPessoa = pessoaRepository.saveAndFlush(pessoa.nome("Zuleide Ândrade"));
+
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL + "/suggest?q=andr"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(insertedPessoa.getId().intValue())))
+            .andExpect(jsonPath("$.[*].nome").value(hasItem("Zuleide Ândrade")));
+
+        insertedPessoa = pessoaRepository.saveAndFlush(insertedPessoa.nome("Zuleide Barros"));
+
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL + "/suggest?q=andr"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(insertedPessoa.getId().intValue()))));
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL + "/suggest?q=zuleide b&limit=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(insertedPessoa.getId().intValue()));
+    }
+
     @Test
     @Transactional
     void checkNomeIsRequired() throws Exception {
@@ -249,8 +346,7 @@ class PessoaResourceIT {
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(pessoa.getId().intValue())))
-            .andExpect(jsonPath("$.[*].fotoContentType").value(hasItem(DEFAULT_FOTO_CONTENT_TYPE)))
-            .andExpect(jsonPath("$.[*].foto").value(hasItem(Base64.getEncoder().encodeToString(DEFAULT_FOTO))))
+            .andExpect(jsonPath("$.[*].foto").doesNotExist())
             .andExpect(jsonPath("$.[*].nome").value(hasItem(DEFAULT_NOME)))
             .andExpect(jsonPath("$.[*].dtNascimento").value(hasItem(DEFAULT_DT_NASCIMENTO.toString())))
             .andExpect(jsonPath("$.[*].cpf").value(hasItem(DEFAULT_CPF)))
@@ -269,14 +365,83 @@ class PessoaResourceIT {
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.id").value(pessoa.getId().intValue()))
-            .andExpect(jsonPath("$.fotoContentType").value(DEFAULT_FOTO_CONTENT_TYPE))
-            .andExpect(jsonPath("$.foto").value(Base64.getEncoder().encodeToString(DEFAULT_FOTO)))
+            .andExpect(jsonPath("$.foto").doesNotExist())
             .andExpect(jsonPath("$.nome").value(DEFAULT_NOME))
             .andExpect(jsonPath("$.dtNascimento").value(DEFAULT_DT_NASCIMENTO.toString()))
             .andExpect(jsonPath("$.cpf").value(DEFAULT_CPF))
             .andExpect(jsonPath("$.email").value(DEFAULT_EMAIL));
     }
 
+    @Test
+    @Transactional
+    void getPessoaConditionally() throws Exception {
+        // Initialize the database
+        insertedPessoa = pessoaRepository.saveAndFlush(pessoa);
+
+        String lastModified = restPessoaMockMvc
+            .perform(get(ENTITY_API_URL_ID, pessoa.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+            .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.LAST_MODIFIED);
+
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL_ID, pessoa.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+            .andExpect(content().string(""));
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL_ID, pessoa.getId()).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+            .andExpect(status().isNotModified());
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL_ID, pessoa.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"1\""))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.nome").value(DEFAULT_NOME));
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+            .andExpect(status().isNotFound());
+
+        // the collections have an ETag of their content
+        String eTag = restPessoaMockMvc
+            .perform(get(ENTITY_API_URL + "?id.equals=" + pessoa.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL + "?id.equals=" + pessoa.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @Transactional
+    void getPessoaConditionallyUpdatedMeanwhile() throws Exception {
+        // Initialize the database
+        insertedPessoa = pessoaRepository.saveAndFlush(pessoa);
+
+        // the pessoa is updated once its version is read, before it is loaded
+        PessoaService updatingPessoaService = mock(PessoaService.class, delegatesTo(pessoaService));
+        doAnswer(invocation -> {
+            Pessoa updatedPessoa = pessoaRepository.findById(pessoa.getId()).orElseThrow();
+            updatedPessoa.setNome(UPDATED_NOME);
+            pessoaRepository.saveAndFlush(updatedPessoa);
+            return pessoaService.findOne(pessoa.getId());
+        })
+            .when(updatingPessoaService)
+            .findOne(pessoa.getId());
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new PessoaResource(updatingPessoaService, pessoaQueryService, pessoaNomeIndex)).build();
+
+        mockMvc
+            .perform(get(ENTITY_API_URL_ID, pessoa.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"5\""))
+            .andExpect(status().isOk())
+            .andExpect(header().stringValues(HttpHeaders.ETAG, "\"1\""))
+            .andExpect(jsonPath("$.nome").value(UPDATED_NOME))
+            .andExpect(jsonPath("$.version").value(1));
+    }
+
     @Test
     @Transactional
     void getPessoasByIdFiltering() throws Exception {
@@ -342,6 +507,26 @@ class PessoaResourceIT {
         defaultPessoaFiltering("nome.doesNotContain=" + UPDATED_NOME, "nome.doesNotContain=" + DEFAULT_NOME);
     }
 
+    @Test
+    @Transactional
+    void getAllPessoasByNomeIsNormalizedEqualToSomething() throws Exception {
+        // Initialize the database
+        insertedPessoa = pessoaRepository.saveAndFlush(pessoa);
+
+        // Get all the pessoaList where nome equals to, ignoring case and accents
+        defaultPessoaFiltering("nome.normalizedEquals=áaaaaaaaaa", "nome.normalizedEquals=aaaaaaaaa");
+    }
+
+    @Test
+    @Transactional
+    void getAllPessoasByNomeNormalizedStartsWithSomething() throws Exception {
+        // Initialize the database
+        insertedPessoa = pessoaRepository.saveAndFlush(pessoa);
+
+        // Get all the pessoaList where nome starts with, ignoring case and accents
+        defaultPessoaFiltering("nome.normalizedStartsWith=aaÀ", "nome.normalizedStartsWith=aa%");
+    }
+
     @Test
     @Transactional
     void getAllPessoasByDtNascimentoIsEqualToSomething() throws Exception {
@@ -535,13 +720,18 @@ class PessoaResourceIT {
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(pessoa.getId().intValue())))
-            .andExpect(jsonPath("$.[*].fotoContentType").value(hasItem(DEFAULT_FOTO_CONTENT_TYPE)))
-            .andExpect(jsonPath("$.[*].foto").value(hasItem(Base64.getEncoder().encodeToString(DEFAULT_FOTO))))
+            .andExpect(jsonPath("$.[*].foto").doesNotExist())
             .andExpect(jsonPath("$.[*].nome").value(hasItem(DEFAULT_NOME)))
             .andExpect(jsonPath("$.[*].dtNascimento").value(hasItem(DEFAULT_DT_NASCIMENTO.toString())))
             .andExpect(jsonPath("$.[*].cpf").value(hasItem(DEFAULT_CPF)))
             .andExpect(jsonPath("$.[*].email").value(hasItem(DEFAULT_EMAIL)));
 
+        // Check, that the keyset mode also returns it
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL + "?cursor=&sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(pessoa.getId().intValue())));
+
         // Check, that the count call also returns 1
         restPessoaMockMvc
             .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
@@ -561,6 +751,13 @@ class PessoaResourceIT {
             .andExpect(jsonPath("$").isArray())
             .andExpect(jsonPath("$").isEmpty());
 
+        // Check, that the keyset mode also returns nothing
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL + "?cursor=&sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isEmpty())
+            .andExpect(header().doesNotExist(PessoaResource.NEXT_CURSOR_HEADER));
+
         // Check, that the count call also returns 0
         restPessoaMockMvc
             .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
@@ -569,6 +766,204 @@ class PessoaResourceIT {
             .andExpect(content().string("0"));
     }
 
+    @Test
+    @Transactional
+    void getAllPessoasByCursor() throws Exception {
+        // Initialize the database, with two pessoas sharing the same name to exercise the id tie-breaker
+        Pessoa first = pessoaRepository.saveAndFlush(pessoa);
+        Pessoa second = pessoaRepository.saveAndFlush(createEntity().cpf("111.111.111-11"));
+        Pessoa third = pessoaRepository.saveAndFlush(createEntity().cpf("222.222.222-22").nome(UPDATED_NOME));
+        String filter = "&id.greaterThanOrEqual=" + first.getId();
+
+        String next = restPessoaMockMvc
+            .perform(get(ENTITY_API_URL + "?cursor=&size=2&sort=nome,desc" + filter))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(third.getId().intValue(), second.getId().intValue())))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andReturn()
+            .getResponse()
+            .getHeader(PessoaResource.NEXT_CURSOR_HEADER);
+
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL + "?size=2" + filter + "&cursor=" + next))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(first.getId().intValue())))
+            .andExpect(header().doesNotExist(PessoaResource.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    @Transactional
+    void getAniversariantesAcrossTheEndOfTheYear() throws Exception {
+        // Initialize the database, with birthdays on both sides of the end of the year, and one out of the range
+        Pessoa newYear = pessoaRepository.saveAndFlush(pessoa.dtNascimento(LocalDate.of(1990, 1, 1)));
+        Pessoa christmas = pessoaRepository.saveAndFlush(createEntity().cpf("111.111.111-11").dtNascimento(LocalDate.of(1975, 12, 25)));
+        Pessoa newYearsEve = pessoaRepository.saveAndFlush(createEntity().cpf("222.222.222-22").dtNascimento(LocalDate.of(2001, 12, 31)));
+        pessoaRepository.saveAndFlush(createEntity().cpf("333.333.333-33").dtNascimento(LocalDate.of(1990, 6, 15)));
+
+        String next = restPessoaMockMvc
+            .perform(get(ENTITY_API_URL + "/aniversariantes?from=12-20&to=01-10&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(christmas.getId().intValue(), newYearsEve.getId().intValue())))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andReturn()
+            .getResponse()
+            .getHeader(PessoaResource.NEXT_CURSOR_HEADER);
+
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL + "/aniversariantes?from=12-20&to=01-10&size=2&cursor=" + next))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(newYear.getId().intValue())))
+            .andExpect(header().doesNotExist(PessoaResource.NEXT_CURSOR_HEADER));
+
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL + "/aniversariantes?from=12-25&to=12-25"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(christmas.getId().intValue())));
+        restPessoaMockMvc.perform(get(ENTITY_API_URL + "/aniversariantes?from=13-01&to=01-10")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllPessoaFields() throws Exception {
+        Pessoa first = pessoaRepository.saveAndFlush(pessoa);
+        Pessoa second = pessoaRepository.saveAndFlush(createEntity().cpf("111.111.111-11").nome(UPDATED_NOME));
+        String filter = "&id.greaterThanOrEqual=" + first.getId();
+
+        // compiled, and through the specification, which the sort on the photo hash requires
+        for (String sort : List.of("nome,desc", "nome,desc&distinct=true", "nome,desc&sort=fotoHash,asc")) {
+            restPessoaMockMvc
+                .perform(get(ENTITY_API_URL + "?fields=id,nome,dtNascimento&sort=" + sort + filter))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "2"))
+                .andExpect(jsonPath("$.[*].id").value(contains(second.getId().intValue(), first.getId().intValue())))
+                .andExpect(jsonPath("$.[*].nome").value(contains(UPDATED_NOME, DEFAULT_NOME)))
+                .andExpect(jsonPath("$.[0].dtNascimento").value(DEFAULT_DT_NASCIMENTO.toString()))
+                .andExpect(jsonPath("$.[0].cpf").doesNotExist())
+                .andExpect(jsonPath("$.[0].email").doesNotExist());
+        }
+
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL + "?fields=cpf&total=none&size=1&sort=id,asc" + filter))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].cpf").value(contains(DEFAULT_CPF)))
+            .andExpect(jsonPath("$.[0].id").doesNotExist())
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")));
+        restPessoaMockMvc.perform(get(ENTITY_API_URL + "?fields=id,senha")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllPessoasWithoutTotal() throws Exception {
+        Pessoa first = pessoaRepository.saveAndFlush(pessoa);
+        Pessoa second = pessoaRepository.saveAndFlush(createEntity().cpf("111.111.111-11"));
+        Pessoa third = pessoaRepository.saveAndFlush(createEntity().cpf("222.222.222-22"));
+        String filter = "&id.greaterThanOrEqual=" + first.getId();
+
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL + "?total=none&size=2&sort=id,asc" + filter))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(first.getId().intValue(), second.getId().intValue())))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")));
+
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL + "?total=none&size=2&page=1&sort=id,asc" + filter))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(third.getId().intValue())))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, not(containsString("rel=\"next\""))));
+
+        restPessoaMockMvc.perform(get(ENTITY_API_URL + "?total=invalid")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllPessoasWithCountTimedOut() throws Exception {
+        PessoaDTO first = pessoaMapper.toDto(pessoaRepository.saveAndFlush(pessoa));
+        PessoaDTO second = pessoaMapper.toDto(pessoaRepository.saveAndFlush(createEntity().cpf("111.111.111-11")));
+        PessoaQueryService timingOutQueryService = mock(PessoaQueryService.class);
+        when(timingOutQueryService.findByCriteria(any(PessoaCriteria.class), any(Pageable.class))).thenAnswer(invocation ->
+            new UncountedPage<>(new SliceImpl<>(List.of(first, second), invocation.getArgument(1), true))
+        );
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new PessoaResource(pessoaService, timingOutQueryService, pessoaNomeIndex))
+            .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+            .build();
+
+        // the page is still served, linked as without a total
+        mockMvc
+            .perform(get(ENTITY_API_URL + "?size=2&sort=id,asc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andExpect(header().string(HttpHeaders.LINK, not(containsString("rel=\"last\""))));
+    }
+
+    @Test
+    @Transactional
+    void getAllPessoasWithApproximateTotal() throws Exception {
+        Pessoa first = pessoaRepository.saveAndFlush(pessoa);
+        pessoaRepository.saveAndFlush(createEntity().cpf("111.111.111-11"));
+        Pessoa third = pessoaRepository.saveAndFlush(createEntity().cpf("222.222.222-22"));
+        String filter = "&id.greaterThanOrEqual=" + first.getId();
+
+        String count = restPessoaMockMvc
+            .perform(get(ENTITY_API_URL + "?total=approximate&size=2&sort=id,asc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(header().string(PessoaResource.TOTAL_COUNT_APPROXIMATE_HEADER, "true"))
+            .andReturn()
+            .getResponse()
+            .getHeader("X-Total-Count");
+        assertThat(Long.parseLong(count)).isGreaterThanOrEqualTo(3);
+
+        // the estimate of the table is not a total of the matching pessoas
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL + "?total=approximate&size=2&sort=id,asc" + filter))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().doesNotExist(PessoaResource.TOTAL_COUNT_APPROXIMATE_HEADER))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andExpect(header().string(HttpHeaders.LINK, not(containsString("rel=\"last\""))));
+
+        // the last page gives the exact total
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL + "?total=approximate&size=2&page=1&sort=id,asc" + filter))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(third.getId().intValue())))
+            .andExpect(header().string("X-Total-Count", "3"))
+            .andExpect(header().doesNotExist(PessoaResource.TOTAL_COUNT_APPROXIMATE_HEADER));
+    }
+
+    @Test
+    @Transactional
+    void getAllPessoasWithInvalidCursor() throws Exception {
+        restPessoaMockMvc.perform(get(ENTITY_API_URL + "?cursor=invalid")).andExpect(status().isBadRequest());
+        restPessoaMockMvc.perform(get(ENTITY_API_URL + "?cursor=&sort=foto,asc")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getPessoaByCpf() throws Exception {
+        // Initialize the database
+        insertedPessoa = pessoaRepository.saveAndFlush(pessoa);
+
+        // Get the pessoa by its CPF, in both formats
+        for (String cpf : List.of(DEFAULT_CPF, "45825526269", "458.255.262-69")) {
+            restPessoaMockMvc
+                .perform(get(ENTITY_API_URL + "/cpf/{cpf}", cpf))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(pessoa.getId().intValue()))
+                .andExpect(jsonPath("$.cpf").value(DEFAULT_CPF));
+        }
+        restPessoaMockMvc.perform(get(ENTITY_API_URL + "/cpf/{cpf}", UPDATED_CPF)).andExpect(status().isNotFound());
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL + "/cpf/{cpf}", "458-255-262.69"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.cpfinvalid"));
+    }
+
     @Test
     @Transactional
     void getNonExistingPessoa() throws Exception {
@@ -608,6 +1003,72 @@ class PessoaResourceIT {
         assertThat(testPessoa.getDtNascimento()).isEqualTo(UPDATED_DT_NASCIMENTO);
     }
 
+    @Test
+    @Transactional
+    void putAndPatchPessoaIfMatch() throws Exception {
+        // Initialize the database
+        pessoaRepository.saveAndFlush(pessoa);
+        PessoaDTO pessoaDTO = pessoaMapper.toDto(pessoa);
+        pessoaDTO.setNome(UPDATED_NOME);
+
+        restPessoaMockMvc
+            .perform(get(ENTITY_API_URL_ID, pessoa.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        restPessoaMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, pessoa.getId())
+                    .with(csrf())
+                    .header(HttpHeaders.IF_MATCH, "\"0\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(pessoaDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+            .andExpect(jsonPath("$.version").value(1));
+
+        // an update based on the previous version is lost
+        pessoaDTO.setNome(DEFAULT_NOME);
+        restPessoaMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, pessoa.getId())
+                    .with(csrf())
+                    .header(HttpHeaders.IF_MATCH, "\"0\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(pessoaDTO))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        PessoaDTO patch = new PessoaDTO();
+        patch.setId(pessoa.getId());
+        patch.setEmail(UPDATED_EMAIL);
+        restPessoaMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, pessoa.getId())
+                    .with(csrf())
+                    .header(HttpHeaders.IF_MATCH, "W/\"1\"")
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(patch))
+            )
+            .andExpect(status().isPreconditionFailed());
+        restPessoaMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, pessoa.getId())
+                    .with(csrf())
+                    .header(HttpHeaders.IF_MATCH, "\"1\"")
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(patch))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+
+        Pessoa testPessoa = pessoaRepository.findById(pessoa.getId()).orElseThrow();
+        assertThat(testPessoa.getNome()).isEqualTo(UPDATED_NOME);
+        assertThat(testPessoa.getEmail()).isEqualTo(UPDATED_EMAIL);
+        assertThat(testPessoa.getVersion()).isEqualTo(2);
+    }
+
     @Test
     @Transactional
     void putNonExistingPessoa() throws Exception {
@@ -686,7 +1147,7 @@ class PessoaResourceIT {
         Pessoa partialUpdatedPessoa = new Pessoa();
         partialUpdatedPessoa.setId(pessoa.getId());
 
-        partialUpdatedPessoa.foto(UPDATED_FOTO).fotoContentType(UPDATED_FOTO_CONTENT_TYPE).nome(UPDATED_NOME).email(UPDATED_EMAIL);
+        partialUpdatedPessoa.nome(UPDATED_NOME).email(UPDATED_EMAIL);
 
         restPessoaMockMvc
             .perform(
@@ -716,8 +1177,6 @@ class PessoaResourceIT {
         partialUpdatedPessoa.setId(pessoa.getId());
 
         partialUpdatedPessoa
-            .foto(UPDATED_FOTO)
-            .fotoContentType(UPDATED_FOTO_CONTENT_TYPE)
             .nome(UPDATED_NOME)
             .dtNascimento(UPDATED_DT_NASCIMENTO)
             .cpf(UPDATED_CPF)